@@ -0,0 +1,173 @@
+package project.fitnessapplicationexam.analytics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads the sections of the advanced statistics page in parallel under one overall deadline
+ * ({@code app.analytics.advanced-stats-deadline}). A section that fails or is still running at the
+ * deadline is cancelled and replaced by its empty value; the others are unaffected. Calls run on
+ * virtual threads when {@code spring.threads.virtual.enabled} is set on Java 21, otherwise on a fixed
+ * pool, limited to {@code app.analytics.advanced-stats-concurrency} at a time either way.
+ */
+@Component
+public class AdvancedStatsAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(AdvancedStatsAggregator.class);
+    private static final String THREAD_PREFIX = "advanced-stats-";
+
+    private final AdvancedStatsService advancedStatsService;
+    private final AnalyticsClient analyticsClient;
+    private final Duration deadline;
+    private final MeterRegistry meterRegistry;
+    private final AsyncTaskExecutor executor;
+
+    @Autowired
+    public AdvancedStatsAggregator(AdvancedStatsService advancedStatsService,
+                                   AnalyticsClient analyticsClient,
+                                   AnalyticsProperties analyticsProperties,
+                                   MeterRegistry meterRegistry,
+                                   Environment environment) {
+        this(advancedStatsService, analyticsClient, analyticsProperties.advancedStatsDeadline(), meterRegistry,
+                createExecutor(analyticsProperties.advancedStatsConcurrency(), Threading.VIRTUAL.isActive(environment)));
+    }
+
+    AdvancedStatsAggregator(AdvancedStatsService advancedStatsService,
+                            AnalyticsClient analyticsClient,
+                            Duration deadline,
+                            MeterRegistry meterRegistry,
+                            AsyncTaskExecutor executor) {
+        this.advancedStatsService = advancedStatsService;
+        this.analyticsClient = analyticsClient;
+        this.deadline = deadline;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+    }
+
+    public AdvancedStatsReport report(UUID userId, LocalDate from, LocalDate to) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Future<TrainingFrequencyResponse> trainingFrequency = submit("training-frequency",
+                () -> advancedStatsService.trainingFrequency(userId, from, to));
+        Future<List<ExerciseVolumeTrendDto>> volumeTrends = submit("volume-trends",
+                () -> advancedStatsService.volumeTrends(userId, from, to));
+        Future<List<ProgressiveOverloadDto>> progressiveOverload = submit("progressive-overload",
+                () -> advancedStatsService.progressiveOverload(userId, from, to));
+        Future<PersonalRecordsDto> personalRecords = submit("personal-records",
+                () -> advancedStatsService.personalRecords(userId));
+        Future<List<MilestoneDto>> milestones = submit("milestones",
+                () -> bodyOf(analyticsClient.getMilestones(userId)));
+
+        AtomicBoolean complete = new AtomicBoolean(true);
+        TrainingFrequencyResponse frequencyResult = await("training-frequency", userId, trainingFrequency, deadlineNanos, complete);
+        List<ExerciseVolumeTrendDto> trendsResult = await("volume-trends", userId, volumeTrends, deadlineNanos, complete);
+        List<ProgressiveOverloadDto> overloadResult = await("progressive-overload", userId, progressiveOverload, deadlineNanos, complete);
+        PersonalRecordsDto recordsResult = await("personal-records", userId, personalRecords, deadlineNanos, complete);
+        List<MilestoneDto> milestonesResult = await("milestones", userId, milestones, deadlineNanos, complete);
+
+        return new AdvancedStatsReport(
+                frequencyResult != null ? frequencyResult : new TrainingFrequencyResponse(0, 0.0, Map.of(), List.of(), 0, 0.0),
+                trendsResult != null ? trendsResult : List.of(),
+                overloadResult != null ? overloadResult : List.of(),
+                recordsResult != null ? recordsResult : new PersonalRecordsDto(List.of(), List.of()),
+                milestonesResult != null ? milestonesResult : List.of(),
+                complete.get()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simple) {
+            simple.close();
+        }
+    }
+
+    private <T> Future<T> submit(String section, Callable<T> call) {
+        try {
+            return executor.submit(() -> {
+                long start = System.nanoTime();
+                String outcome = "error";
+                try {
+                    T result = call.call();
+                    outcome = "success";
+                    return result;
+                } finally {
+                    Timer.builder("analytics.advanced.section")
+                            .description("Latency of one advanced statistics section")
+                            .tag("section", section)
+                            .tag("outcome", outcome)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(String section, UUID userId, Future<T> future, long deadlineNanos, AtomicBoolean complete) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("analytics.advanced.section.timeouts", "section", section).increment();
+            log.warn("Advanced stats section {} for user {} missed the {} deadline", section, userId, deadline);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Error fetching {} for user {}", section, userId, e.getCause());
+        }
+        complete.set(false);
+        return null;
+    }
+
+    private static AsyncTaskExecutor createExecutor(int concurrency, boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_PREFIX);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrency);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(THREAD_PREFIX);
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency * 8);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private static <T> T bodyOf(ResponseEntity<T> response) {
+        return response != null ? response.getBody() : null;
+    }
+}
@@ -0,0 +1,75 @@
+package project.fitnessapplicationexam.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.ExerciseVolumeTrendDto;
+import project.fitnessapplicationexam.analytics.dto.PersonalRecordsDto;
+import project.fitnessapplicationexam.analytics.dto.ProgressiveOverloadDto;
+import project.fitnessapplicationexam.analytics.dto.TrainingFrequencyResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * PRO analytics queries, answered locally or by the analytics microservice depending on
+ * {@code app.analytics.mode}. Failures propagate to the caller, except that
+ * {@code LOCAL_WITH_REMOTE_FALLBACK} retries a failed local query remotely.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdvancedStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdvancedStatsService.class);
+
+    private final AnalyticsProperties analyticsProperties;
+    private final LocalAnalyticsEngine localAnalyticsEngine;
+    private final AnalyticsClient analyticsClient;
+
+    public TrainingFrequencyResponse trainingFrequency(UUID userId, LocalDate from, LocalDate to) {
+        return query("training frequency", userId,
+                () -> localAnalyticsEngine.trainingFrequency(userId, from, to),
+                () -> analyticsClient.getTrainingFrequency(userId, from, to));
+    }
+
+    public List<ExerciseVolumeTrendDto> volumeTrends(UUID userId, LocalDate from, LocalDate to) {
+        return query("volume trends", userId,
+                () -> localAnalyticsEngine.volumeTrends(userId, from, to),
+                () -> analyticsClient.getExerciseVolumeTrends(userId, from, to));
+    }
+
+    public List<ProgressiveOverloadDto> progressiveOverload(UUID userId, LocalDate from, LocalDate to) {
+        return query("progressive overload", userId,
+                () -> localAnalyticsEngine.progressiveOverload(userId, from, to),
+                () -> analyticsClient.getProgressiveOverload(userId, from, to));
+    }
+
+    public PersonalRecordsDto personalRecords(UUID userId) {
+        return query("personal records", userId,
+                () -> localAnalyticsEngine.personalRecords(userId),
+                () -> analyticsClient.getPersonalRecords(userId));
+    }
+
+    private <T> T query(String name, UUID userId, Supplier<T> local, Supplier<ResponseEntity<T>> remote) {
+        return switch (analyticsProperties.mode()) {
+            case LOCAL -> local.get();
+            case REMOTE -> bodyOf(remote.get());
+            case LOCAL_WITH_REMOTE_FALLBACK -> {
+                try {
+                    yield local.get();
+                } catch (Exception e) {
+                    log.error("Failed to compute {} locally for user {}, asking analytics microservice", name, userId, e);
+                    yield bodyOf(remote.get());
+                }
+            }
+        };
+    }
+
+    private static <T> T bodyOf(ResponseEntity<T> response) {
+        return response != null ? response.getBody() : null;
+    }
+}
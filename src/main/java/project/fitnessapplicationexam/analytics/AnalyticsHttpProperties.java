@@ -0,0 +1,21 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Connection pool behind the analytics Feign client. {@code poolWaitTimeout} bounds how long a call
+ * waits for a free connection; {@code methodReadTimeouts} overrides the client's read timeout for
+ * individual {@code AnalyticsClient} methods, keyed by method name.
+ */
+@ConfigurationProperties(prefix = "app.analytics.http")
+public record AnalyticsHttpProperties(
+        @DefaultValue("50") int maxConnections,
+        @DefaultValue("20") int maxConnectionsPerRoute,
+        @DefaultValue("30s") Duration keepAlive,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("500ms") Duration poolWaitTimeout,
+        @DefaultValue Map<String, Duration> methodReadTimeouts
+) {}
@@ -0,0 +1,7 @@
+package project.fitnessapplicationexam.analytics;
+
+public enum AnalyticsMode {
+    LOCAL,
+    REMOTE,
+    LOCAL_WITH_REMOTE_FALLBACK
+}
@@ -0,0 +1,281 @@
+package project.fitnessapplicationexam.analytics;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.RecomputeWeeklyRequest;
+import project.fitnessapplicationexam.analytics.dto.sync.ExerciseSyncRequest;
+import project.fitnessapplicationexam.analytics.dto.sync.WorkoutSetSyncRequest;
+import project.fitnessapplicationexam.analytics.dto.sync.WorkoutSyncRequest;
+import project.fitnessapplicationexam.analytics.model.AnalyticsOutboxEntry;
+import project.fitnessapplicationexam.analytics.model.OutboxAggregate;
+import project.fitnessapplicationexam.analytics.model.OutboxOperation;
+import project.fitnessapplicationexam.analytics.repository.AnalyticsOutboxRepository;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
+import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers due outbox rows to the analytics service outside of any database transaction. Exercise
+ * upserts of a batch go out in one request; workouts and deletes have single-item endpoints and are
+ * sent one by one, with the sessions and sets of a batch loaded in two queries. Weekly statistics are
+ * recomputed last, and only when everything else in the batch went through. A failed row is retried
+ * with exponential backoff and then every {@link #MAX_BACKOFF} until it is delivered; it is never
+ * dropped, so a stuck row shows up in the backlog gauges instead of silently diverging the services.
+ */
+@Component
+public class AnalyticsOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsOutboxDispatcher.class);
+    static final int STUCK_ATTEMPTS = 15;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(10);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+
+    private final AnalyticsOutboxRepository outboxRepository;
+    private final AnalyticsClient analyticsClient;
+    private final ExerciseRepository exerciseRepository;
+    private final WorkoutSessionRepository workoutSessionRepository;
+    private final WorkoutSetRepository workoutSetRepository;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+
+    public AnalyticsOutboxDispatcher(AnalyticsOutboxRepository outboxRepository,
+                                     AnalyticsClient analyticsClient,
+                                     ExerciseRepository exerciseRepository,
+                                     WorkoutSessionRepository workoutSessionRepository,
+                                     WorkoutSetRepository workoutSetRepository,
+                                     MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.analyticsClient = analyticsClient;
+        this.exerciseRepository = exerciseRepository;
+        this.workoutSessionRepository = workoutSessionRepository;
+        this.workoutSetRepository = workoutSetRepository;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("analytics.outbox.backlog", backlog, AtomicLong::get)
+                .description("Changes waiting to be delivered to the analytics service")
+                .register(meterRegistry);
+        Gauge.builder("analytics.outbox.oldest.age", oldestAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered analytics change")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers up to {@code batchSize} due rows and returns how many were claimed.
+     */
+    public int dispatchBatch(int batchSize) {
+        List<AnalyticsOutboxEntry> due = outboxRepository
+                .findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(LocalDateTime.now(), Limit.of(batchSize));
+
+        List<AnalyticsOutboxEntry> exerciseUpserts = new ArrayList<>();
+        List<AnalyticsOutboxEntry> workoutUpserts = new ArrayList<>();
+        List<AnalyticsOutboxEntry> weeklyRecomputes = new ArrayList<>();
+        boolean allDelivered = true;
+        for (AnalyticsOutboxEntry entry : due) {
+            if (entry.getAggregateType() == OutboxAggregate.WEEKLY_STATS) {
+                weeklyRecomputes.add(entry);
+            } else if (entry.getOperation() == OutboxOperation.DELETE) {
+                allDelivered &= deliverDelete(entry);
+            } else if (entry.getAggregateType() == OutboxAggregate.EXERCISE) {
+                exerciseUpserts.add(entry);
+            } else {
+                workoutUpserts.add(entry);
+            }
+        }
+        if (!exerciseUpserts.isEmpty()) {
+            allDelivered &= deliverExercises(exerciseUpserts);
+        }
+        if (!workoutUpserts.isEmpty()) {
+            allDelivered &= deliverWorkouts(workoutUpserts);
+        }
+        // Recompute only after the changes it depends on have reached the analytics service.
+        for (AnalyticsOutboxEntry entry : weeklyRecomputes) {
+            if (allDelivered) {
+                deliverWeeklyRecompute(entry);
+            } else {
+                postpone(entry);
+            }
+        }
+        return due.size();
+    }
+
+    public void refreshBacklogMetrics() {
+        backlog.set(outboxRepository.count());
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+        oldestAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+    }
+
+    private boolean deliverExercises(List<AnalyticsOutboxEntry> entries) {
+        Map<UUID, Exercise> exercises = exerciseRepository.findAllById(aggregateIds(entries)).stream()
+                .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+        List<ExerciseSyncRequest> requests = entries.stream()
+                .map(entry -> exercises.get(entry.getAggregateId()))
+                .filter(Objects::nonNull)
+                .map(this::toRequest)
+                .toList();
+        try {
+            if (!requests.isEmpty()) {
+                analyticsClient.syncExercises(requests);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to sync {} exercises with analytics service: {}", requests.size(), ex.getMessage());
+            entries.forEach(this::failed);
+            return false;
+        }
+        entries.forEach(this::delivered);
+        return true;
+    }
+
+    private boolean deliverWorkouts(List<AnalyticsOutboxEntry> entries) {
+        Map<UUID, WorkoutSession> sessions = workoutSessionRepository.findAllById(aggregateIds(entries)).stream()
+                .collect(Collectors.toMap(WorkoutSession::getId, Function.identity()));
+        Map<UUID, List<WorkoutSet>> setsBySession = sessions.isEmpty() ? Map.of() :
+                workoutSetRepository.findAllBySessionIdIn(sessions.keySet()).stream()
+                        .collect(Collectors.groupingBy(WorkoutSet::getSessionId));
+
+        boolean allDelivered = true;
+        for (AnalyticsOutboxEntry entry : entries) {
+            WorkoutSession session = sessions.get(entry.getAggregateId());
+            if (session == null) {
+                // Deleted before delivery; the delete replaces this row.
+                delivered(entry);
+                continue;
+            }
+            WorkoutSyncRequest request = toRequest(session, setsBySession.getOrDefault(session.getId(), List.of()));
+            allDelivered &= deliver(entry, () -> analyticsClient.syncWorkout(request));
+        }
+        return allDelivered;
+    }
+
+    private boolean deliverDelete(AnalyticsOutboxEntry entry) {
+        UUID id = entry.getAggregateId();
+        return deliver(entry, () -> {
+            try {
+                if (entry.getAggregateType() == OutboxAggregate.EXERCISE) {
+                    analyticsClient.deleteExercise(id);
+                } else {
+                    analyticsClient.deleteWorkout(id);
+                }
+            } catch (FeignException.NotFound ex) {
+                log.debug("{} {} already absent in analytics service", entry.getAggregateType(), id);
+            }
+        });
+    }
+
+    private void deliverWeeklyRecompute(AnalyticsOutboxEntry entry) {
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        RecomputeWeeklyRequest request = new RecomputeWeeklyRequest(weekStart, weekStart.plusDays(6));
+        deliver(entry, () -> analyticsClient.recomputeWeeklyStats(entry.getAggregateId(), request));
+    }
+
+    private boolean deliver(AnalyticsOutboxEntry entry, Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to {} {} {} with analytics service: {}", entry.getOperation(),
+                    entry.getAggregateType(), entry.getAggregateId(), ex.getMessage());
+            failed(entry);
+            return false;
+        }
+        delivered(entry);
+        return true;
+    }
+
+    private void delivered(AnalyticsOutboxEntry entry) {
+        outboxRepository.deleteIfUnchanged(entry.getAggregateType(), entry.getAggregateId(), entry.getVersion());
+        counter("analytics.outbox.delivered", entry).increment();
+    }
+
+    private void failed(AnalyticsOutboxEntry entry) {
+        counter("analytics.outbox.failed", entry).increment();
+        int attempts = entry.getAttempts() + 1;
+        if (attempts == STUCK_ATTEMPTS) {
+            log.error("{} of {} {} still undelivered after {} attempts, retrying every {}", entry.getOperation(),
+                    entry.getAggregateType(), entry.getAggregateId(), attempts, MAX_BACKOFF);
+        }
+        outboxRepository.reschedule(entry.getAggregateType(), entry.getAggregateId(), entry.getVersion(),
+                LocalDateTime.now().plus(backoff(attempts)));
+    }
+
+    private void postpone(AnalyticsOutboxEntry entry) {
+        outboxRepository.reschedule(entry.getAggregateType(), entry.getAggregateId(), entry.getVersion(),
+                LocalDateTime.now().plus(INITIAL_BACKOFF));
+    }
+
+    static Duration backoff(int attempts) {
+        Duration delay = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private Counter counter(String name, AnalyticsOutboxEntry entry) {
+        return Counter.builder(name)
+                .tag("aggregate", entry.getAggregateType().name().toLowerCase(Locale.ROOT))
+                .tag("operation", entry.getOperation().name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    private static List<UUID> aggregateIds(List<AnalyticsOutboxEntry> entries) {
+        return entries.stream().map(AnalyticsOutboxEntry::getAggregateId).toList();
+    }
+
+    private ExerciseSyncRequest toRequest(Exercise exercise) {
+        return new ExerciseSyncRequest(
+                exercise.getId(),
+                exercise.getOwnerUserId(),
+                exercise.getName(),
+                exercise.getPrimaryMuscle(),
+                exercise.getEquipment(),
+                exercise.getCreatedOn()
+        );
+    }
+
+    private WorkoutSyncRequest toRequest(WorkoutSession session, List<WorkoutSet> sets) {
+        return new WorkoutSyncRequest(
+                session.getId(),
+                session.getUserId(),
+                session.getStartedAt(),
+                session.getFinishedAt(),
+                session.getStatus() != null ? session.getStatus() : SessionStatus.IN_PROGRESS,
+                sets.stream().map(this::toRequest).toList()
+        );
+    }
+
+    private WorkoutSetSyncRequest toRequest(WorkoutSet set) {
+        return new WorkoutSetSyncRequest(
+                set.getId(),
+                set.getExerciseId(),
+                set.getReps(),
+                set.getWeight(),
+                set.isWarmup(),
+                set.getGroupId(),
+                set.getGroupType(),
+                set.getGroupOrder(),
+                set.getSetNumber(),
+                set.getExerciseOrder()
+        );
+    }
+}
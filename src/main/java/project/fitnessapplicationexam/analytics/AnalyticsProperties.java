@@ -0,0 +1,14 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.analytics")
+public record AnalyticsProperties(
+        @DefaultValue("LOCAL") AnalyticsMode mode,
+        @DefaultValue("64MB") DataSize trainingLogMaxSize,
+        @DefaultValue("2s") Duration advancedStatsDeadline,
+        @DefaultValue("16") int advancedStatsConcurrency
+) {}
@@ -0,0 +1,18 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+/**
+ * Response cache for analytics service reads. Entries older than {@code refreshAfter} are still
+ * served but reloaded in the background; {@code expireAfter} bounds how long a last-good value can
+ * stand in for an unreachable service. Background reloads share {@code refreshThreads} threads.
+ */
+@ConfigurationProperties(prefix = "app.analytics.read-cache")
+public record AnalyticsReadCacheProperties(
+        @DefaultValue("1m") Duration refreshAfter,
+        @DefaultValue("24h") Duration expireAfter,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("2") int refreshThreads
+) {}
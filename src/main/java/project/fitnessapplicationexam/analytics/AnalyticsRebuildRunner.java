@@ -0,0 +1,95 @@
+package project.fitnessapplicationexam.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.exercise.model.SeedState;
+import project.fitnessapplicationexam.exercise.repository.SeedStateRepository;
+import project.fitnessapplicationexam.user.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * Recomputes derived analytics tables from the raw session and set tables when the app is
+ * started with {@code --rebuild-daily-rollups} or {@code --rebuild-personal-records}. Either
+ * option takes an optional {@code =<userId>} to rebuild a single user. Each user is rebuilt
+ * in its own transaction.
+ * <p>
+ * A table that has never been built (no {@code seed_state} row) is rebuilt for every user
+ * once, before the web server and schedulers start, so incremental updates never run against
+ * a table that is missing the sessions finished before it existed.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsRebuildRunner implements ApplicationRunner, SmartInitializingSingleton {
+
+    static final String DAILY_ROLLUPS = "rebuild-daily-rollups";
+    static final String PERSONAL_RECORDS = "rebuild-personal-records";
+    static final String BACKFILL_VERSION = "v1";
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRebuildRunner.class);
+    private static final int PAGE_SIZE = 500;
+
+    private final DailyRollupService dailyRollupService;
+    private final PersonalRecordService personalRecordService;
+    private final UserRepository userRepository;
+    private final SeedStateRepository seedStateRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfillOnce(DAILY_ROLLUPS, "daily rollup rows", dailyRollupService::rebuildUser);
+        backfillOnce(PERSONAL_RECORDS, "personal records", personalRecordService::rebuildUser);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild(args, DAILY_ROLLUPS, "daily rollup rows", dailyRollupService::rebuildUser);
+        rebuild(args, PERSONAL_RECORDS, "personal records", personalRecordService::rebuildUser);
+    }
+
+    private void backfillOnce(String name, String what, ToLongFunction<UUID> rebuildUser) {
+        if (seedStateRepository.existsById(name)) {
+            return;
+        }
+        log.info("No {} built yet, backfilling them for every user", what);
+        rebuildAll(name, what, rebuildUser);
+    }
+
+    private void rebuild(ApplicationArguments args, String option, String what, ToLongFunction<UUID> rebuildUser) {
+        if (!args.containsOption(option)) {
+            return;
+        }
+        List<String> values = args.getOptionValues(option);
+        if (!values.isEmpty() && !values.get(0).isBlank()) {
+            UUID userId = UUID.fromString(values.get(0));
+            log.info("Rebuilt {} {} for user {}", rebuildUser.applyAsLong(userId), what, userId);
+            return;
+        }
+        rebuildAll(option, what, rebuildUser);
+    }
+
+    private void rebuildAll(String name, String what, ToLongFunction<UUID> rebuildUser) {
+        int users = 0;
+        long rows = 0;
+        UUID after = new UUID(0L, 0L);
+        List<UUID> page;
+        do {
+            page = userRepository.findIdsAfter(after, Limit.of(PAGE_SIZE));
+            for (UUID userId : page) {
+                rows += rebuildUser.applyAsLong(userId);
+                users++;
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == PAGE_SIZE);
+        seedStateRepository.save(new SeedState(name, BACKFILL_VERSION, LocalDateTime.now()));
+        log.info("Rebuilt {} {} for {} users", rows, what, users);
+    }
+}
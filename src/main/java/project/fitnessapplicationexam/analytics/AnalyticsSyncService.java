@@ -1,123 +1,87 @@
 package project.fitnessapplicationexam.analytics;
 
-import feign.FeignException;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
-import project.fitnessapplicationexam.analytics.dto.sync.ExerciseSyncRequest;
-import project.fitnessapplicationexam.analytics.dto.sync.WorkoutSetSyncRequest;
-import project.fitnessapplicationexam.analytics.dto.sync.WorkoutSyncRequest;
+import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.analytics.model.OutboxAggregate;
+import project.fitnessapplicationexam.analytics.model.OutboxOperation;
+import project.fitnessapplicationexam.analytics.repository.AnalyticsOutboxRepository;
 import project.fitnessapplicationexam.exercise.model.Exercise;
-import project.fitnessapplicationexam.workout.model.SessionStatus;
 import project.fitnessapplicationexam.workout.model.WorkoutSession;
-import project.fitnessapplicationexam.workout.model.WorkoutSet;
-import java.util.Collections;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+/**
+ * Queues exercise and workout changes for the analytics service in the caller's transaction. Nothing
+ * is sent from here; {@link AnalyticsOutboxDispatcher} delivers the rows after the transaction commits.
+ */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class AnalyticsSyncService {
 
-    private final AnalyticsClient analyticsClient;
+    private final AnalyticsOutboxRepository outboxRepository;
+    private final AnalyticsProperties analyticsProperties;
 
+    @Transactional
     public void syncExercise(Exercise exercise) {
         if (exercise == null || exercise.getId() == null) {
             return;
         }
-        ExerciseSyncRequest request = new ExerciseSyncRequest(
-                exercise.getId(),
-                exercise.getOwnerUserId(),
-                exercise.getName(),
-                exercise.getPrimaryMuscle(),
-                exercise.getEquipment(),
-                exercise.getCreatedOn()
-        );
-        executeWithErrorHandling(
-                () -> analyticsClient.syncExercises(Collections.singletonList(request)),
-                "sync exercise",
-                exercise.getId()
-        );
+        enqueue(OutboxAggregate.EXERCISE, exercise.getId(), OutboxOperation.UPSERT);
     }
 
+    @Transactional
+    public void syncExercises(Collection<Exercise> exercises) {
+        for (Exercise exercise : exercises) {
+            syncExercise(exercise);
+        }
+    }
+
+    @Transactional
     public void deleteExercise(UUID exerciseId) {
         if (exerciseId == null) {
             return;
         }
-        try {
-            analyticsClient.deleteExercise(exerciseId);
-        } catch (FeignException.NotFound ex) {
-            log.debug("Exercise {} already absent in analytics service", exerciseId);
-        } catch (FeignException ex) {
-            log.warn("Failed to delete exercise {} from analytics service: {}", exerciseId, ex.getMessage());
-        } catch (Exception ex) {
-            log.warn("Unexpected error while deleting exercise {} from analytics service: {}", exerciseId, ex.getMessage());
-        }
+        enqueue(OutboxAggregate.EXERCISE, exerciseId, OutboxOperation.DELETE);
     }
 
-    public void syncWorkout(WorkoutSession session, List<WorkoutSet> sets) {
+    @Transactional
+    public void syncWorkout(WorkoutSession session) {
         if (session == null || session.getId() == null) {
             return;
         }
-        List<WorkoutSetSyncRequest> payload = (sets == null ? List.<WorkoutSetSyncRequest>of() :
-                sets.stream()
-                        .map(this::mapSet)
-                        .collect(Collectors.toList()));
-        WorkoutSyncRequest request = new WorkoutSyncRequest(
-                session.getId(),
-                session.getUserId(),
-                session.getStartedAt(),
-                session.getFinishedAt(),
-                session.getStatus() != null ? session.getStatus() : SessionStatus.IN_PROGRESS,
-                payload
-        );
-        executeWithErrorHandling(
-                () -> analyticsClient.syncWorkout(request),
-                "sync workout",
-                session.getId()
-        );
+        enqueue(OutboxAggregate.WORKOUT, session.getId(), OutboxOperation.UPSERT);
     }
 
+    @Transactional
     public void deleteWorkout(UUID sessionId) {
         if (sessionId == null) {
             return;
         }
-        try {
-            analyticsClient.deleteWorkout(sessionId);
-        } catch (FeignException.NotFound ex) {
-            log.debug("Workout {} already absent in analytics service", sessionId);
-        } catch (FeignException ex) {
-            log.warn("Failed to delete workout {} from analytics service: {}", sessionId, ex.getMessage());
-        } catch (Exception ex) {
-            log.warn("Unexpected error while deleting workout {} from analytics service: {}", sessionId, ex.getMessage());
+        enqueue(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.DELETE);
+    }
+
+    /**
+     * Asks the analytics service to recompute the user's weekly statistics once the pending changes are
+     * delivered. Only queued when weekly statistics can be read remotely.
+     */
+    @Transactional
+    public void markWeeklyStatsDirty(UUID userId) {
+        if (userId == null || analyticsProperties.mode() == AnalyticsMode.LOCAL) {
+            return;
         }
+        enqueue(OutboxAggregate.WEEKLY_STATS, userId, OutboxOperation.RECOMPUTE);
     }
 
-    private void executeWithErrorHandling(Runnable operation, String operationName, UUID entityId) {
-        try {
-            operation.run();
-        } catch (FeignException ex) {
-            log.warn("Failed to {} {} with analytics service: {}", operationName, entityId, ex.getMessage());
-        } catch (Exception ex) {
-            log.warn("Unexpected error while {} {}: {}", operationName, entityId, ex.getMessage());
+    @Transactional
+    public void markWeeklyStatsDirty(Collection<UUID> userIds) {
+        for (UUID userId : userIds) {
+            markWeeklyStatsDirty(userId);
         }
     }
 
-    private WorkoutSetSyncRequest mapSet(WorkoutSet set) {
-        return new WorkoutSetSyncRequest(
-                set.getId(),
-                set.getExerciseId(),
-                set.getReps(),
-                set.getWeight(),
-                set.isWarmup(),
-                set.getGroupId(),
-                set.getGroupType(),
-                set.getGroupOrder(),
-                set.getSetNumber(),
-                set.getExerciseOrder()
-        );
+    private void enqueue(OutboxAggregate aggregate, UUID aggregateId, OutboxOperation operation) {
+        outboxRepository.enqueue(aggregate.name(), aggregateId, operation.name(), LocalDateTime.now());
     }
 }
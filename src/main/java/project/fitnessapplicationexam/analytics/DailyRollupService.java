@@ -0,0 +1,69 @@
+package project.fitnessapplicationexam.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.analytics.model.UserDailyRollup;
+import project.fitnessapplicationexam.analytics.repository.UserDailyRollupRepository;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Maintains {@code user_daily_rollup}: per-user, per-day totals of finished sessions.
+ * Changes are applied as additive deltas inside the caller's transaction, so the rollup
+ * commits or rolls back together with the workout change that caused it. Callers must
+ * pass sessions whose summary columns are populated.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupService.class);
+    private static final LocalDate REBUILD_FROM = LocalDate.of(1970, 1, 1);
+    private static final LocalDate REBUILD_TO = LocalDate.of(9999, 12, 30);
+
+    private final UserDailyRollupRepository rollupRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordFinished(WorkoutSession session) {
+        Objects.requireNonNull(session.getTotalSets(), "session summary must be computed first");
+        rollupRepository.addDelta(session.getUserId(), session.getStartedAt().toLocalDate(), 1,
+                session.getTotalSets(), session.getTotalReps(), session.getTotalVolume());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseFinished(WorkoutSession session) {
+        Objects.requireNonNull(session.getTotalSets(), "session summary must be computed first");
+        rollupRepository.addDelta(session.getUserId(), session.getStartedAt().toLocalDate(), -1,
+                -session.getTotalSets(), -session.getTotalReps(), session.getTotalVolume().negate());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseExerciseSets(UUID exerciseId) {
+        int rows = rollupRepository.subtractExerciseSets(exerciseId);
+        log.debug("Subtracted sets of exercise {} from {} daily rollups", exerciseId, rows);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserDailyRollup> range(UUID userId, LocalDate from, LocalDate to) {
+        return rollupRepository.findAllByUserIdAndActivityDateBetweenOrderByActivityDateAsc(userId, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserDailyRollup> history(UUID userId) {
+        return range(userId, REBUILD_FROM, REBUILD_TO);
+    }
+
+    @Transactional
+    public int rebuildUser(UUID userId) {
+        rollupRepository.deleteRange(userId, REBUILD_FROM, REBUILD_TO);
+        return rollupRepository.insertAggregated(userId,
+                REBUILD_FROM.atStartOfDay(), REBUILD_TO.plusDays(1).atStartOfDay());
+    }
+}
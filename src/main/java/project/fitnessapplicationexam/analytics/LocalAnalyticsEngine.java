@@ -0,0 +1,378 @@
+package project.fitnessapplicationexam.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.analytics.dto.ExerciseVolumeTrendDto;
+import project.fitnessapplicationexam.analytics.dto.PersonalRecordsDto;
+import project.fitnessapplicationexam.analytics.dto.ProgressiveOverloadDto;
+import project.fitnessapplicationexam.analytics.dto.TrainingFrequencyResponse;
+import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse;
+import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse.DayStat;
+import project.fitnessapplicationexam.analytics.model.PersonalRecord;
+import project.fitnessapplicationexam.analytics.model.PersonalRepRecord;
+import project.fitnessapplicationexam.analytics.model.UserDailyRollup;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Computes analytics locally instead of asking the analytics microservice: weekly
+ * summaries and milestones from the {@code user_daily_rollup} table, personal records
+ * from {@code personal_records} and {@code personal_rep_records}, and the other PRO
+ * queries from the user's in-memory {@link TrainingLog}. Date ranges are inclusive.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalAnalyticsEngine {
+
+    private static final int FREQUENCY_WINDOW_DAYS = 30;
+    private static final int FREQUENCY_WINDOW_SESSIONS = 12;
+
+    private final DailyRollupService dailyRollupService;
+    private final TrainingLogCache trainingLogCache;
+    private final PersonalRecordService personalRecordService;
+    private final ExerciseRepository exerciseRepository;
+
+    public WeeklySummaryResponse weeklySummary(UUID userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, UserDailyRollup> rollups = dailyRollupService.range(userId, from, to).stream()
+                .collect(Collectors.toMap(UserDailyRollup::getActivityDate, Function.identity()));
+
+        List<DayStat> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            UserDailyRollup day = rollups.get(date);
+            days.add(day == null || day.getSessions() <= 0
+                    ? new DayStat(date, 0, 0, 0, BigDecimal.ZERO)
+                    : new DayStat(date, day.getSessions(), day.getSets(), day.getReps(), day.getVolume()));
+        }
+        return new WeeklySummaryResponse(from, to, days);
+    }
+
+    public TrainingFrequencyResponse trainingFrequency(UUID userId, LocalDate from, LocalDate to) {
+        TrainingLog trainingLog = trainingLogCache.get(userId);
+        int first = trainingLog.firstSessionOnOrAfter(from.toEpochDay());
+        int end = trainingLog.firstSessionOnOrAfter(to.toEpochDay() + 1);
+
+        LocalDate firstWeek = from.with(DayOfWeek.MONDAY);
+        int[] perWeek = new int[weekCount(from, to)];
+        int[] perDayOfWeek = new int[7];
+        int longestStreak = 0;
+        int streak = 0;
+        long previousDay = Long.MIN_VALUE;
+        for (int session = first; session < end; session++) {
+            int day = trainingLog.sessionDay(session);
+            perDayOfWeek[LocalDate.ofEpochDay(day).getDayOfWeek().ordinal()]++;
+            perWeek[(int) ((day - firstWeek.toEpochDay()) / 7)]++;
+            if (day != previousDay) {
+                streak = day == previousDay + 1 ? streak + 1 : 1;
+                longestStreak = Math.max(longestStreak, streak);
+                previousDay = day;
+            }
+        }
+        int currentStreak = previousDay >= to.toEpochDay() - 1 ? streak : 0;
+
+        Map<String, Integer> byDayOfWeek = new LinkedHashMap<>();
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            byDayOfWeek.put(dayOfWeek.name(), perDayOfWeek[dayOfWeek.ordinal()]);
+        }
+        List<TrainingFrequencyResponse.WeeklyBreakdown> weekly = new ArrayList<>(perWeek.length);
+        for (int week = 0; week < perWeek.length; week++) {
+            LocalDate weekStart = firstWeek.plusWeeks(week);
+            weekly.add(new TrainingFrequencyResponse.WeeklyBreakdown(weekStart, weekStart.plusDays(6), perWeek[week]));
+        }
+
+        int totalWorkouts = end - first;
+        double weeks = (ChronoUnit.DAYS.between(from, to) + 1) / 7.0;
+        return new TrainingFrequencyResponse(totalWorkouts, round1(totalWorkouts / weeks),
+                byDayOfWeek, weekly, longestStreak, currentStreak);
+    }
+
+    public List<ExerciseVolumeTrendDto> volumeTrends(UUID userId, LocalDate from, LocalDate to) {
+        TrainingLog trainingLog = trainingLogCache.get(userId);
+        int first = trainingLog.firstSessionOnOrAfter(from.toEpochDay());
+        int end = trainingLog.firstSessionOnOrAfter(to.toEpochDay() + 1);
+        int exercises = trainingLog.exerciseCount();
+        int weeks = weekCount(from, to);
+        long firstWeekDay = from.with(DayOfWeek.MONDAY).toEpochDay();
+
+        long[] volume = new long[exercises];
+        int[] sets = new int[exercises];
+        int[] sessions = new int[exercises];
+        int[] lastSession = new int[exercises];
+        Arrays.fill(lastSession, -1);
+        long[][] weeklyVolume = new long[exercises][];
+        int[][] weeklySets = new int[exercises][];
+        for (int session = first; session < end; session++) {
+            int week = (int) ((trainingLog.sessionDay(session) - firstWeekDay) / 7);
+            for (int set = trainingLog.setStart(session); set < trainingLog.setEnd(session); set++) {
+                int exercise = trainingLog.setExercise(set);
+                long setVolume = (long) trainingLog.setReps(set) * trainingLog.setWeight(set);
+                if (weeklyVolume[exercise] == null) {
+                    weeklyVolume[exercise] = new long[weeks];
+                    weeklySets[exercise] = new int[weeks];
+                }
+                volume[exercise] += setVolume;
+                sets[exercise]++;
+                weeklyVolume[exercise][week] += setVolume;
+                weeklySets[exercise][week]++;
+                if (lastSession[exercise] != session) {
+                    lastSession[exercise] = session;
+                    sessions[exercise]++;
+                }
+            }
+        }
+
+        Map<UUID, Exercise> names = exercisesOf(trainingLog, sets);
+        List<ExerciseVolumeTrendDto> trends = new ArrayList<>();
+        for (int exercise = 0; exercise < exercises; exercise++) {
+            if (sets[exercise] == 0) {
+                continue;
+            }
+            List<ExerciseVolumeTrendDto.WeeklyData> weeklyData = new ArrayList<>(weeks);
+            for (int week = 0; week < weeks; week++) {
+                weeklyData.add(new ExerciseVolumeTrendDto.WeeklyData(LocalDate.ofEpochDay(firstWeekDay + 7L * week),
+                        TrainingLog.unscaled(weeklyVolume[exercise][week]), weeklySets[exercise][week]));
+            }
+            UUID exerciseId = trainingLog.exerciseId(exercise);
+            Exercise details = names.get(exerciseId);
+            BigDecimal totalVolume = TrainingLog.unscaled(volume[exercise]);
+            trends.add(new ExerciseVolumeTrendDto(exerciseId, nameOf(details), muscleGroupOf(details),
+                    totalVolume, sets[exercise],
+                    totalVolume.divide(BigDecimal.valueOf(sessions[exercise]), TrainingLog.WEIGHT_SCALE, RoundingMode.HALF_UP),
+                    trendOf(weeklyVolume[exercise]), weeklyData));
+        }
+        trends.sort(Comparator.comparing(ExerciseVolumeTrendDto::totalVolume).reversed());
+        return trends;
+    }
+
+    public List<ProgressiveOverloadDto> progressiveOverload(UUID userId, LocalDate from, LocalDate to) {
+        TrainingLog trainingLog = trainingLogCache.get(userId);
+        int first = trainingLog.firstSessionOnOrAfter(from.toEpochDay());
+        int end = trainingLog.firstSessionOnOrAfter(to.toEpochDay() + 1);
+        int exercises = trainingLog.exerciseCount();
+
+        List<List<ProgressiveOverloadDto.ProgressPoint>> points = new ArrayList<>(exercises);
+        for (int exercise = 0; exercise < exercises; exercise++) {
+            points.add(null);
+        }
+        int[] topWeight = new int[exercises];
+        int[] topReps = new int[exercises];
+        int[] touched = new int[exercises];
+        for (int session = first; session < end; session++) {
+            int touchedCount = 0;
+            for (int set = trainingLog.setStart(session); set < trainingLog.setEnd(session); set++) {
+                int exercise = trainingLog.setExercise(set);
+                if (points.get(exercise) == null) {
+                    points.set(exercise, new ArrayList<>());
+                }
+                if (!contains(touched, touchedCount, exercise)) {
+                    touched[touchedCount++] = exercise;
+                    topWeight[exercise] = -1;
+                }
+                int weight = trainingLog.setWeight(set);
+                int reps = trainingLog.setReps(set);
+                if (weight > topWeight[exercise] || (weight == topWeight[exercise] && reps > topReps[exercise])) {
+                    topWeight[exercise] = weight;
+                    topReps[exercise] = reps;
+                }
+            }
+            LocalDate date = LocalDate.ofEpochDay(trainingLog.sessionDay(session));
+            for (int i = 0; i < touchedCount; i++) {
+                int exercise = touched[i];
+                points.get(exercise).add(new ProgressiveOverloadDto.ProgressPoint(date,
+                        TrainingLog.unscaled(topWeight[exercise]), topReps[exercise]));
+            }
+        }
+
+        int[] used = new int[exercises];
+        for (int exercise = 0; exercise < exercises; exercise++) {
+            used[exercise] = points.get(exercise) == null ? 0 : 1;
+        }
+        Map<UUID, Exercise> names = exercisesOf(trainingLog, used);
+        List<ProgressiveOverloadDto> result = new ArrayList<>();
+        for (int exercise = 0; exercise < exercises; exercise++) {
+            List<ProgressiveOverloadDto.ProgressPoint> history = points.get(exercise);
+            if (history == null) {
+                continue;
+            }
+            BigDecimal starting = history.get(0).weight();
+            BigDecimal current = history.get(history.size() - 1).weight();
+            double progress = starting.signum() == 0 ? 0.0
+                    : round1(current.subtract(starting).doubleValue() * 100.0 / starting.doubleValue());
+            String status = progress > 0 ? "progressing" : history.size() >= 3 ? "plateau" : "maintaining";
+            UUID exerciseId = trainingLog.exerciseId(exercise);
+            Exercise details = names.get(exerciseId);
+            result.add(new ProgressiveOverloadDto(exerciseId, nameOf(details), muscleGroupOf(details),
+                    starting, current, progress, status, history));
+        }
+        result.sort(Comparator.comparing(ProgressiveOverloadDto::exerciseName));
+        return result;
+    }
+
+    public PersonalRecordsDto personalRecords(UUID userId) {
+        List<PersonalRecord> stored = personalRecordService.forUser(userId);
+        Map<UUID, List<PersonalRepRecord>> repRecords = stored.isEmpty() ? Map.of()
+                : personalRecordService.repRecordsForUser(userId).stream()
+                        .collect(Collectors.groupingBy(PersonalRepRecord::getExerciseId));
+        Map<UUID, Exercise> names = stored.isEmpty() ? Map.of()
+                : exerciseRepository.findAllById(stored.stream().map(PersonalRecord::getExerciseId).toList()).stream()
+                        .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+
+        List<PersonalRecordsDto.ExercisePR> records = new ArrayList<>();
+        for (PersonalRecord record : stored) {
+            UUID exerciseId = record.getExerciseId();
+            String name = nameOf(names.get(exerciseId));
+            records.add(new PersonalRecordsDto.ExercisePR(exerciseId, name, "Max Weight",
+                    record.getMaxWeight(), record.getMaxWeightReps(), record.getMaxWeightDate()));
+            records.add(new PersonalRecordsDto.ExercisePR(exerciseId, name, "Estimated 1RM",
+                    record.getBestOneRepMax(), 1, record.getOneRepMaxDate()));
+            records.add(new PersonalRecordsDto.ExercisePR(exerciseId, name, "Session Volume",
+                    record.getBestSessionVolume(), null, record.getSessionVolumeDate()));
+            for (PersonalRepRecord repRecord : repRecordsBelowMax(record, repRecords.get(exerciseId))) {
+                records.add(new PersonalRecordsDto.ExercisePR(exerciseId, name, "Best Reps",
+                        repRecord.getWeight(), repRecord.getReps(), repRecord.getAchievedDate()));
+            }
+        }
+        records.sort(Comparator.comparing(PersonalRecordsDto.ExercisePR::exerciseName));
+        return new PersonalRecordsDto(records, milestones(dailyRollupService.history(userId)));
+    }
+
+    /**
+     * Rep records lighter than the max weight that beat every heavier rep record, heaviest first.
+     * A lighter weight lifted for no more reps than a heavier one is not a record worth showing.
+     */
+    private static List<PersonalRepRecord> repRecordsBelowMax(PersonalRecord record, List<PersonalRepRecord> repRecords) {
+        if (repRecords == null) {
+            return List.of();
+        }
+        List<PersonalRepRecord> heaviestFirst = new ArrayList<>(repRecords);
+        heaviestFirst.sort(Comparator.comparing(PersonalRepRecord::getWeight).reversed());
+        List<PersonalRepRecord> shown = new ArrayList<>();
+        int bestReps = 0;
+        for (PersonalRepRecord repRecord : heaviestFirst) {
+            if (repRecord.getReps() <= bestReps) {
+                continue;
+            }
+            bestReps = repRecord.getReps();
+            if (repRecord.getWeight().compareTo(record.getMaxWeight()) < 0) {
+                shown.add(repRecord);
+            }
+        }
+        return shown;
+    }
+
+    private static List<PersonalRecordsDto.Milestone> milestones(List<UserDailyRollup> days) {
+        List<PersonalRecordsDto.Milestone> milestones = new ArrayList<>();
+        int sessions = 0;
+        BigDecimal volume = BigDecimal.ZERO;
+        for (UserDailyRollup day : days) {
+            sessions += Math.max(0, day.getSessions());
+            volume = volume.add(day.getVolume());
+        }
+        long totalVolume = volume.longValue();
+        if (sessions >= 1) {
+            milestones.add(new PersonalRecordsDto.Milestone("Getting Started", "Completed your first workout", "🎯"));
+        }
+        if (sessions >= 50) {
+            milestones.add(new PersonalRecordsDto.Milestone("Dedicated (50 Sessions)", "Completed 50 workouts", "💪"));
+        }
+        if (sessions >= 100) {
+            milestones.add(new PersonalRecordsDto.Milestone("Centurion", "Completed 100 workouts", "🏛️"));
+        }
+        if (totalVolume >= 100_000) {
+            milestones.add(new PersonalRecordsDto.Milestone("100K Club", "Lifted 100,000 lbs in total", "🏋️"));
+        }
+        if (totalVolume >= 500_000) {
+            milestones.add(new PersonalRecordsDto.Milestone("Half Million", "Lifted 500,000 lbs in total", "🔥"));
+        }
+        if (totalVolume >= 1_000_000) {
+            milestones.add(new PersonalRecordsDto.Milestone("Million Pound Club", "Lifted 1,000,000 lbs in total", "🏆"));
+        }
+        int windowStart = 0;
+        int windowSessions = 0;
+        for (UserDailyRollup day : days) {
+            windowSessions += Math.max(0, day.getSessions());
+            while (ChronoUnit.DAYS.between(days.get(windowStart).getActivityDate(), day.getActivityDate())
+                    >= FREQUENCY_WINDOW_DAYS) {
+                windowSessions -= Math.max(0, days.get(windowStart++).getSessions());
+            }
+            if (windowSessions >= FREQUENCY_WINDOW_SESSIONS) {
+                milestones.add(new PersonalRecordsDto.Milestone("Dedicated (12 in 30)",
+                        "Trained 12 times within 30 days", "📅"));
+                break;
+            }
+        }
+        return milestones;
+    }
+
+    private Map<UUID, Exercise> exercisesOf(TrainingLog trainingLog, int[] used) {
+        List<UUID> ids = new ArrayList<>();
+        for (int exercise = 0; exercise < used.length; exercise++) {
+            if (used[exercise] > 0) {
+                ids.add(trainingLog.exerciseId(exercise));
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return exerciseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+    }
+
+    private static String nameOf(Exercise exercise) {
+        return exercise != null && exercise.getName() != null ? exercise.getName() : "Unknown exercise";
+    }
+
+    private static String muscleGroupOf(Exercise exercise) {
+        return exercise != null && exercise.getPrimaryMuscle() != null ? exercise.getPrimaryMuscle().name() : null;
+    }
+
+    private static String trendOf(long[] weeklyVolume) {
+        int half = weeklyVolume.length / 2;
+        if (half == 0) {
+            return "stable";
+        }
+        long earlier = 0;
+        long later = 0;
+        for (int week = 0; week < half; week++) {
+            earlier += weeklyVolume[week];
+            later += weeklyVolume[weeklyVolume.length - half + week];
+        }
+        if (later * 100 > earlier * 105) {
+            return "increasing";
+        }
+        if (later * 100 < earlier * 95) {
+            return "decreasing";
+        }
+        return "stable";
+    }
+
+    private static int weekCount(LocalDate from, LocalDate to) {
+        return Math.max(0, (int) ChronoUnit.WEEKS.between(from.with(DayOfWeek.MONDAY), to.with(DayOfWeek.MONDAY)) + 1);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double round1(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
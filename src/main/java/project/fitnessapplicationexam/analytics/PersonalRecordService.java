@@ -0,0 +1,308 @@
+package project.fitnessapplicationexam.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.analytics.model.PersonalRecord;
+import project.fitnessapplicationexam.analytics.model.PersonalRepRecord;
+import project.fitnessapplicationexam.analytics.repository.PersonalRecordRepository;
+import project.fitnessapplicationexam.analytics.repository.PersonalRepRecordRepository;
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@code personal_records}: per user and exercise, the heaviest set, the best
+ * estimated one-rep max (Epley) and the highest single-session volume; and
+ * {@code personal_rep_records}: per user, exercise and weight, the most reps done in one set.
+ * Finishing a workout only compares that session's sets against the stored bests. Removing
+ * a session rescans history only for the records that session held.
+ */
+@Service
+@RequiredArgsConstructor
+public class PersonalRecordService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonalRecordService.class);
+    private static final BigDecimal EPLEY_DIVISOR = BigDecimal.valueOf(30);
+    private static final int WEIGHT_SCALE = 2;
+
+    private final PersonalRecordRepository personalRecordRepository;
+    private final PersonalRepRecordRepository personalRepRecordRepository;
+    private final WorkoutSessionRepository workoutSessionRepository;
+
+    @Transactional(readOnly = true)
+    public List<PersonalRecord> forUser(UUID userId) {
+        return personalRecordRepository.findAllByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonalRepRecord> repRecordsForUser(UUID userId) {
+        return personalRepRecordRepository.findAllByUserId(userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSession(WorkoutSession session, List<WorkoutSet> sets) {
+        List<TrainingLogRow> rows = sets.stream()
+                .map(set -> new TrainingLogRow(session.getId(), session.getStartedAt(),
+                        set.getExerciseId(), set.getReps(), set.getWeight()))
+                .toList();
+        Map<UUID, PersonalRecord> candidates = computeRecords(session.getUserId(), rows);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, PersonalRecord> existing = personalRecordRepository
+                .findAllByUserIdAndExerciseIdIn(session.getUserId(), candidates.keySet()).stream()
+                .collect(Collectors.toMap(PersonalRecord::getExerciseId, Function.identity()));
+        List<PersonalRecord> created = new ArrayList<>();
+        for (PersonalRecord candidate : candidates.values()) {
+            PersonalRecord current = existing.get(candidate.getExerciseId());
+            if (current == null) {
+                created.add(candidate);
+            } else {
+                improve(current, candidate);
+            }
+        }
+        personalRecordRepository.saveAll(created);
+        recordRepRecords(session.getUserId(), candidates.keySet(), computeRepRecords(session.getUserId(), rows));
+    }
+
+    /**
+     * Recomputes the records that {@code sessionId} held from the user's remaining history.
+     * Call after the session's sets were deleted or replaced.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void repairAfterSessionChange(UUID userId, UUID sessionId) {
+        List<PersonalRecord> held = personalRecordRepository.findAllHeldBySession(userId, sessionId);
+        List<PersonalRepRecord> heldReps = personalRepRecordRepository.findAllByUserIdAndSessionId(userId, sessionId);
+        if (held.isEmpty() && heldReps.isEmpty()) {
+            return;
+        }
+        Set<UUID> exerciseIds = new LinkedHashSet<>();
+        held.forEach(record -> exerciseIds.add(record.getExerciseId()));
+        heldReps.forEach(record -> exerciseIds.add(record.getExerciseId()));
+        List<TrainingLogRow> history = workoutSessionRepository.findExerciseHistory(userId,
+                List.copyOf(exerciseIds), SessionStatus.FINISHED);
+        Map<UUID, PersonalRecord> recomputed = computeRecords(userId, history);
+
+        for (PersonalRecord record : held) {
+            PersonalRecord replacement = recomputed.get(record.getExerciseId());
+            if (replacement == null) {
+                personalRecordRepository.delete(record);
+            } else {
+                copy(replacement, record);
+            }
+        }
+        Map<PersonalRepRecord.Key, PersonalRepRecord> recomputedReps = computeRepRecords(userId, history);
+        for (PersonalRepRecord record : heldReps) {
+            PersonalRepRecord replacement = recomputedReps.get(repKey(userId, record.getExerciseId(), record.getWeight()));
+            if (replacement == null) {
+                personalRepRecordRepository.delete(record);
+            } else {
+                record.setReps(replacement.getReps());
+                record.setSessionId(replacement.getSessionId());
+                record.setAchievedDate(replacement.getAchievedDate());
+            }
+        }
+        log.debug("Repaired {} personal records and {} rep records of user {} after session {} changed",
+                held.size(), heldReps.size(), userId, sessionId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void exerciseDeleted(UUID exerciseId) {
+        personalRecordRepository.deleteByExerciseId(exerciseId);
+        personalRepRecordRepository.deleteByExerciseId(exerciseId);
+    }
+
+    @Transactional
+    public int rebuildUser(UUID userId) {
+        personalRecordRepository.deleteByUserId(userId);
+        personalRepRecordRepository.deleteByUserId(userId);
+        List<TrainingLogRow> rows = workoutSessionRepository.findTrainingLogRows(userId, SessionStatus.FINISHED);
+        Map<UUID, PersonalRecord> records = computeRecords(userId, rows);
+        Map<PersonalRepRecord.Key, PersonalRepRecord> repRecords = computeRepRecords(userId, rows);
+        personalRecordRepository.saveAll(records.values());
+        personalRepRecordRepository.saveAll(repRecords.values());
+        return records.size() + repRecords.size();
+    }
+
+    private void recordRepRecords(UUID userId, Set<UUID> exerciseIds,
+                                  Map<PersonalRepRecord.Key, PersonalRepRecord> candidates) {
+        Map<PersonalRepRecord.Key, PersonalRepRecord> existing = personalRepRecordRepository
+                .findAllByUserIdAndExerciseIdIn(userId, exerciseIds).stream()
+                .collect(Collectors.toMap(record -> repKey(userId, record.getExerciseId(), record.getWeight()),
+                        Function.identity()));
+        List<PersonalRepRecord> created = new ArrayList<>();
+        candidates.forEach((key, candidate) -> {
+            PersonalRepRecord current = existing.get(key);
+            if (current == null) {
+                created.add(candidate);
+            } else if (candidate.getReps() > current.getReps()) {
+                current.setReps(candidate.getReps());
+                current.setSessionId(candidate.getSessionId());
+                current.setAchievedDate(candidate.getAchievedDate());
+            }
+        });
+        personalRepRecordRepository.saveAll(created);
+    }
+
+    /** Computes records from rows ordered by session start; earlier sessions win ties. */
+    static Map<UUID, PersonalRecord> computeRecords(UUID userId, List<TrainingLogRow> rows) {
+        Map<UUID, PersonalRecord> records = new LinkedHashMap<>();
+        Map<UUID, BigDecimal> sessionVolume = new HashMap<>();
+        UUID currentSession = null;
+        TrainingLogRow sessionRow = null;
+        for (TrainingLogRow row : rows) {
+            if (!Objects.equals(row.sessionId(), currentSession)) {
+                closeSession(userId, sessionRow, sessionVolume, records);
+                currentSession = row.sessionId();
+                sessionRow = row;
+            }
+            if (!countable(row)) {
+                continue;
+            }
+            BigDecimal volume = row.weight().multiply(BigDecimal.valueOf(row.reps()));
+            sessionVolume.merge(row.exerciseId(), volume, BigDecimal::add);
+
+            PersonalRecord candidate = PersonalRecord.builder()
+                    .userId(userId)
+                    .exerciseId(row.exerciseId())
+                    .maxWeight(row.weight())
+                    .maxWeightReps(row.reps())
+                    .maxWeightSessionId(row.sessionId())
+                    .maxWeightDate(row.startedAt().toLocalDate())
+                    .bestOneRepMax(estimateOneRepMax(row.weight(), row.reps()))
+                    .oneRepMaxWeight(row.weight())
+                    .oneRepMaxReps(row.reps())
+                    .oneRepMaxSessionId(row.sessionId())
+                    .oneRepMaxDate(row.startedAt().toLocalDate())
+                    .bestSessionVolume(BigDecimal.ZERO)
+                    .sessionVolumeSessionId(row.sessionId())
+                    .sessionVolumeDate(row.startedAt().toLocalDate())
+                    .build();
+            PersonalRecord current = records.get(row.exerciseId());
+            if (current == null) {
+                records.put(row.exerciseId(), candidate);
+            } else {
+                improve(current, candidate);
+            }
+        }
+        closeSession(userId, sessionRow, sessionVolume, records);
+        return records;
+    }
+
+    /** Most reps per exercise and weight from rows ordered by session start; earlier sessions win ties. */
+    static Map<PersonalRepRecord.Key, PersonalRepRecord> computeRepRecords(UUID userId, List<TrainingLogRow> rows) {
+        Map<PersonalRepRecord.Key, PersonalRepRecord> records = new LinkedHashMap<>();
+        for (TrainingLogRow row : rows) {
+            if (!countable(row)) {
+                continue;
+            }
+            PersonalRepRecord.Key key = repKey(userId, row.exerciseId(), row.weight());
+            PersonalRepRecord current = records.get(key);
+            if (current == null) {
+                records.put(key, PersonalRepRecord.builder()
+                        .userId(userId)
+                        .exerciseId(row.exerciseId())
+                        .weight(key.getWeight())
+                        .reps(row.reps())
+                        .sessionId(row.sessionId())
+                        .achievedDate(row.startedAt().toLocalDate())
+                        .build());
+            } else if (row.reps() > current.getReps()) {
+                current.setReps(row.reps());
+                current.setSessionId(row.sessionId());
+                current.setAchievedDate(row.startedAt().toLocalDate());
+            }
+        }
+        return records;
+    }
+
+    static BigDecimal estimateOneRepMax(BigDecimal weight, int reps) {
+        if (reps == 1) {
+            return weight.setScale(2, RoundingMode.HALF_UP);
+        }
+        return weight.multiply(EPLEY_DIVISOR.add(BigDecimal.valueOf(reps)))
+                .divide(EPLEY_DIVISOR, 2, RoundingMode.HALF_UP);
+    }
+
+    private static boolean countable(TrainingLogRow row) {
+        return row.exerciseId() != null && row.reps() != null && row.reps() > 0
+                && row.weight() != null && row.weight().signum() > 0;
+    }
+
+    private static PersonalRepRecord.Key repKey(UUID userId, UUID exerciseId, BigDecimal weight) {
+        return new PersonalRepRecord.Key(userId, exerciseId, weight.setScale(WEIGHT_SCALE, RoundingMode.HALF_UP));
+    }
+
+    private static void closeSession(UUID userId, TrainingLogRow sessionRow, Map<UUID, BigDecimal> sessionVolume,
+                                     Map<UUID, PersonalRecord> records) {
+        if (sessionRow == null) {
+            return;
+        }
+        sessionVolume.forEach((exerciseId, volume) -> {
+            PersonalRecord record = records.get(exerciseId);
+            if (volume.compareTo(record.getBestSessionVolume()) > 0) {
+                record.setBestSessionVolume(volume);
+                record.setSessionVolumeSessionId(sessionRow.sessionId());
+                record.setSessionVolumeDate(sessionRow.startedAt().toLocalDate());
+            }
+        });
+        sessionVolume.clear();
+    }
+
+    private static void improve(PersonalRecord current, PersonalRecord candidate) {
+        int weight = candidate.getMaxWeight().compareTo(current.getMaxWeight());
+        if (weight > 0 || (weight == 0 && candidate.getMaxWeightReps() > current.getMaxWeightReps())) {
+            current.setMaxWeight(candidate.getMaxWeight());
+            current.setMaxWeightReps(candidate.getMaxWeightReps());
+            current.setMaxWeightSessionId(candidate.getMaxWeightSessionId());
+            current.setMaxWeightDate(candidate.getMaxWeightDate());
+        }
+        if (candidate.getBestOneRepMax().compareTo(current.getBestOneRepMax()) > 0) {
+            current.setBestOneRepMax(candidate.getBestOneRepMax());
+            current.setOneRepMaxWeight(candidate.getOneRepMaxWeight());
+            current.setOneRepMaxReps(candidate.getOneRepMaxReps());
+            current.setOneRepMaxSessionId(candidate.getOneRepMaxSessionId());
+            current.setOneRepMaxDate(candidate.getOneRepMaxDate());
+        }
+        if (candidate.getBestSessionVolume().compareTo(current.getBestSessionVolume()) > 0) {
+            current.setBestSessionVolume(candidate.getBestSessionVolume());
+            current.setSessionVolumeSessionId(candidate.getSessionVolumeSessionId());
+            current.setSessionVolumeDate(candidate.getSessionVolumeDate());
+        }
+    }
+
+    private static void copy(PersonalRecord source, PersonalRecord target) {
+        target.setMaxWeight(source.getMaxWeight());
+        target.setMaxWeightReps(source.getMaxWeightReps());
+        target.setMaxWeightSessionId(source.getMaxWeightSessionId());
+        target.setMaxWeightDate(source.getMaxWeightDate());
+        target.setBestOneRepMax(source.getBestOneRepMax());
+        target.setOneRepMaxWeight(source.getOneRepMaxWeight());
+        target.setOneRepMaxReps(source.getOneRepMaxReps());
+        target.setOneRepMaxSessionId(source.getOneRepMaxSessionId());
+        target.setOneRepMaxDate(source.getOneRepMaxDate());
+        target.setBestSessionVolume(source.getBestSessionVolume());
+        target.setSessionVolumeSessionId(source.getSessionVolumeSessionId());
+        target.setSessionVolumeDate(source.getSessionVolumeDate());
+    }
+}
@@ -0,0 +1,229 @@
+package project.fitnessapplicationexam.analytics;
+
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable column store of one user's finished sessions and their sets.
+ * Sessions are kept in start order and the sets of session {@code i} occupy
+ * {@code [setStart(i), setEnd(i))} of the set columns. Weights are stored in
+ * hundredths so range scans work on primitives only.
+ */
+final class TrainingLog {
+
+    static final int WEIGHT_SCALE = 2;
+
+    private static final long FIXED_BYTES = 128;
+    private static final long BYTES_PER_EXERCISE = 88;
+
+    private final UUID[] exercises;
+    private final Map<UUID, Integer> exerciseIndex;
+    private final int[] sessionDay;
+    private final int[] setOffset;
+    private final int[] setExercise;
+    private final int[] setReps;
+    private final int[] setWeight;
+    private final LocalDateTime lastStartedAt;
+
+    private TrainingLog(UUID[] exercises, int[] sessionDay, int[] setOffset,
+                        int[] setExercise, int[] setReps, int[] setWeight, LocalDateTime lastStartedAt) {
+        this.exercises = exercises;
+        this.exerciseIndex = new HashMap<>(exercises.length * 2);
+        for (int i = 0; i < exercises.length; i++) {
+            exerciseIndex.put(exercises[i], i);
+        }
+        this.sessionDay = sessionDay;
+        this.setOffset = setOffset;
+        this.setExercise = setExercise;
+        this.setReps = setReps;
+        this.setWeight = setWeight;
+        this.lastStartedAt = lastStartedAt;
+    }
+
+    /**
+     * Builds a log from rows ordered by session start, one row per set; a session
+     * without sets contributes a single row with a {@code null} exercise.
+     */
+    static TrainingLog of(List<TrainingLogRow> rows) {
+        return new Builder(null).addAll(rows).build();
+    }
+
+    /**
+     * Returns a copy with one more session appended, or {@code null} when the session
+     * started before the newest one in this log and would break the start order.
+     */
+    TrainingLog append(List<TrainingLogRow> sessionRows) {
+        if (sessionRows.isEmpty()) {
+            return this;
+        }
+        if (lastStartedAt != null && sessionRows.get(0).startedAt().isBefore(lastStartedAt)) {
+            return null;
+        }
+        return new Builder(this).addAll(sessionRows).build();
+    }
+
+    int sessionCount() {
+        return sessionDay.length;
+    }
+
+    int sessionDay(int session) {
+        return sessionDay[session];
+    }
+
+    /** Index of the first session on or after {@code epochDay}. */
+    int firstSessionOnOrAfter(long epochDay) {
+        int low = 0;
+        int high = sessionDay.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sessionDay[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int setStart(int session) {
+        return setOffset[session];
+    }
+
+    int setEnd(int session) {
+        return setOffset[session + 1];
+    }
+
+    int setExercise(int set) {
+        return setExercise[set];
+    }
+
+    int setReps(int set) {
+        return setReps[set];
+    }
+
+    int setWeight(int set) {
+        return setWeight[set];
+    }
+
+    int exerciseCount() {
+        return exercises.length;
+    }
+
+    UUID exerciseId(int exercise) {
+        return exercises[exercise];
+    }
+
+    /** Approximate retained heap size, used to bound the cache. */
+    long bytes() {
+        long columns = 4L * (sessionDay.length + setOffset.length + 3L * setExercise.length);
+        return FIXED_BYTES + columns + BYTES_PER_EXERCISE * exercises.length;
+    }
+
+    static int scaledWeight(BigDecimal weight) {
+        return weight == null ? 0 : weight.setScale(WEIGHT_SCALE, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+
+    static BigDecimal unscaled(long value) {
+        return BigDecimal.valueOf(value, WEIGHT_SCALE);
+    }
+
+    private static final class Builder {
+
+        private UUID[] exercises;
+        private final Map<UUID, Integer> exerciseIndex;
+        private int[] sessionDay;
+        private int sessions;
+        private int[] setOffset;
+        private int[] setExercise;
+        private int[] setReps;
+        private int[] setWeight;
+        private int sets;
+        private UUID currentSession;
+        private LocalDateTime lastStartedAt;
+
+        Builder(TrainingLog base) {
+            if (base == null) {
+                exercises = new UUID[0];
+                exerciseIndex = new HashMap<>();
+                sessionDay = new int[8];
+                setOffset = new int[9];
+                setExercise = new int[32];
+                setReps = new int[32];
+                setWeight = new int[32];
+                return;
+            }
+            exercises = base.exercises;
+            exerciseIndex = new HashMap<>(base.exerciseIndex);
+            sessions = base.sessionDay.length;
+            sets = base.setExercise.length;
+            sessionDay = Arrays.copyOf(base.sessionDay, sessions + 1);
+            setOffset = Arrays.copyOf(base.setOffset, sessions + 2);
+            setExercise = Arrays.copyOf(base.setExercise, sets + 16);
+            setReps = Arrays.copyOf(base.setReps, sets + 16);
+            setWeight = Arrays.copyOf(base.setWeight, sets + 16);
+            lastStartedAt = base.lastStartedAt;
+        }
+
+        Builder addAll(List<TrainingLogRow> rows) {
+            for (TrainingLogRow row : rows) {
+                if (!Objects.equals(row.sessionId(), currentSession)) {
+                    startSession(row);
+                }
+                if (row.exerciseId() != null) {
+                    addSet(row);
+                }
+            }
+            return this;
+        }
+
+        TrainingLog build() {
+            return new TrainingLog(exercises,
+                    Arrays.copyOf(sessionDay, sessions),
+                    Arrays.copyOf(setOffset, sessions + 1),
+                    Arrays.copyOf(setExercise, sets),
+                    Arrays.copyOf(setReps, sets),
+                    Arrays.copyOf(setWeight, sets),
+                    lastStartedAt);
+        }
+
+        private void startSession(TrainingLogRow row) {
+            if (sessions == sessionDay.length) {
+                sessionDay = Arrays.copyOf(sessionDay, sessions * 2);
+                setOffset = Arrays.copyOf(setOffset, sessions * 2 + 1);
+            }
+            currentSession = row.sessionId();
+            lastStartedAt = row.startedAt();
+            sessionDay[sessions] = Math.toIntExact(row.startedAt().toLocalDate().toEpochDay());
+            sessions++;
+            setOffset[sessions] = sets;
+        }
+
+        private void addSet(TrainingLogRow row) {
+            if (sets == setExercise.length) {
+                int capacity = Math.max(32, sets * 2);
+                setExercise = Arrays.copyOf(setExercise, capacity);
+                setReps = Arrays.copyOf(setReps, capacity);
+                setWeight = Arrays.copyOf(setWeight, capacity);
+            }
+            setExercise[sets] = exerciseIndex.computeIfAbsent(row.exerciseId(), this::newExercise);
+            setReps[sets] = row.reps() == null ? 0 : row.reps();
+            setWeight[sets] = scaledWeight(row.weight());
+            sets++;
+            setOffset[sessions] = sets;
+        }
+
+        private int newExercise(UUID exerciseId) {
+            exercises = Arrays.copyOf(exercises, exercises.length + 1);
+            exercises[exercises.length - 1] = exerciseId;
+            return exercises.length - 1;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Least-recently-used cache of {@link TrainingLog}s, bounded by their total size
+ * ({@code app.analytics.training-log-max-size}). Logs are loaded lazily with a single
+ * query per user and kept current by appending finished sessions; any other change
+ * to a user's history drops the log so the next read reloads it. All updates are
+ * applied after the surrounding transaction commits. A log loaded while a finished
+ * session of that user is committing is returned but not cached: it may already
+ * contain the session the pending append is about to add.
+ */
+@Component
+public class TrainingLogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingLogCache.class);
+
+    private final WorkoutSessionRepository workoutSessionRepository;
+    private final long maxBytes;
+    private final LinkedHashMap<UUID, TrainingLog> logs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, Integer> committing = new HashMap<>();
+    private long totalBytes;
+    private long generation;
+
+    public TrainingLogCache(WorkoutSessionRepository workoutSessionRepository, AnalyticsProperties analyticsProperties) {
+        this.workoutSessionRepository = workoutSessionRepository;
+        this.maxBytes = analyticsProperties.trainingLogMaxSize().toBytes();
+    }
+
+    TrainingLog get(UUID userId) {
+        long loadGeneration;
+        synchronized (this) {
+            TrainingLog cached = logs.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        TrainingLog loaded = TrainingLog.of(workoutSessionRepository.findTrainingLogRows(userId, SessionStatus.FINISHED));
+        synchronized (this) {
+            // A write that landed while we were reading may be missing from the loaded rows.
+            if (generation == loadGeneration && !committing.containsKey(userId)) {
+                store(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void recordFinished(WorkoutSession session, List<WorkoutSet> sets) {
+        List<TrainingLogRow> rows = sets.isEmpty()
+                ? List.of(new TrainingLogRow(session.getId(), session.getStartedAt(), null, null, null))
+                : sets.stream()
+                        .map(set -> new TrainingLogRow(session.getId(), session.getStartedAt(),
+                                set.getExerciseId(), set.getReps(), set.getWeight()))
+                        .toList();
+        UUID userId = session.getUserId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(userId, rows);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                synchronized (TrainingLogCache.this) {
+                    committing.merge(userId, 1, Integer::sum);
+                    started = true;
+                }
+            }
+
+            @Override
+            public void afterCommit() {
+                append(userId, rows);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (TrainingLogCache.this) {
+                    if (started) {
+                        committing.computeIfPresent(userId, (key, count) -> count == 1 ? null : count - 1);
+                    }
+                }
+            }
+        });
+    }
+
+    public void evict(UUID userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                remove(userId);
+            }
+        });
+    }
+
+    private synchronized void append(UUID userId, List<TrainingLogRow> rows) {
+        generation++;
+        TrainingLog cached = logs.get(userId);
+        if (cached == null) {
+            return;
+        }
+        TrainingLog appended = cached.append(rows);
+        if (appended == null) {
+            remove(userId);
+        } else {
+            store(userId, appended);
+        }
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void store(UUID userId, TrainingLog trainingLog) {
+        remove(userId);
+        if (trainingLog.bytes() > maxBytes) {
+            log.debug("Training log of user {} ({} bytes) exceeds the cache size, not caching", userId, trainingLog.bytes());
+            return;
+        }
+        logs.put(userId, trainingLog);
+        totalBytes += trainingLog.bytes();
+
+        Iterator<Map.Entry<UUID, TrainingLog>> eldest = logs.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+        }
+    }
+
+    private void remove(UUID userId) {
+        TrainingLog removed = logs.remove(userId);
+        if (removed != null) {
+            totalBytes -= removed.bytes();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
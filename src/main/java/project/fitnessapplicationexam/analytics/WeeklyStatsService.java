@@ -0,0 +1,59 @@
+package project.fitnessapplicationexam.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Weekly summaries for the dashboard and stats pages. Remote summaries are read as they are; the
+ * analytics service recomputes them asynchronously after workout and exercise changes
+ * (see {@link AnalyticsSyncService#markWeeklyStatsDirty(UUID)}).
+ */
+@Service
+@RequiredArgsConstructor
+public class WeeklyStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(WeeklyStatsService.class);
+
+    private final AnalyticsProperties analyticsProperties;
+    private final LocalAnalyticsEngine localAnalyticsEngine;
+    private final AnalyticsClient analyticsClient;
+
+    public WeeklySummaryResponse weeklySummary(UUID userId, LocalDate from, LocalDate to) {
+        WeeklySummaryResponse summary = switch (analyticsProperties.mode()) {
+            case LOCAL -> fetchLocal(userId, from, to);
+            case REMOTE -> fetchRemote(userId, from, to);
+            case LOCAL_WITH_REMOTE_FALLBACK -> {
+                WeeklySummaryResponse local = fetchLocal(userId, from, to);
+                yield local != null ? local : fetchRemote(userId, from, to);
+            }
+        };
+        return summary != null ? summary : new WeeklySummaryResponse(from, to, Collections.emptyList());
+    }
+
+    private WeeklySummaryResponse fetchLocal(UUID userId, LocalDate from, LocalDate to) {
+        try {
+            return localAnalyticsEngine.weeklySummary(userId, from, to);
+        } catch (Exception e) {
+            log.error("Failed to compute weekly stats locally for user {}", userId, e);
+            return null;
+        }
+    }
+
+    private WeeklySummaryResponse fetchRemote(UUID userId, LocalDate from, LocalDate to) {
+        try {
+            ResponseEntity<WeeklySummaryResponse> response = analyticsClient.getWeeklyStats(userId, from, to);
+            return response != null ? response.getBody() : null;
+        } catch (Exception e) {
+            log.error("Error calling analytics microservice for user {}", userId, e);
+            return null;
+        }
+    }
+}
@@ -11,7 +11,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
-@FeignClient(name = "analytics-service", url = "http://localhost:1010/api/analytics")
+@FeignClient(name = "analytics-service", url = "http://localhost:1010/api/analytics",
+        primary = false, qualifiers = "remoteAnalyticsClient", configuration = AnalyticsFeignConfiguration.class)
 public interface AnalyticsClient {
 
     @GetMapping("/weekly")
@@ -0,0 +1,32 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.context.annotation.Bean;
+import project.fitnessapplicationexam.analytics.AnalyticsHttpProperties;
+
+/**
+ * Feign configuration for {@link AnalyticsClient} only (deliberately not a {@code @Configuration},
+ * so component scanning does not apply it to other clients).
+ */
+class AnalyticsFeignConfiguration {
+
+    static final String RESILIENCE_INSTANCE = "analytics";
+
+    @Bean
+    Client analyticsFeignClient(CloseableHttpClient httpClient5,
+                                AnalyticsHttpProperties properties,
+                                CircuitBreakerRegistry circuitBreakerRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                MeterRegistry meterRegistry) {
+        Client transport = new MethodTimeoutClient(new ApacheHttp5Client(httpClient5), properties.methodReadTimeouts());
+        return new ResilientFeignClient(transport,
+                circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE),
+                bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE),
+                meterRegistry);
+    }
+}
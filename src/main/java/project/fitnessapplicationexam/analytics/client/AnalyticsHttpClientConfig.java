@@ -0,0 +1,52 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import project.fitnessapplicationexam.analytics.AnalyticsHttpProperties;
+
+/**
+ * Pooled Apache HttpClient 5 transport for the analytics Feign client. Replaces the connection
+ * manager Spring Cloud OpenFeign would create, so pool limits come from {@code app.analytics.http}
+ * and pool usage ({@code httpcomponents.httpclient.pool.*}) and lease wait time
+ * ({@code analytics.http.pool.wait}) are published. Idle connections are kept alive for at most
+ * {@code keep-alive}, or less when the service asks for it.
+ */
+@Configuration
+public class AnalyticsHttpClientConfig {
+
+    @Bean
+    InstrumentedConnectionManager analyticsConnectionManager(AnalyticsHttpProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(properties.maxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.maxConnectionsPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setTimeToLive(TimeValue.of(properties.timeToLive()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "analytics").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    HttpClientBuilderCustomizer analyticsHttpClientCustomizer(AnalyticsHttpProperties properties) {
+        TimeValue keepAlive = TimeValue.of(properties.keepAlive());
+        return builder -> builder
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.poolWaitTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue offered = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(offered) && offered.compareTo(keepAlive) < 0 ? offered : keepAlive;
+                })
+                .evictIdleConnections(keepAlive);
+    }
+}
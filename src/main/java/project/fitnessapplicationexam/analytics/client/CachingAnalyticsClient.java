@@ -0,0 +1,202 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.analytics.AnalyticsReadCacheProperties;
+import project.fitnessapplicationexam.analytics.dto.*;
+import project.fitnessapplicationexam.analytics.dto.sync.ExerciseSyncRequest;
+import project.fitnessapplicationexam.analytics.dto.sync.WorkoutSyncRequest;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * The {@link AnalyticsClient} the app injects. Reads are cached per user, endpoint and date range
+ * with stale-while-revalidate semantics: a stale entry is returned at once and reloaded in the
+ * background, and a failed reload keeps the last good response, so an outage shows the previous
+ * numbers rather than empty sections. A successful weekly recompute (sent after the user's workout
+ * changes are delivered) or a milestone change drops that user's entries. Writes pass straight through.
+ * Reloads run on a small pool of their own ({@code app.analytics.read-cache.refresh-threads}) with a
+ * bounded queue; when it is full the stale entry is simply served until a later read retries.
+ */
+@Primary
+@Component
+public class CachingAnalyticsClient implements AnalyticsClient {
+
+    static final String CACHE_NAME = "analyticsReads";
+    private static final String THREAD_PREFIX = "analytics-refresh-";
+    private static final int QUEUE_PER_THREAD = 50;
+
+    private final AnalyticsClient delegate;
+    private final LoadingCache<ReadKey, ResponseEntity<?>> cache;
+    private final Executor refreshExecutor;
+
+    @Autowired
+    public CachingAnalyticsClient(@Qualifier("remoteAnalyticsClient") AnalyticsClient delegate,
+                                  AnalyticsReadCacheProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Ticker.systemTicker(),
+                createRefreshExecutor(properties.refreshThreads()));
+    }
+
+    CachingAnalyticsClient(AnalyticsClient delegate,
+                           AnalyticsReadCacheProperties properties,
+                           MeterRegistry meterRegistry,
+                           Ticker ticker,
+                           Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.refreshExecutor = refreshExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .refreshAfterWrite(properties.refreshAfter())
+                .expireAfterWrite(properties.expireAfter())
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public ResponseEntity<WeeklySummaryResponse> getWeeklyStats(UUID userId, LocalDate from, LocalDate to) {
+        return read(Endpoint.WEEKLY_STATS, userId, from, to);
+    }
+
+    @Override
+    public void recomputeWeeklyStats(UUID userId, RecomputeWeeklyRequest request) {
+        delegate.recomputeWeeklyStats(userId, request);
+        invalidate(userId);
+    }
+
+    @Override
+    public ResponseEntity<List<SessionSummaryResponse>> getSessionSummaries(UUID userId, LocalDate from, LocalDate to) {
+        return read(Endpoint.SESSION_SUMMARIES, userId, from, to);
+    }
+
+    @Override
+    public ResponseEntity<TrainingFrequencyResponse> getTrainingFrequency(UUID userId, LocalDate from, LocalDate to) {
+        return read(Endpoint.TRAINING_FREQUENCY, userId, from, to);
+    }
+
+    @Override
+    public ResponseEntity<List<ExerciseVolumeTrendDto>> getExerciseVolumeTrends(UUID userId, LocalDate from, LocalDate to) {
+        return read(Endpoint.VOLUME_TRENDS, userId, from, to);
+    }
+
+    @Override
+    public ResponseEntity<List<ProgressiveOverloadDto>> getProgressiveOverload(UUID userId, LocalDate from, LocalDate to) {
+        return read(Endpoint.PROGRESSIVE_OVERLOAD, userId, from, to);
+    }
+
+    @Override
+    public ResponseEntity<PersonalRecordsDto> getPersonalRecords(UUID userId) {
+        return read(Endpoint.PERSONAL_RECORDS, userId, null, null);
+    }
+
+    @Override
+    public void createMilestone(UUID userId, CreateMilestoneRequest request) {
+        delegate.createMilestone(userId, request);
+        invalidate(userId);
+    }
+
+    @Override
+    public ResponseEntity<List<MilestoneDto>> getMilestones(UUID userId) {
+        return read(Endpoint.MILESTONES, userId, null, null);
+    }
+
+    @Override
+    public ResponseEntity<MilestoneDto> updateMilestone(UUID userId, UUID id, UpdateMilestoneRequest request) {
+        ResponseEntity<MilestoneDto> response = delegate.updateMilestone(userId, id, request);
+        invalidate(userId);
+        return response;
+    }
+
+    @Override
+    public void deleteMilestone(UUID userId, UUID id) {
+        delegate.deleteMilestone(userId, id);
+        invalidate(userId);
+    }
+
+    @Override
+    public void syncExercises(List<ExerciseSyncRequest> requests) {
+        delegate.syncExercises(requests);
+    }
+
+    @Override
+    public void deleteExercise(UUID exerciseId) {
+        delegate.deleteExercise(exerciseId);
+    }
+
+    @Override
+    public void syncWorkout(WorkoutSyncRequest request) {
+        delegate.syncWorkout(request);
+    }
+
+    @Override
+    public void deleteWorkout(UUID workoutId) {
+        delegate.deleteWorkout(workoutId);
+    }
+
+    void invalidate(UUID userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> read(Endpoint endpoint, UUID userId, LocalDate from, LocalDate to) {
+        return (ResponseEntity<T>) cache.get(new ReadKey(endpoint, userId, from, to));
+    }
+
+    private ResponseEntity<?> load(ReadKey key) {
+        return switch (key.endpoint()) {
+            case WEEKLY_STATS -> delegate.getWeeklyStats(key.userId(), key.from(), key.to());
+            case SESSION_SUMMARIES -> delegate.getSessionSummaries(key.userId(), key.from(), key.to());
+            case TRAINING_FREQUENCY -> delegate.getTrainingFrequency(key.userId(), key.from(), key.to());
+            case VOLUME_TRENDS -> delegate.getExerciseVolumeTrends(key.userId(), key.from(), key.to());
+            case PROGRESSIVE_OVERLOAD -> delegate.getProgressiveOverload(key.userId(), key.from(), key.to());
+            case PERSONAL_RECORDS -> delegate.getPersonalRecords(key.userId());
+            case MILESTONES -> delegate.getMilestones(key.userId());
+        };
+    }
+
+    private static ThreadPoolTaskExecutor createRefreshExecutor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(THREAD_PREFIX);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * QUEUE_PER_THREAD);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private enum Endpoint {
+        WEEKLY_STATS,
+        SESSION_SUMMARIES,
+        TRAINING_FREQUENCY,
+        VOLUME_TRENDS,
+        PROGRESSIVE_OVERLOAD,
+        PERSONAL_RECORDS,
+        MILESTONES
+    }
+
+    private record ReadKey(Endpoint endpoint, UUID userId, LocalDate from, LocalDate to) {}
+}
@@ -0,0 +1,61 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.Timeout;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pooling connection manager that times how long each call waits to lease a connection, tagged
+ * {@code acquired} or {@code timeout}. A growing wait means the per-route limit is too small for the
+ * load, before any call actually fails.
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    static final String WAIT_METRIC = "analytics.http.pool.wait";
+
+    private final Timer acquired;
+    private final Timer timedOut;
+
+    InstrumentedConnectionManager(MeterRegistry meterRegistry) {
+        this.acquired = waitTimer(meterRegistry, "acquired");
+        this.timedOut = waitTimer(meterRegistry, "timeout");
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                Timer outcome = timedOut;
+                try {
+                    ConnectionEndpoint endpoint = lease.get(timeout);
+                    outcome = acquired;
+                    return endpoint;
+                } finally {
+                    outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return lease.cancel();
+            }
+        };
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(WAIT_METRIC)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
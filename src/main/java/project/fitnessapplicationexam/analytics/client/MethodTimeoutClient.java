@@ -0,0 +1,42 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a per-method read timeout on top of the client-wide Feign options, so a slow bulk sync can
+ * be given more time without letting page reads hang for as long.
+ */
+class MethodTimeoutClient implements Client {
+
+    private final Client delegate;
+    private final Map<String, Duration> readTimeouts;
+
+    MethodTimeoutClient(Client delegate, Map<String, Duration> readTimeouts) {
+        this.delegate = delegate;
+        this.readTimeouts = Map.copyOf(readTimeouts);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        return delegate.execute(request, optionsFor(request, options));
+    }
+
+    private Request.Options optionsFor(Request request, Request.Options options) {
+        MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        Duration readTimeout = metadata != null && metadata.method() != null
+                ? readTimeouts.get(metadata.method().getName())
+                : null;
+        if (readTimeout == null) {
+            return options;
+        }
+        return new Request.Options(options.connectTimeout(), options.connectTimeoutUnit(),
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, options.isFollowRedirects());
+    }
+}
@@ -0,0 +1,92 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every analytics service call inside a bulkhead and a circuit breaker. The bulkhead caps calls
+ * in flight, and a caller waits only briefly for a slot, so a slow service holds at most that many
+ * request threads. The breaker opens after repeated failures or slow calls (5xx responses count as
+ * failures) and probes again after its wait. The response body is read before the slot is released and
+ * the call is timed, so a service that stalls mid-body is held to the same limits. Rejected calls throw
+ * at once, and callers fall back as they do for any other analytics error. They are counted in
+ * {@code analytics.calls.rejected}.
+ */
+class ResilientFeignClient implements Client {
+
+    static final String REJECTED_METRIC = "analytics.calls.rejected";
+
+    private final Client delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter circuitOpen;
+    private final Counter bulkheadFull;
+
+    ResilientFeignClient(Client delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.circuitOpen = rejectedCounter(meterRegistry, "circuit_open");
+        this.bulkheadFull = rejectedCounter(meterRegistry, "bulkhead_full");
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            circuitOpen.increment();
+            throw e;
+        }
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            circuitBreaker.releasePermission();
+            bulkheadFull.increment();
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Response response = buffered(delegate.execute(request, options));
+            long elapsed = System.nanoTime() - start;
+            if (response.status() >= 500) {
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS,
+                        new IOException("Analytics service answered " + response.status()));
+            } else {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private static Response buffered(Response response) throws IOException {
+        if (response.body() == null) {
+            return response;
+        }
+        try (response) {
+            return response.toBuilder().body(Util.toByteArray(response.body().asInputStream())).build();
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_METRIC)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package project.fitnessapplicationexam.analytics.dto;
+
+import java.util.List;
+
+/**
+ * All sections of the advanced statistics page. A section that failed or missed the deadline holds
+ * its empty value and {@code complete} is false.
+ */
+public record AdvancedStatsReport(
+        TrainingFrequencyResponse trainingFrequency,
+        List<ExerciseVolumeTrendDto> volumeTrends,
+        List<ProgressiveOverloadDto> progressiveOverload,
+        PersonalRecordsDto personalRecords,
+        List<MilestoneDto> milestones,
+        boolean complete
+) {}
@@ -0,0 +1,65 @@
+package project.fitnessapplicationexam.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A change that still has to reach the analytics service. There is at most one row per exercise or
+ * workout: a later change overwrites the pending operation and bumps {@code version}, and the payload
+ * is built from the current database state when the row is delivered. A {@code WEEKLY_STATS} row marks
+ * a user whose weekly statistics changed since the analytics service last recomputed them; its
+ * {@code created_at} is the dirty-since watermark. The enum columns are plain varchar so new values need
+ * no schema change.
+ */
+@Entity
+@Table(name = "analytics_outbox",
+        indexes = @Index(name = "ix_outbox_next_attempt", columnList = "next_attempt_at"))
+@IdClass(AnalyticsOutboxEntry.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"aggregateType", "aggregateId"})
+public class AnalyticsOutboxEntry {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private OutboxAggregate aggregateType;
+
+    @Id
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private OutboxOperation operation;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private OutboxAggregate aggregateType;
+        private UUID aggregateId;
+    }
+}
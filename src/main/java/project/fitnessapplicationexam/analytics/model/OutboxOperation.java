@@ -0,0 +1,7 @@
+package project.fitnessapplicationexam.analytics.model;
+
+public enum OutboxOperation {
+    UPSERT,
+    DELETE,
+    RECOMPUTE
+}
@@ -0,0 +1,73 @@
+package project.fitnessapplicationexam.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "personal_records",
+        indexes = @Index(name = "ix_pr_exercise", columnList = "exercise_id"))
+@IdClass(PersonalRecord.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"userId", "exerciseId"})
+public class PersonalRecord {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "exercise_id", nullable = false)
+    private UUID exerciseId;
+
+    @Column(name = "max_weight", nullable = false)
+    private BigDecimal maxWeight;
+
+    @Column(name = "max_weight_reps", nullable = false)
+    private int maxWeightReps;
+
+    @Column(name = "max_weight_session_id", nullable = false)
+    private UUID maxWeightSessionId;
+
+    @Column(name = "max_weight_date", nullable = false)
+    private LocalDate maxWeightDate;
+
+    @Column(name = "best_one_rep_max", nullable = false)
+    private BigDecimal bestOneRepMax;
+
+    @Column(name = "one_rep_max_weight", nullable = false)
+    private BigDecimal oneRepMaxWeight;
+
+    @Column(name = "one_rep_max_reps", nullable = false)
+    private int oneRepMaxReps;
+
+    @Column(name = "one_rep_max_session_id", nullable = false)
+    private UUID oneRepMaxSessionId;
+
+    @Column(name = "one_rep_max_date", nullable = false)
+    private LocalDate oneRepMaxDate;
+
+    @Column(name = "best_session_volume", nullable = false)
+    private BigDecimal bestSessionVolume;
+
+    @Column(name = "session_volume_session_id", nullable = false)
+    private UUID sessionVolumeSessionId;
+
+    @Column(name = "session_volume_date", nullable = false)
+    private LocalDate sessionVolumeDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private UUID exerciseId;
+    }
+}
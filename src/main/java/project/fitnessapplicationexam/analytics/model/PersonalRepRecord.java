@@ -0,0 +1,54 @@
+package project.fitnessapplicationexam.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "personal_rep_records",
+        indexes = {
+                @Index(name = "ix_prr_exercise", columnList = "exercise_id"),
+                @Index(name = "ix_prr_session", columnList = "user_id, session_id")
+        })
+@IdClass(PersonalRepRecord.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"userId", "exerciseId", "weight"})
+public class PersonalRepRecord {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "exercise_id", nullable = false)
+    private UUID exerciseId;
+
+    @Id
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal weight;
+
+    @Column(nullable = false)
+    private int reps;
+
+    @Column(name = "session_id", nullable = false)
+    private UUID sessionId;
+
+    @Column(name = "achieved_date", nullable = false)
+    private LocalDate achievedDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private UUID exerciseId;
+        private BigDecimal weight;
+    }
+}
@@ -0,0 +1,48 @@
+package project.fitnessapplicationexam.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_daily_rollup")
+@IdClass(UserDailyRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = {"userId", "activityDate"})
+public class UserDailyRollup {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+
+    @Column(nullable = false)
+    private int sessions;
+
+    @Column(nullable = false)
+    private int sets;
+
+    @Column(nullable = false)
+    private int reps;
+
+    @Column(nullable = false)
+    private BigDecimal volume;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate activityDate;
+    }
+}
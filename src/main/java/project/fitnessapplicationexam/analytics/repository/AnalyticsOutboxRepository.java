@@ -0,0 +1,65 @@
+package project.fitnessapplicationexam.analytics.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.analytics.model.AnalyticsOutboxEntry;
+import project.fitnessapplicationexam.analytics.model.OutboxAggregate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AnalyticsOutboxRepository extends JpaRepository<AnalyticsOutboxEntry, AnalyticsOutboxEntry.Key> {
+
+    /**
+     * Records a pending change, replacing whatever was pending for the same aggregate. A replaced row
+     * keeps its {@code created_at}, gets a new version and becomes due immediately.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO analytics_outbox (aggregate_type, aggregate_id, operation, version, attempts, next_attempt_at, created_at)
+            VALUES (:aggregateType, :aggregateId, :operation, 1, 0, :now, :now)
+            ON DUPLICATE KEY UPDATE
+                operation = VALUES(operation),
+                version = version + 1,
+                attempts = 0,
+                next_attempt_at = VALUES(next_attempt_at)
+            """)
+    void enqueue(@Param("aggregateType") String aggregateType,
+                 @Param("aggregateId") UUID aggregateId,
+                 @Param("operation") String operation,
+                 @Param("now") LocalDateTime now);
+
+    List<AnalyticsOutboxEntry> findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(LocalDateTime now, Limit limit);
+
+    @Query("select min(e.createdAt) from AnalyticsOutboxEntry e")
+    LocalDateTime findOldestCreatedAt();
+
+    /** Removes a delivered or abandoned row unless a newer change replaced it in the meantime. */
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from AnalyticsOutboxEntry e
+            where e.aggregateType = :aggregateType and e.aggregateId = :aggregateId and e.version = :version
+            """)
+    int deleteIfUnchanged(@Param("aggregateType") OutboxAggregate aggregateType,
+                        @Param("aggregateId") UUID aggregateId,
+                        @Param("version") long version);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update AnalyticsOutboxEntry e
+            set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt
+            where e.aggregateType = :aggregateType and e.aggregateId = :aggregateId and e.version = :version
+            """)
+    int reschedule(@Param("aggregateType") OutboxAggregate aggregateType,
+                   @Param("aggregateId") UUID aggregateId,
+                   @Param("version") long version,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -0,0 +1,36 @@
+package project.fitnessapplicationexam.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.analytics.model.PersonalRecord;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PersonalRecordRepository extends JpaRepository<PersonalRecord, PersonalRecord.Key> {
+
+    List<PersonalRecord> findAllByUserId(UUID userId);
+
+    List<PersonalRecord> findAllByUserIdAndExerciseIdIn(UUID userId, Collection<UUID> exerciseIds);
+
+    @Query("""
+            select r from PersonalRecord r
+            where r.userId = :userId
+              and (r.maxWeightSessionId = :sessionId
+                   or r.oneRepMaxSessionId = :sessionId
+                   or r.sessionVolumeSessionId = :sessionId)
+            """)
+    List<PersonalRecord> findAllHeldBySession(@Param("userId") UUID userId, @Param("sessionId") UUID sessionId);
+
+    @Modifying
+    @Query("delete from PersonalRecord r where r.exerciseId = :exerciseId")
+    int deleteByExerciseId(@Param("exerciseId") UUID exerciseId);
+
+    @Modifying
+    @Query("delete from PersonalRecord r where r.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
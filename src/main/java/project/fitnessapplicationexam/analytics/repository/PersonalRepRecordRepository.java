@@ -0,0 +1,29 @@
+package project.fitnessapplicationexam.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.analytics.model.PersonalRepRecord;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PersonalRepRecordRepository extends JpaRepository<PersonalRepRecord, PersonalRepRecord.Key> {
+
+    List<PersonalRepRecord> findAllByUserId(UUID userId);
+
+    List<PersonalRepRecord> findAllByUserIdAndExerciseIdIn(UUID userId, Collection<UUID> exerciseIds);
+
+    List<PersonalRepRecord> findAllByUserIdAndSessionId(UUID userId, UUID sessionId);
+
+    @Modifying
+    @Query("delete from PersonalRepRecord r where r.exerciseId = :exerciseId")
+    int deleteByExerciseId(@Param("exerciseId") UUID exerciseId);
+
+    @Modifying
+    @Query("delete from PersonalRepRecord r where r.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,74 @@
+package project.fitnessapplicationexam.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.analytics.model.UserDailyRollup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserDailyRollupRepository extends JpaRepository<UserDailyRollup, UserDailyRollup.Key> {
+
+    List<UserDailyRollup> findAllByUserIdAndActivityDateBetweenOrderByActivityDateAsc(UUID userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO user_daily_rollup (user_id, activity_date, sessions, sets, reps, volume)
+            VALUES (:userId, :activityDate, :sessions, :sets, :reps, :volume)
+            ON DUPLICATE KEY UPDATE
+                sessions = sessions + VALUES(sessions),
+                sets = sets + VALUES(sets),
+                reps = reps + VALUES(reps),
+                volume = volume + VALUES(volume)
+            """)
+    void addDelta(@Param("userId") UUID userId,
+                  @Param("activityDate") LocalDate activityDate,
+                  @Param("sessions") int sessions,
+                  @Param("sets") int sets,
+                  @Param("reps") int reps,
+                  @Param("volume") BigDecimal volume);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE user_daily_rollup r
+            JOIN (
+                SELECT s.user_id, CAST(s.started_at AS DATE) AS activity_date,
+                       COUNT(ws.id) AS sets, COALESCE(SUM(ws.reps), 0) AS reps,
+                       COALESCE(SUM(ws.weight * ws.reps), 0) AS volume
+                FROM workout_sets ws
+                JOIN workout_sessions s ON s.id = ws.session_id
+                WHERE ws.exercise_id = :exerciseId AND s.status = 'FINISHED'
+                GROUP BY s.user_id, CAST(s.started_at AS DATE)
+            ) removed ON removed.user_id = r.user_id AND removed.activity_date = r.activity_date
+            SET r.sets = r.sets - removed.sets,
+                r.reps = r.reps - removed.reps,
+                r.volume = r.volume - removed.volume
+            """)
+    int subtractExerciseSets(@Param("exerciseId") UUID exerciseId);
+
+    @Modifying
+    @Query("delete from UserDailyRollup r where r.userId = :userId and r.activityDate >= :from and r.activityDate <= :to")
+    int deleteRange(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO user_daily_rollup (user_id, activity_date, sessions, sets, reps, volume)
+            SELECT s.user_id, CAST(s.started_at AS DATE),
+                   COUNT(DISTINCT s.id), COUNT(ws.id),
+                   COALESCE(SUM(ws.reps), 0), COALESCE(SUM(ws.weight * ws.reps), 0)
+            FROM workout_sessions s
+            LEFT JOIN workout_sets ws ON ws.session_id = s.id
+            WHERE s.user_id = :userId AND s.status = 'FINISHED'
+              AND s.started_at >= :fromTime AND s.started_at < :toTime
+            GROUP BY s.user_id, CAST(s.started_at AS DATE)
+            """)
+    int insertAggregated(@Param("userId") UUID userId,
+                         @Param("fromTime") LocalDateTime fromTime,
+                         @Param("toTime") LocalDateTime toTime);
+}
@@ -0,0 +1,57 @@
+package project.fitnessapplicationexam.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Backs {@code @Cacheable} with bounded Caffeine caches. Every cache named in
+ * {@code app.cache.specs} is created up front with its own limits, so the actuator cache
+ * metrics ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}) are bound to it.
+ * Caches used without a spec get {@code app.cache.defaults}.
+ */
+@Configuration
+public class CacheConfig {
+
+    static final long FALLBACK_MAXIMUM_SIZE = 1_000;
+
+    @Bean
+    CacheManager cacheManager(CacheProperties cacheProperties) {
+        CacheProperties.Spec defaults = cacheProperties.defaults();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(defaults));
+        cacheProperties.specs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, builder(spec.orElse(defaults)).build()));
+        return cacheManager;
+    }
+
+    static Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.maximumWeight() != null) {
+            builder.maximumWeight(spec.maximumWeight()).weigher(CacheConfig::weigh);
+        } else {
+            builder.maximumSize(spec.maximumSize() != null ? spec.maximumSize() : FALLBACK_MAXIMUM_SIZE);
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        if (spec.expireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.expireAfterAccess());
+        }
+        return builder;
+    }
+
+    private static int weigh(Object key, Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,35 @@
+package project.fitnessapplicationexam.common.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Caffeine settings per cache name under {@code app.cache.specs[<name>]}. Unset fields fall
+ * back to {@code app.cache.defaults}. {@code maximumWeight} bounds the total number of
+ * elements held by collection-valued entries and takes precedence over {@code maximumSize}.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record CacheProperties(
+        @DefaultValue Spec defaults,
+        @DefaultValue Map<String, Spec> specs
+) {
+
+    public record Spec(
+            Long maximumSize,
+            Long maximumWeight,
+            Duration expireAfterWrite,
+            Duration expireAfterAccess
+    ) {
+
+        Spec orElse(Spec fallback) {
+            boolean weighted = maximumWeight != null || (maximumSize == null && fallback.maximumWeight() != null);
+            return new Spec(
+                    weighted ? null : (maximumSize != null ? maximumSize : fallback.maximumSize()),
+                    weighted ? (maximumWeight != null ? maximumWeight : fallback.maximumWeight()) : null,
+                    expireAfterWrite != null ? expireAfterWrite : fallback.expireAfterWrite(),
+                    expireAfterAccess != null ? expireAfterAccess : fallback.expireAfterAccess());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package project.fitnessapplicationexam.common.ids;
+
+import org.hibernate.annotations.IdGeneratorType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated id as a time-ordered UUIDv7, so new rows are appended
+ * to the end of the clustered index instead of landing on a random page.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedUuid {
+}
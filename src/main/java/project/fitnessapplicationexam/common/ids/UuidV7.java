@@ -0,0 +1,52 @@
+package project.fitnessapplicationexam.common.ids;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * RFC 9562 UUIDv7: 48-bit Unix millisecond timestamp, 12-bit counter, 62 random bits.
+ * <p>
+ * Timestamp and counter are advanced together with a single CAS, so ids handed out by
+ * one instance are strictly increasing across threads, even within the same millisecond
+ * or when the wall clock steps backwards. When the counter is exhausted the timestamp
+ * borrows from the next millisecond.
+ */
+public final class UuidV7 {
+
+    private static final UuidV7 SHARED = new UuidV7(System::currentTimeMillis);
+    private static final int COUNTER_BITS = 12;
+
+    private final LongSupplier clock;
+    private final AtomicLong lastTick = new AtomicLong();
+    private final SecureRandom random = new SecureRandom();
+
+    UuidV7(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public static UUID next() {
+        return SHARED.generate();
+    }
+
+    UUID generate() {
+        long tick = nextTick();
+        long millis = tick >>> COUNTER_BITS;
+        long counter = tick & ((1L << COUNTER_BITS) - 1);
+
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private long nextTick() {
+        while (true) {
+            long previous = lastTick.get();
+            long candidate = Math.max(clock.getAsLong() << COUNTER_BITS, previous + 1);
+            if (lastTick.compareAndSet(previous, candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package project.fitnessapplicationexam.common.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Converts every {@code char(36)} UUID column in the current schema to {@code BINARY(16)}.
+ * <p>
+ * Backfill runs while the application is still on CHAR storage: each table gets a
+ * {@code <column>__bin} shadow column kept in sync by triggers, and existing rows are
+ * copied in primary-key order in small autocommit chunks, paging on the full (possibly
+ * composite) key. The key of the last chunk is stored in {@code uuid_migration_progress},
+ * so an interrupted run continues where it stopped.
+ * <p>
+ * Cutover runs on the first start with {@code app.uuid-storage=BINARY}, before the
+ * JPA layer is initialised. It saves and drops the foreign keys on UUID columns, then
+ * converts each table in two in-place {@code ALTER TABLE} statements: the first renames
+ * the CHAR column to {@code <column>__chr} and the shadow column into its place, the
+ * second drops the CHAR column and rebuilds the affected indexes. Finally the saved
+ * foreign keys are added back. Each step is recorded in {@code cutover_state}, and a
+ * {@code __chr} column left by a crash between the two statements is picked up by the
+ * next run, so an interrupted cutover is finished by restarting.
+ */
+public class UuidStorageMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidStorageMigration.class);
+    private static final String PROGRESS_TABLE = "uuid_migration_progress";
+    private static final String FOREIGN_KEYS_TABLE = "uuid_migration_foreign_keys";
+    private static final String SHADOW_SUFFIX = "__bin";
+    private static final String CHAR_SUFFIX = "__chr";
+
+    private final JdbcTemplate jdbc;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    public UuidStorageMigration(JdbcTemplate jdbc, int chunkSize, long pauseMillis) {
+        this.jdbc = jdbc;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    public void backfill() {
+        Map<String, List<UuidColumn>> tables = findUuidColumns();
+        if (tables.isEmpty()) {
+            log.info("No char(36) UUID columns left, nothing to backfill");
+            return;
+        }
+        logStorageSizes("before");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + PROGRESS_TABLE + " ("
+                + "table_name varchar(64) NOT NULL PRIMARY KEY, "
+                + "last_key json NULL, "
+                + "completed boolean NOT NULL DEFAULT false, "
+                + "cutover_state varchar(16) NULL)");
+
+        for (Map.Entry<String, List<UuidColumn>> entry : tables.entrySet()) {
+            String table = entry.getKey();
+            List<UuidColumn> columns = entry.getValue();
+            addShadowColumns(table, columns);
+            createSyncTriggers(table, columns);
+            copyExistingRows(table, columns);
+        }
+        log.info("UUID backfill complete for {} tables; restart with app.uuid-storage=BINARY to cut over",
+                tables.size());
+    }
+
+    public void cutover() {
+        Map<String, List<UuidColumn>> pending = findUuidColumns();
+        Set<String> renamed = findRenamedColumns().keySet();
+        if (pending.isEmpty() && renamed.isEmpty() && !tableExists(FOREIGN_KEYS_TABLE)) {
+            log.info("No char(36) UUID columns left, nothing to cut over");
+            return;
+        }
+        for (String table : pending.keySet()) {
+            if (!isCompleted(table)) {
+                throw new IllegalStateException("UUID backfill has not completed for table " + table);
+            }
+        }
+
+        Set<String> tables = new LinkedHashSet<>(pending.keySet());
+        tables.addAll(renamed);
+        dropUuidForeignKeys(tables);
+        for (String table : tables) {
+            if (pending.containsKey(table)) {
+                renameColumns(table, pending.get(table));
+            }
+            rebuildColumns(table);
+        }
+        restoreForeignKeys();
+        jdbc.execute("DROP TABLE IF EXISTS " + FOREIGN_KEYS_TABLE);
+        jdbc.execute("DROP TABLE IF EXISTS " + PROGRESS_TABLE);
+        logStorageSizes("after");
+    }
+
+    /** UUID columns still stored as char(36), by table. */
+    Map<String, List<UuidColumn>> findUuidColumns() {
+        Map<String, List<UuidColumn>> tables = new LinkedHashMap<>();
+        forEachCharColumn((table, column) -> {
+            if (!column.name().endsWith(CHAR_SUFFIX) && !column.name().endsWith(SHADOW_SUFFIX)) {
+                tables.computeIfAbsent(table, t -> new ArrayList<>()).add(column);
+            }
+        });
+        return tables;
+    }
+
+    /** Columns renamed by a cutover that has not dropped them yet, by table, under their original names. */
+    Map<String, List<UuidColumn>> findRenamedColumns() {
+        Map<String, List<UuidColumn>> tables = new LinkedHashMap<>();
+        forEachCharColumn((table, column) -> {
+            if (column.name().endsWith(CHAR_SUFFIX)) {
+                String name = column.name().substring(0, column.name().length() - CHAR_SUFFIX.length());
+                tables.computeIfAbsent(table, t -> new ArrayList<>()).add(new UuidColumn(name, column.nullable()));
+            }
+        });
+        return tables;
+    }
+
+    private void forEachCharColumn(BiConsumer<String, UuidColumn> action) {
+        jdbc.query("SELECT TABLE_NAME, COLUMN_NAME, IS_NULLABLE FROM information_schema.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND DATA_TYPE = 'char' "
+                        + "AND CHARACTER_MAXIMUM_LENGTH = 36 AND TABLE_NAME <> ? "
+                        + "ORDER BY TABLE_NAME, ORDINAL_POSITION",
+                rs -> {
+                    action.accept(rs.getString(1), new UuidColumn(rs.getString(2), "YES".equals(rs.getString(3))));
+                },
+                PROGRESS_TABLE);
+    }
+
+    private void addShadowColumns(String table, List<UuidColumn> columns) {
+        List<String> existing = jdbc.queryForList("SELECT COLUMN_NAME FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", String.class, table);
+        String additions = columns.stream()
+                .map(UuidColumn::shadow)
+                .filter(shadow -> !existing.contains(shadow))
+                .map(shadow -> "ADD COLUMN `" + shadow + "` BINARY(16) NULL")
+                .collect(Collectors.joining(", "));
+        if (!additions.isEmpty()) {
+            jdbc.execute("ALTER TABLE `" + table + "` " + additions + ", ALGORITHM=INSTANT");
+        }
+    }
+
+    private void createSyncTriggers(String table, List<UuidColumn> columns) {
+        String assignments = columns.stream()
+                .map(c -> "NEW.`" + c.shadow() + "` = UUID_TO_BIN(NEW.`" + c.name() + "`)")
+                .collect(Collectors.joining(", "));
+        for (String event : List.of("INSERT", "UPDATE")) {
+            String trigger = triggerName(table, event);
+            jdbc.execute("DROP TRIGGER IF EXISTS `" + trigger + "`");
+            jdbc.execute("CREATE TRIGGER `" + trigger + "` BEFORE " + event + " ON `" + table
+                    + "` FOR EACH ROW SET " + assignments);
+        }
+    }
+
+    private void copyExistingRows(String table, List<UuidColumn> columns) {
+        if (isCompleted(table)) {
+            return;
+        }
+        List<String> key = primaryKeyColumns(table);
+        jdbc.update("INSERT IGNORE INTO " + PROGRESS_TABLE + " (table_name) VALUES (?)", table);
+        List<String> lastKey = readLastKey(table, key.size());
+
+        String assignments = columns.stream()
+                .map(c -> "`" + c.shadow() + "` = UUID_TO_BIN(`" + c.name() + "`)")
+                .collect(Collectors.joining(", "));
+        String select = key.stream().map(c -> "CAST(`" + c + "` AS CHAR)").collect(Collectors.joining(", "));
+        String orderBy = key.stream().map(c -> "`" + c + "`").collect(Collectors.joining(", "));
+        String after = compareKey(key, ">", ">");
+        String upTo = compareKey(key, "<", "<=");
+        String saveKey = "UPDATE " + PROGRESS_TABLE + " SET last_key = JSON_ARRAY("
+                + String.join(", ", Collections.nCopies(key.size(), "?")) + ") WHERE table_name = ?";
+        ResultSetExtractor<List<String>> chunkEnd = rs -> lastRow(rs, key.size());
+        long copied = 0;
+        while (true) {
+            List<Object> lower = lastKey == null ? List.of() : keyParameters(lastKey);
+            List<String> upperKey = jdbc.query("SELECT " + select + " FROM `" + table + "`"
+                    + (lastKey == null ? "" : " WHERE " + after) + " ORDER BY " + orderBy + " LIMIT " + chunkSize,
+                    chunkEnd, lower.toArray());
+            if (upperKey == null) {
+                break;
+            }
+            List<Object> parameters = new ArrayList<>(lower);
+            parameters.addAll(keyParameters(upperKey));
+            copied += jdbc.update("UPDATE `" + table + "` SET " + assignments + " WHERE "
+                    + (lastKey == null ? "" : after + " AND ") + upTo, parameters.toArray());
+            List<Object> progress = new ArrayList<>(upperKey);
+            progress.add(table);
+            jdbc.update(saveKey, progress.toArray());
+            lastKey = upperKey;
+            pause();
+        }
+        jdbc.update("UPDATE " + PROGRESS_TABLE + " SET completed = true WHERE table_name = ?", table);
+        log.info("Backfilled {} rows of {}", copied, table);
+    }
+
+    private List<String> primaryKeyColumns(String table) {
+        return jdbc.queryForList("SELECT COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_NAME = 'PRIMARY' "
+                + "ORDER BY ORDINAL_POSITION", String.class, table);
+    }
+
+    /** The key of the last copied chunk, stored as a JSON array, or null if no chunk has been copied yet. */
+    private List<String> readLastKey(String table, int size) {
+        String parts = IntStream.range(0, size)
+                .mapToObj(i -> "JSON_UNQUOTE(JSON_EXTRACT(last_key, '$[" + i + "]'))")
+                .collect(Collectors.joining(", "));
+        return jdbc.query("SELECT last_key IS NOT NULL, " + parts + " FROM " + PROGRESS_TABLE + " WHERE table_name = ?",
+                rs -> rs.next() && rs.getBoolean(1) ? row(rs, 2, size) : null, table);
+    }
+
+    private static List<String> lastRow(ResultSet rs, int size) throws SQLException {
+        List<String> last = null;
+        while (rs.next()) {
+            last = row(rs, 1, size);
+        }
+        return last;
+    }
+
+    private static List<String> row(ResultSet rs, int first, int size) throws SQLException {
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(rs.getString(first + i));
+        }
+        return values;
+    }
+
+    /**
+     * Compares the primary key with a key of the same width in key order, e.g. {@code (a, b) > (?, ?)}.
+     * The row comparison is written out as {@code a > ? OR (a = ? AND b > ?)} because MySQL only
+     * range-scans the expanded form; the row-constructor form would scan and lock the whole table on
+     * every chunk. {@code op} applies to the leading columns and {@code lastOp} to the last one.
+     */
+    private static String compareKey(List<String> key, String op, String lastOp) {
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < key.size(); i++) {
+            StringBuilder term = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                term.append('`').append(key.get(j)).append("` = ? AND ");
+            }
+            term.append('`').append(key.get(i)).append("` ").append(i == key.size() - 1 ? lastOp : op).append(" ?)");
+            terms.add(term.toString());
+        }
+        return "(" + String.join(" OR ", terms) + ")";
+    }
+
+    /** Bind values for {@link #compareKey}: the first value, then the first two, and so on. */
+    private static List<Object> keyParameters(List<String> values) {
+        List<Object> parameters = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            parameters.addAll(values.subList(0, i + 1));
+        }
+        return parameters;
+    }
+
+    private boolean isCompleted(String table) {
+        if (!tableExists(PROGRESS_TABLE)) {
+            return false;
+        }
+        Boolean completed = jdbc.query("SELECT completed FROM " + PROGRESS_TABLE + " WHERE table_name = ?",
+                rs -> rs.next() ? rs.getBoolean(1) : null, table);
+        return Boolean.TRUE.equals(completed);
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.TABLES "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private void markCutover(String table, String state) {
+        jdbc.update("UPDATE " + PROGRESS_TABLE + " SET cutover_state = ? WHERE table_name = ?", state, table);
+    }
+
+    /**
+     * Saves the definition of every foreign key touching a converted table before dropping it, so
+     * {@link #restoreForeignKeys()} can add it back even if this run dies before getting there.
+     */
+    private void dropUuidForeignKeys(Set<String> tables) {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + FOREIGN_KEYS_TABLE + " ("
+                + "table_name varchar(64) NOT NULL, "
+                + "constraint_name varchar(64) NOT NULL, "
+                + "definition varchar(1024) NOT NULL, "
+                + "PRIMARY KEY (table_name, constraint_name))");
+
+        Map<String, ForeignKey> foreignKeys = new LinkedHashMap<>();
+        jdbc.query("SELECT k.TABLE_NAME, k.CONSTRAINT_NAME, k.COLUMN_NAME, k.REFERENCED_TABLE_NAME, "
+                        + "k.REFERENCED_COLUMN_NAME, r.DELETE_RULE, r.UPDATE_RULE "
+                        + "FROM information_schema.KEY_COLUMN_USAGE k "
+                        + "JOIN information_schema.REFERENTIAL_CONSTRAINTS r ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA "
+                        + "AND r.TABLE_NAME = k.TABLE_NAME AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME "
+                        + "WHERE k.TABLE_SCHEMA = DATABASE() AND k.REFERENCED_TABLE_NAME IS NOT NULL "
+                        + "ORDER BY k.TABLE_NAME, k.CONSTRAINT_NAME, k.ORDINAL_POSITION",
+                rs -> {
+                    String table = rs.getString(1);
+                    String name = rs.getString(2);
+                    String referencedTable = rs.getString(4);
+                    String deleteRule = rs.getString(6);
+                    String updateRule = rs.getString(7);
+                    ForeignKey foreignKey = foreignKeys.computeIfAbsent(table + "." + name,
+                            k -> new ForeignKey(table, name, referencedTable, deleteRule, updateRule));
+                    foreignKey.columns().add(rs.getString(3));
+                    foreignKey.referencedColumns().add(rs.getString(5));
+                });
+
+        for (ForeignKey foreignKey : foreignKeys.values()) {
+            if (!tables.contains(foreignKey.table()) && !tables.contains(foreignKey.referencedTable())) {
+                continue;
+            }
+            jdbc.update("INSERT IGNORE INTO " + FOREIGN_KEYS_TABLE + " (table_name, constraint_name, definition) "
+                    + "VALUES (?, ?, ?)", foreignKey.table(), foreignKey.name(), foreignKey.definition());
+            jdbc.execute("ALTER TABLE `" + foreignKey.table() + "` DROP FOREIGN KEY `" + foreignKey.name() + "`");
+        }
+    }
+
+    /**
+     * Adds back the saved foreign keys. The converted data was consistent before, so the constraints
+     * are added without re-checking it, which lets MySQL do it in place.
+     */
+    private void restoreForeignKeys() {
+        List<Map<String, Object>> saved = jdbc.queryForList(
+                "SELECT table_name, constraint_name, definition FROM " + FOREIGN_KEYS_TABLE);
+        for (Map<String, Object> foreignKey : saved) {
+            String table = (String) foreignKey.get("table_name");
+            String name = (String) foreignKey.get("constraint_name");
+            Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_NAME = ? "
+                    + "AND CONSTRAINT_TYPE = 'FOREIGN KEY'", Integer.class, table, name);
+            if (existing == null || existing == 0) {
+                executeWithoutForeignKeyChecks("ALTER TABLE `" + table + "` ADD CONSTRAINT `" + name + "` "
+                        + foreignKey.get("definition") + ", ALGORITHM=INPLACE, LOCK=NONE");
+            }
+            jdbc.update("DELETE FROM " + FOREIGN_KEYS_TABLE + " WHERE table_name = ? AND constraint_name = ?",
+                    table, name);
+        }
+        if (!saved.isEmpty()) {
+            log.info("Restored {} foreign keys on converted UUID columns", saved.size());
+        }
+    }
+
+    private void executeWithoutForeignKeyChecks(String sql) {
+        jdbc.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET foreign_key_checks = 0");
+                try {
+                    statement.execute(sql);
+                } finally {
+                    statement.execute("SET foreign_key_checks = 1");
+                }
+            }
+            return null;
+        });
+    }
+
+    /** First cutover step: moves the CHAR column aside and the BINARY shadow column into its place. */
+    void renameColumns(String table, List<UuidColumn> columns) {
+        for (String event : List.of("INSERT", "UPDATE")) {
+            jdbc.execute("DROP TRIGGER IF EXISTS `" + triggerName(table, event) + "`");
+        }
+        List<String> renames = new ArrayList<>();
+        for (UuidColumn column : columns) {
+            renames.add("RENAME COLUMN `" + column.name() + "` TO `" + column.renamed() + "`");
+            renames.add("RENAME COLUMN `" + column.shadow() + "` TO `" + column.name() + "`");
+        }
+        jdbc.execute("ALTER TABLE `" + table + "` " + String.join(", ", renames) + ", ALGORITHM=INPLACE, LOCK=NONE");
+        markCutover(table, "RENAMED");
+    }
+
+    /**
+     * Second cutover step: drops the renamed CHAR columns and rebuilds every index that used them on the
+     * BINARY columns that now carry their names. Works from the schema alone, so it can finish a table
+     * whose first step was done by an earlier, interrupted run.
+     */
+    void rebuildColumns(String table) {
+        List<UuidColumn> columns = findRenamedColumns().getOrDefault(table, List.of());
+        if (columns.isEmpty()) {
+            return;
+        }
+        List<String> renamedNames = columns.stream().map(UuidColumn::renamed).toList();
+        Map<String, IndexDefinition> indexes = new LinkedHashMap<>();
+        jdbc.query("SELECT INDEX_NAME, NON_UNIQUE, COLUMN_NAME FROM information_schema.STATISTICS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY INDEX_NAME, SEQ_IN_INDEX",
+                rs -> {
+                    boolean unique = rs.getInt(2) == 0;
+                    indexes.computeIfAbsent(rs.getString(1), n -> new IndexDefinition(n, unique))
+                            .columns().add(rs.getString(3));
+                },
+                table);
+        List<IndexDefinition> affected = indexes.values().stream()
+                .filter(index -> index.columns().stream().anyMatch(renamedNames::contains))
+                .toList();
+
+        List<String> rebuild = new ArrayList<>();
+        for (IndexDefinition index : affected) {
+            rebuild.add(index.primary() ? "DROP PRIMARY KEY" : "DROP INDEX `" + index.name() + "`");
+        }
+        for (UuidColumn column : columns) {
+            rebuild.add("DROP COLUMN `" + column.renamed() + "`");
+            if (!column.nullable()) {
+                rebuild.add("MODIFY COLUMN `" + column.name() + "` BINARY(16) NOT NULL");
+            }
+        }
+        for (IndexDefinition index : affected) {
+            rebuild.add(index.addClause());
+        }
+
+        jdbc.execute("ALTER TABLE `" + table + "` " + String.join(", ", rebuild) + ", ALGORITHM=INPLACE, LOCK=NONE");
+        markCutover(table, "DONE");
+        log.info("Converted {} UUID columns of {} to BINARY(16)", columns.size(), table);
+    }
+
+    private void logStorageSizes(String phase) {
+        jdbc.query("SELECT TABLE_NAME, TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME",
+                rs -> {
+                    log.info("Storage {} UUID migration: {} rows={} data={}B index={}B", phase,
+                            rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+                });
+    }
+
+    void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("UUID backfill interrupted", e);
+        }
+    }
+
+    private static String quote(List<String> columns) {
+        return columns.stream().map(c -> "`" + c + "`").collect(Collectors.joining(", "));
+    }
+
+    private static String triggerName(String table, String event) {
+        return table + "_uuid_bin_" + event.toLowerCase();
+    }
+
+    record UuidColumn(String name, boolean nullable) {
+        String shadow() {
+            return name + SHADOW_SUFFIX;
+        }
+
+        String renamed() {
+            return name + CHAR_SUFFIX;
+        }
+    }
+
+    private record ForeignKey(String table, String name, String referencedTable, String deleteRule,
+                              String updateRule, List<String> columns, List<String> referencedColumns) {
+
+        ForeignKey(String table, String name, String referencedTable, String deleteRule, String updateRule) {
+            this(table, name, referencedTable, deleteRule, updateRule, new ArrayList<>(), new ArrayList<>());
+        }
+
+        String definition() {
+            return "FOREIGN KEY (" + quote(columns) + ") REFERENCES `" + referencedTable + "` ("
+                    + quote(referencedColumns) + ") ON DELETE " + deleteRule + " ON UPDATE " + updateRule;
+        }
+    }
+
+    private record IndexDefinition(String name, boolean unique, List<String> columns) {
+
+        IndexDefinition(String name, boolean unique) {
+            this(name, unique, new ArrayList<>());
+        }
+
+        boolean primary() {
+            return "PRIMARY".equals(name);
+        }
+
+        String addClause() {
+            String columnList = quote(columns.stream()
+                    .map(c -> c.endsWith(CHAR_SUFFIX) ? c.substring(0, c.length() - CHAR_SUFFIX.length()) : c)
+                    .toList());
+            if (primary()) {
+                return "ADD PRIMARY KEY (" + columnList + ")";
+            }
+            return (unique ? "ADD UNIQUE INDEX `" : "ADD INDEX `") + name + "` (" + columnList + ")";
+        }
+    }
+}
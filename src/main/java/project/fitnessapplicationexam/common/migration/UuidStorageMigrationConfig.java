@@ -0,0 +1,63 @@
+package project.fitnessapplicationexam.common.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Wires {@link UuidStorageMigration} when {@code app.uuid-migration.enabled=true}.
+ * With CHAR storage the backfill runs in the background once the application is up;
+ * with BINARY storage the cutover runs before the EntityManagerFactory is created.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.uuid-migration.enabled", havingValue = "true")
+public class UuidStorageMigrationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidStorageMigrationConfig.class);
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor uuidStorageMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("uuidStorageMigration");
+    }
+
+    @Bean
+    UuidStorageMigration uuidStorageMigration(JdbcTemplate jdbcTemplate,
+                                              @Value("${app.uuid-storage:CHAR}") String storage,
+                                              @Value("${app.uuid-migration.chunk-size:1000}") int chunkSize,
+                                              @Value("${app.uuid-migration.pause-millis:50}") long pauseMillis) {
+        UuidStorageMigration migration = new UuidStorageMigration(jdbcTemplate, chunkSize, pauseMillis);
+        if (isBinary(storage)) {
+            migration.cutover();
+        }
+        return migration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startBackfill(ApplicationReadyEvent event) {
+        String storage = event.getApplicationContext().getEnvironment().getProperty("app.uuid-storage", "CHAR");
+        if (isBinary(storage)) {
+            return;
+        }
+        UuidStorageMigration migration = event.getApplicationContext().getBean(UuidStorageMigration.class);
+        Thread worker = new Thread(() -> {
+            try {
+                migration.backfill();
+            } catch (RuntimeException e) {
+                log.error("UUID backfill stopped; it will resume from the last chunk on next start", e);
+            }
+        }, "uuid-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static boolean isBinary(String storage) {
+        return "BINARY".equalsIgnoreCase(storage);
+    }
+}
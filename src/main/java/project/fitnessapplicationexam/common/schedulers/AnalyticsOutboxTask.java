@@ -0,0 +1,37 @@
+package project.fitnessapplicationexam.common.schedulers;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.analytics.AnalyticsOutboxDispatcher;
+
+/**
+ * Works off the analytics outbox every few seconds. Rows that fail are pushed back by their backoff,
+ * so a run ends once a batch comes back short even while the analytics service is down.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyticsOutboxTask {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsOutboxTask.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final AnalyticsOutboxDispatcher analyticsOutboxDispatcher;
+
+    @Scheduled(initialDelay = 10_000, fixedDelay = 5_000)
+    public void dispatchAnalyticsOutbox() {
+        int total = 0;
+        int claimed;
+        do {
+            claimed = analyticsOutboxDispatcher.dispatchBatch(BATCH_SIZE);
+            total += claimed;
+        } while (claimed == BATCH_SIZE);
+        analyticsOutboxDispatcher.refreshBacklogMetrics();
+
+        if (total > 0) {
+            log.debug("Processed {} analytics outbox entries", total);
+        }
+    }
+}
@@ -1,48 +1,60 @@
 package project.fitnessapplicationexam.common.schedulers;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import project.fitnessapplicationexam.workout.model.SessionStatus;
-import project.fitnessapplicationexam.workout.model.WorkoutSession;
-import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
-import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
+import project.fitnessapplicationexam.workout.service.WorkoutService;
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * Removes workout sessions left in progress for more than a week. Sessions are deleted
+ * oldest first in batches that each commit on their own, so an interrupted run keeps its
+ * progress and the next run continues with whatever is left.
+ */
 @Component
-@RequiredArgsConstructor
 public class ScheduledTasks {
 
     private static final Logger log = LoggerFactory.getLogger(ScheduledTasks.class);
-    private final WorkoutSessionRepository workoutSessionRepository;
-    private final WorkoutSetRepository workoutSetRepository;
+    private static final int BATCH_SIZE = 500;
+    private static final int ABANDONED_AFTER_DAYS = 7;
+
+    private final WorkoutService workoutService;
+    private final Counter deletedSessions;
+    private final Timer cleanupTimer;
+
+    public ScheduledTasks(WorkoutService workoutService, MeterRegistry meterRegistry) {
+        this.workoutService = workoutService;
+        this.deletedSessions = Counter.builder("workout.cleanup.abandoned.deleted")
+                .description("Abandoned workout sessions deleted by the nightly cleanup")
+                .register(meterRegistry);
+        this.cleanupTimer = Timer.builder("workout.cleanup.abandoned.duration")
+                .description("Duration of the nightly abandoned session cleanup")
+                .register(meterRegistry);
+    }
 
     @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
     public void cleanupAbandonedWorkoutSessions() {
-        log.info("Starting cleanup of abandoned workout sessions");
-        
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7);
-        
-        List<WorkoutSession> abandonedSessions = workoutSessionRepository.findAll()
-                .stream()
-                .filter(session -> session.getStatus() == SessionStatus.IN_PROGRESS)
-                .filter(session -> session.getStartedAt().isBefore(cutoffDate))
-                .filter(session -> session.getFinishedAt() == null)
-                .toList();
-        
-        abandonedSessions.forEach(session -> {
-            log.info("Cleaning up abandoned session {} for user {} started on {}", 
-                    session.getId(), session.getUserId(), session.getStartedAt());
-            workoutSetRepository.deleteBySessionId(session.getId());
-            workoutSessionRepository.delete(session);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ABANDONED_AFTER_DAYS);
+        log.info("Starting cleanup of workout sessions abandoned before {}", cutoff);
+
+        int total = cleanupTimer.record(() -> {
+            int removed = 0;
+            int deleted;
+            do {
+                deleted = workoutService.purgeAbandonedSessions(cutoff, BATCH_SIZE);
+                deletedSessions.increment(deleted);
+                removed += deleted;
+                if (deleted > 0) {
+                    log.info("Cleanup progress: {} abandoned sessions removed", removed);
+                }
+            } while (deleted == BATCH_SIZE);
+            return removed;
         });
-        
-        log.info("Cleanup completed: {} abandoned sessions removed", abandonedSessions.size());
+
+        log.info("Cleanup completed: {} abandoned sessions removed", total);
     }
 }
-
@@ -0,0 +1,37 @@
+package project.fitnessapplicationexam.common.schedulers;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.fitnessapplicationexam.workout.service.WorkoutService;
+
+/**
+ * Fills in summary columns for finished sessions that do not have them yet: rows created
+ * before the columns existed, and sessions whose sets changed after an exercise was deleted.
+ * Each batch commits on its own, so a large backlog is worked off without a long transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionSummaryBackfillTask {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionSummaryBackfillTask.class);
+    private static final int BATCH_SIZE = 200;
+
+    private final WorkoutService workoutService;
+
+    @Scheduled(initialDelay = 60_000, fixedDelay = 600_000)
+    public void backfillSessionSummaries() {
+        int total = 0;
+        int processed;
+        do {
+            processed = workoutService.backfillSessionSummaries(BATCH_SIZE);
+            total += processed;
+        } while (processed == BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Backfilled summaries for {} workout sessions", total);
+        }
+    }
+}
@@ -3,47 +3,53 @@ package project.fitnessapplicationexam.common.schedulers;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
-import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.repository.UserRepository;
+import project.fitnessapplicationexam.user.service.UserSubscriptionService;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import project.fitnessapplicationexam.config.ValidationConstants;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class SubscriptionScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(SubscriptionScheduler.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final UserSubscriptionService userSubscriptionService;
     private final UserRepository userRepository;
 
     @Scheduled(cron = "0 0 9 * * *")
-    @Transactional
     public void processRenewals() {
         LocalDate today = LocalDate.now();
-        userRepository.findAll().stream()
-                .filter(User::isSubscriptionActive)
-                .filter(user -> user.getSubscriptionTier() == SubscriptionTier.PRO)
-                .filter(user -> user.getNextRenewalAt() != null && user.getNextRenewalAt().toLocalDate().isEqual(today))
-                .forEach(user -> {
-                    LocalDateTime newRenewal = user.getNextRenewalAt().plusDays(ValidationConstants.SUBSCRIPTION_RENEWAL_DAYS);
-                    user.setNextRenewalAt(newRenewal);
-                    userRepository.save(user);
-                    log.info("Pro subscription renewed for user {} - next {}", user.getId(), newRenewal);
-                });
+        int total = 0;
+        int renewed;
+        do {
+            renewed = userSubscriptionService.renewProSubscriptionsDueOn(today, BATCH_SIZE);
+            total += renewed;
+        } while (renewed == BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Renewed {} PRO subscriptions due on {}", total, today);
+        }
     }
 
     @Scheduled(fixedRate = 1209600000)
-    @Transactional
     public void notifyBasicUsersToUpgrade() {
-        userRepository.findAll().stream()
-                .filter(user -> user.getSubscriptionTier() == SubscriptionTier.BASIC)
-                .forEach(user -> {
-                    log.info("BASIC user {} should consider upgrading to PRO subscription", user.getId());
-                });
+        UUID after = new UUID(0L, 0L);
+        List<UUID> page;
+        do {
+            page = userRepository.findIdsByTierAfter(SubscriptionTier.BASIC, after, Limit.of(BATCH_SIZE));
+            for (UUID userId : page) {
+                log.info("BASIC user {} should consider upgrading to PRO subscription", userId);
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == BATCH_SIZE);
     }
 }
-
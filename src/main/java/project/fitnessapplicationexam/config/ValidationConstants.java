@@ -7,7 +7,8 @@ public final class ValidationConstants {
     public static final int MAX_USERNAME_LENGTH = 64;
     public static final int SUBSCRIPTION_RENEWAL_DAYS = 30;
     public static final int RECENT_SESSIONS_LIMIT_5 = 5;
-    public static final int RECENT_SESSIONS_LIMIT_50 = 50;
+    public static final int HISTORY_PAGE_SIZE = 20;
+    public static final int MAX_HISTORY_PAGE_SIZE = 50;
     public static final int MIN_TEMPLATE_SETS = 1;
     public static final int MAX_TEMPLATE_SETS = 20;
     public static final int DEFAULT_TEMPLATE_SETS = 3;
@@ -0,0 +1,19 @@
+package project.fitnessapplicationexam.exercise.dto;
+
+import project.fitnessapplicationexam.config.SystemDefault;
+import project.fitnessapplicationexam.exercise.model.Equipment;
+import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import java.util.UUID;
+
+public record ExerciseCatalogRow(
+        UUID id,
+        String name,
+        MuscleGroup primaryMuscle,
+        Equipment equipment,
+        UUID ownerUserId
+) {
+
+    public boolean builtIn() {
+        return SystemDefault.SYSTEM_USER_ID.equals(ownerUserId);
+    }
+}
@@ -0,0 +1,10 @@
+package project.fitnessapplicationexam.exercise.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when an exercise is deleted. {@code ownerUserId} is the owner it had (null if it
+ * was already gone) and {@code templateOwners} the users whose templates referenced it.
+ */
+public record ExerciseDeletedEvent(UUID exerciseId, UUID ownerUserId, List<UUID> templateOwners) {}
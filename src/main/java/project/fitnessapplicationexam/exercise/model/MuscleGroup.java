@@ -1,5 +1,10 @@
 package project.fitnessapplicationexam.exercise.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+// Bit positions follow declaration order and are persisted in workout_sessions.muscle_group_mask:
+// append new constants at the end only.
 public enum MuscleGroup {
     CHEST,
     BACK,
@@ -12,5 +17,19 @@ public enum MuscleGroup {
     HAMSTRINGS,
     TRAPS,
     CORE,
-    OTHER
+    OTHER;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static Set<MuscleGroup> fromMask(int mask) {
+        EnumSet<MuscleGroup> groups = EnumSet.noneOf(MuscleGroup.class);
+        for (MuscleGroup group : values()) {
+            if ((mask & group.bit()) != 0) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
 }
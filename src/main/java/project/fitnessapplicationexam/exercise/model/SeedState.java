@@ -0,0 +1,29 @@
+package project.fitnessapplicationexam.exercise.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One-time data initialisation already applied, keyed by name: the checksum of the last catalog a
+ * seeder applied, or the version of a derived table backfill.
+ */
+@Entity
+@Table(name = "seed_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "name")
+public class SeedState {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "applied_on", nullable = false)
+    private LocalDateTime appliedOn;
+}
@@ -1,7 +1,10 @@
 package project.fitnessapplicationexam.exercise.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import java.util.Collection;
 import java.util.List;
@@ -11,11 +14,33 @@ import java.util.UUID;
 @Repository
 public interface ExerciseRepository extends JpaRepository<Exercise, UUID> {
 
-    List<Exercise> findAllByOwnerUserId(UUID ownerId);
+    @Query("""
+            select new project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow(
+                e.id, e.name, e.primaryMuscle, e.equipment, e.ownerUserId)
+            from Exercise e
+            where e.ownerUserId = :ownerId
+            order by e.name
+            """)
+    List<ExerciseCatalogRow> findCatalogByOwnerUserId(@Param("ownerId") UUID ownerId);
+
+    @Query("""
+            select new project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow(
+                e.id, e.name, e.primaryMuscle, e.equipment, e.ownerUserId)
+            from Exercise e
+            where e.ownerUserId in :ownerIds
+            order by e.name
+            """)
+    List<ExerciseCatalogRow> findCatalogByOwnerUserIdIn(@Param("ownerIds") Collection<UUID> ownerIds);
+
+    @Query("""
+            select new project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow(
+                e.id, e.name, e.primaryMuscle, e.equipment, e.ownerUserId)
+            from Exercise e
+            where e.id = :id
+            """)
+    Optional<ExerciseCatalogRow> findCatalogRowById(@Param("id") UUID id);
 
     Optional<Exercise> findByIdAndOwnerUserId(UUID id, UUID ownerId);
 
     List<Exercise> findAllByOwnerUserIdInOrderByNameAsc(Collection<UUID> ownerIds);
-
-    Optional<Exercise> findByNameIgnoreCaseAndOwnerUserId(String name, UUID ownerUserId);
 }
@@ -0,0 +1,9 @@
+package project.fitnessapplicationexam.exercise.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.exercise.model.SeedState;
+
+@Repository
+public interface SeedStateRepository extends JpaRepository<SeedState, String> {
+}
@@ -1,131 +1,175 @@
 package project.fitnessapplicationexam.exercise.seed;
 
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
 import project.fitnessapplicationexam.config.SystemDefault;
-import java.util.UUID;
 import project.fitnessapplicationexam.exercise.model.Equipment;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import project.fitnessapplicationexam.exercise.model.SeedState;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import project.fitnessapplicationexam.exercise.repository.SeedStateRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
-import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Adds missing built-in exercises on startup. The checksum of {@link #CATALOG} is stored in
+ * {@code seed_state} after a successful run, so later boots skip the seeder until the catalog changes.
+ * Built-ins removed by hand are therefore only restored once the catalog is edited.
+ */
 @Component
 @RequiredArgsConstructor
 public class ExerciseBuiltinSeeder implements ApplicationRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(ExerciseBuiltinSeeder.class);
+    static final String SEED_NAME = "builtin-exercises";
+
+    static final List<BuiltinExercise> CATALOG = List.of(
+            new BuiltinExercise("Barbell Bench Press", MuscleGroup.CHEST, Equipment.BARBELL),
+            new BuiltinExercise("Dumbbell Bench Press", MuscleGroup.CHEST, Equipment.DUMBBELL),
+            new BuiltinExercise("Incline Bench Press", MuscleGroup.CHEST, Equipment.BARBELL),
+            new BuiltinExercise("Decline Bench Press", MuscleGroup.CHEST, Equipment.BARBELL),
+            new BuiltinExercise("Push-Ups", MuscleGroup.CHEST, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Chest Dips", MuscleGroup.CHEST, Equipment.BODYWEIGHT),
+
+            new BuiltinExercise("Pull-Ups", MuscleGroup.BACK, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Barbell Rows", MuscleGroup.BACK, Equipment.BARBELL),
+            new BuiltinExercise("Dumbbell Rows", MuscleGroup.BACK, Equipment.DUMBBELL),
+            new BuiltinExercise("Lat Pulldowns", MuscleGroup.BACK, Equipment.CABLE),
+            new BuiltinExercise("T-Bar Rows", MuscleGroup.BACK, Equipment.BARBELL),
+            new BuiltinExercise("Deadlifts", MuscleGroup.BACK, Equipment.BARBELL),
+            new BuiltinExercise("Straight-Arm Pulldowns", MuscleGroup.BACK, Equipment.CABLE),
+
+            new BuiltinExercise("Barbell Curl", MuscleGroup.BICEPS, Equipment.BARBELL),
+            new BuiltinExercise("Dumbbell Curl", MuscleGroup.BICEPS, Equipment.DUMBBELL),
+            new BuiltinExercise("Preacher Curl", MuscleGroup.BICEPS, Equipment.BARBELL),
+            new BuiltinExercise("Hammer Curl", MuscleGroup.BICEPS, Equipment.DUMBBELL),
+            new BuiltinExercise("Concentration Curl", MuscleGroup.BICEPS, Equipment.DUMBBELL),
+            new BuiltinExercise("Cable Curl", MuscleGroup.BICEPS, Equipment.CABLE),
+
+            new BuiltinExercise("Close-Grip Bench Press", MuscleGroup.TRICEPS, Equipment.BARBELL),
+            new BuiltinExercise("Tricep Dips", MuscleGroup.TRICEPS, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Overhead Tricep Extension", MuscleGroup.TRICEPS, Equipment.DUMBBELL),
+            new BuiltinExercise("Skull Crushers", MuscleGroup.TRICEPS, Equipment.BARBELL),
+            new BuiltinExercise("Tricep Pushdowns", MuscleGroup.TRICEPS, Equipment.CABLE),
+            new BuiltinExercise("Dumbbell Kickbacks", MuscleGroup.TRICEPS, Equipment.DUMBBELL),
+
+            new BuiltinExercise("Overhead Press", MuscleGroup.SHOULDERS, Equipment.BARBELL),
+            new BuiltinExercise("Arnold Press", MuscleGroup.SHOULDERS, Equipment.DUMBBELL),
+            new BuiltinExercise("Lateral Raises", MuscleGroup.SHOULDERS, Equipment.DUMBBELL),
+            new BuiltinExercise("Front Raises", MuscleGroup.SHOULDERS, Equipment.DUMBBELL),
+            new BuiltinExercise("Rear Delt Flyes", MuscleGroup.SHOULDERS, Equipment.DUMBBELL),
+            new BuiltinExercise("Cable Lateral Raises", MuscleGroup.SHOULDERS, Equipment.CABLE),
+            new BuiltinExercise("Upright Rows", MuscleGroup.SHOULDERS, Equipment.BARBELL),
+
+            new BuiltinExercise("Wrist Curls", MuscleGroup.FOREARMS, Equipment.BARBELL),
+            new BuiltinExercise("Reverse Wrist Curls", MuscleGroup.FOREARMS, Equipment.BARBELL),
+            new BuiltinExercise("Farmer’s Carry", MuscleGroup.FOREARMS, Equipment.DUMBBELL),
+            new BuiltinExercise("Plate Pinches", MuscleGroup.FOREARMS, Equipment.OTHER),
+            new BuiltinExercise("Towel Pull-Ups", MuscleGroup.FOREARMS, Equipment.BODYWEIGHT),
+
+            new BuiltinExercise("Plank", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Hanging Leg Raises", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Cable Crunches", MuscleGroup.CORE, Equipment.CABLE),
+            new BuiltinExercise("Russian Twists", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Bicycle Crunches", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Ab Rollouts", MuscleGroup.CORE, Equipment.OTHER),
+            new BuiltinExercise("Sit-Ups", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+            new BuiltinExercise("V-Ups", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Mountain Climbers", MuscleGroup.CORE, Equipment.BODYWEIGHT),
+
+            new BuiltinExercise("Back Squat", MuscleGroup.LEGS, Equipment.BARBELL),
+            new BuiltinExercise("Front Squat", MuscleGroup.LEGS, Equipment.BARBELL),
+            new BuiltinExercise("Leg Extension", MuscleGroup.LEGS, Equipment.MACHINE),
+            new BuiltinExercise("Bulgarian Split Squat", MuscleGroup.LEGS, Equipment.DUMBBELL),
+            new BuiltinExercise("Walking Lunges", MuscleGroup.LEGS, Equipment.DUMBBELL),
+            new BuiltinExercise("Step-Ups", MuscleGroup.LEGS, Equipment.DUMBBELL),
+            new BuiltinExercise("Sissy Squats", MuscleGroup.LEGS, Equipment.OTHER),
+
+            new BuiltinExercise("Romanian Deadlift", MuscleGroup.HAMSTRINGS, Equipment.BARBELL),
+            new BuiltinExercise("Stiff-Leg Deadlift", MuscleGroup.HAMSTRINGS, Equipment.BARBELL),
+            new BuiltinExercise("Good Mornings", MuscleGroup.HAMSTRINGS, Equipment.BARBELL),
+            new BuiltinExercise("Glute-Ham Raise", MuscleGroup.HAMSTRINGS, Equipment.MACHINE),
+            new BuiltinExercise("Seated Leg Curl", MuscleGroup.HAMSTRINGS, Equipment.MACHINE),
+            new BuiltinExercise("Lying Leg Curl", MuscleGroup.HAMSTRINGS, Equipment.MACHINE),
+
+            new BuiltinExercise("Standing Calf Raises", MuscleGroup.CALVES, Equipment.MACHINE),
+            new BuiltinExercise("Seated Calf Raises", MuscleGroup.CALVES, Equipment.MACHINE),
+            new BuiltinExercise("Donkey Calf Raises", MuscleGroup.CALVES, Equipment.MACHINE),
+            new BuiltinExercise("Single-Leg Calf Raises", MuscleGroup.CALVES, Equipment.BODYWEIGHT),
+            new BuiltinExercise("Leg Press Calf Press", MuscleGroup.CALVES, Equipment.MACHINE)
+    );
+
     private final ExerciseRepository exerciseRepository;
+    private final SeedStateRepository seedStateRepository;
     private final AnalyticsSyncService analyticsSyncService;
 
     @Override
     @Transactional
     public void run(ApplicationArguments args) {
+        String checksum = checksum(CATALOG);
+        boolean upToDate = seedStateRepository.findById(SEED_NAME)
+                .map(state -> checksum.equals(state.getChecksum()))
+                .orElse(false);
+        if (upToDate) {
+            log.debug("Built-in exercise catalog unchanged, skipping seeding");
+            return;
+        }
+
         final UUID SYS = SystemDefault.SYSTEM_USER_ID;
+        Set<String> existing = exerciseRepository.findCatalogByOwnerUserId(SYS).stream()
+                .map(row -> normalize(row.name()))
+                .collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+        List<Exercise> missing = CATALOG.stream()
+                .filter(builtin -> !existing.contains(normalize(builtin.name())))
+                .map(builtin -> Exercise.builder()
+                        .ownerUserId(SYS)
+                        .name(builtin.name())
+                        .primaryMuscle(builtin.primaryMuscle())
+                        .equipment(builtin.equipment())
+                        .createdOn(now)
+                        .build())
+                .toList();
+
+        if (!missing.isEmpty()) {
+            List<Exercise> saved = exerciseRepository.saveAll(missing);
+            analyticsSyncService.syncExercises(saved);
+            log.info("Seeded {} built-in exercises", saved.size());
+        }
+        seedStateRepository.save(new SeedState(SEED_NAME, checksum, now));
+    }
 
-        
-        upsert("Barbell Bench Press", MuscleGroup.CHEST, Equipment.BARBELL, SYS);
-        upsert("Dumbbell Bench Press", MuscleGroup.CHEST, Equipment.DUMBBELL, SYS);
-        upsert("Incline Bench Press", MuscleGroup.CHEST, Equipment.BARBELL, SYS);
-        upsert("Decline Bench Press", MuscleGroup.CHEST, Equipment.BARBELL, SYS);
-        upsert("Push-Ups", MuscleGroup.CHEST, Equipment.BODYWEIGHT, SYS);
-        upsert("Chest Dips", MuscleGroup.CHEST, Equipment.BODYWEIGHT, SYS);
-
-        
-        upsert("Pull-Ups", MuscleGroup.BACK, Equipment.BODYWEIGHT, SYS);
-        upsert("Barbell Rows", MuscleGroup.BACK, Equipment.BARBELL, SYS);
-        upsert("Dumbbell Rows", MuscleGroup.BACK, Equipment.DUMBBELL, SYS);
-        upsert("Lat Pulldowns", MuscleGroup.BACK, Equipment.CABLE, SYS);
-        upsert("T-Bar Rows", MuscleGroup.BACK, Equipment.BARBELL, SYS);
-        upsert("Deadlifts", MuscleGroup.BACK, Equipment.BARBELL, SYS);
-        upsert("Straight-Arm Pulldowns", MuscleGroup.BACK, Equipment.CABLE, SYS);
-
-        
-        upsert("Barbell Curl", MuscleGroup.BICEPS, Equipment.BARBELL, SYS);
-        upsert("Dumbbell Curl", MuscleGroup.BICEPS, Equipment.DUMBBELL, SYS);
-        upsert("Preacher Curl", MuscleGroup.BICEPS, Equipment.BARBELL, SYS);
-        upsert("Hammer Curl", MuscleGroup.BICEPS, Equipment.DUMBBELL, SYS);
-        upsert("Concentration Curl", MuscleGroup.BICEPS, Equipment.DUMBBELL, SYS);
-        upsert("Cable Curl", MuscleGroup.BICEPS, Equipment.CABLE, SYS);
-
-        
-        upsert("Close-Grip Bench Press", MuscleGroup.TRICEPS, Equipment.BARBELL, SYS);
-        upsert("Tricep Dips", MuscleGroup.TRICEPS, Equipment.BODYWEIGHT, SYS);
-        upsert("Overhead Tricep Extension", MuscleGroup.TRICEPS, Equipment.DUMBBELL, SYS);
-        upsert("Skull Crushers", MuscleGroup.TRICEPS, Equipment.BARBELL, SYS);
-        upsert("Tricep Pushdowns", MuscleGroup.TRICEPS, Equipment.CABLE, SYS);
-        upsert("Dumbbell Kickbacks", MuscleGroup.TRICEPS, Equipment.DUMBBELL, SYS);
-
-        
-        upsert("Overhead Press", MuscleGroup.SHOULDERS, Equipment.BARBELL, SYS);
-        upsert("Arnold Press", MuscleGroup.SHOULDERS, Equipment.DUMBBELL, SYS);
-        upsert("Lateral Raises", MuscleGroup.SHOULDERS, Equipment.DUMBBELL, SYS);
-        upsert("Front Raises", MuscleGroup.SHOULDERS, Equipment.DUMBBELL, SYS);
-        upsert("Rear Delt Flyes", MuscleGroup.SHOULDERS, Equipment.DUMBBELL, SYS);
-        upsert("Cable Lateral Raises", MuscleGroup.SHOULDERS, Equipment.CABLE, SYS);
-        upsert("Upright Rows", MuscleGroup.SHOULDERS, Equipment.BARBELL, SYS);
-
-        
-        upsert("Wrist Curls", MuscleGroup.FOREARMS, Equipment.BARBELL, SYS);
-        upsert("Reverse Wrist Curls", MuscleGroup.FOREARMS, Equipment.BARBELL, SYS);
-        upsert("Farmer’s Carry", MuscleGroup.FOREARMS, Equipment.DUMBBELL, SYS);
-        upsert("Plate Pinches", MuscleGroup.FOREARMS, Equipment.OTHER, SYS);
-        upsert("Towel Pull-Ups", MuscleGroup.FOREARMS, Equipment.BODYWEIGHT, SYS);
-
-        
-        upsert("Plank", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-        upsert("Hanging Leg Raises", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-        upsert("Cable Crunches", MuscleGroup.CORE, Equipment.CABLE, SYS);
-        upsert("Russian Twists", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-        upsert("Bicycle Crunches", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-        upsert("Ab Rollouts", MuscleGroup.CORE, Equipment.OTHER, SYS);
-        upsert("Sit-Ups", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-        upsert("V-Ups", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-        upsert("Mountain Climbers", MuscleGroup.CORE, Equipment.BODYWEIGHT, SYS);
-
-        
-        upsert("Back Squat", MuscleGroup.LEGS, Equipment.BARBELL, SYS);
-        upsert("Front Squat", MuscleGroup.LEGS, Equipment.BARBELL, SYS);
-        upsert("Leg Extension", MuscleGroup.LEGS, Equipment.MACHINE, SYS);
-        upsert("Bulgarian Split Squat", MuscleGroup.LEGS, Equipment.DUMBBELL, SYS);
-        upsert("Walking Lunges", MuscleGroup.LEGS, Equipment.DUMBBELL, SYS);
-        upsert("Step-Ups", MuscleGroup.LEGS, Equipment.DUMBBELL, SYS);
-        upsert("Sissy Squats", MuscleGroup.LEGS, Equipment.OTHER, SYS);
-
-        
-        upsert("Romanian Deadlift", MuscleGroup.HAMSTRINGS, Equipment.BARBELL, SYS);
-        upsert("Stiff-Leg Deadlift", MuscleGroup.HAMSTRINGS, Equipment.BARBELL, SYS);
-        upsert("Good Mornings", MuscleGroup.HAMSTRINGS, Equipment.BARBELL, SYS);
-        upsert("Glute-Ham Raise", MuscleGroup.HAMSTRINGS, Equipment.MACHINE, SYS);
-        upsert("Seated Leg Curl", MuscleGroup.HAMSTRINGS, Equipment.MACHINE, SYS);
-        upsert("Lying Leg Curl", MuscleGroup.HAMSTRINGS, Equipment.MACHINE, SYS);
-
-        
-        upsert("Standing Calf Raises", MuscleGroup.CALVES, Equipment.MACHINE, SYS);
-        upsert("Seated Calf Raises", MuscleGroup.CALVES, Equipment.MACHINE, SYS);
-        upsert("Donkey Calf Raises", MuscleGroup.CALVES, Equipment.MACHINE, SYS);
-        upsert("Single-Leg Calf Raises", MuscleGroup.CALVES, Equipment.BODYWEIGHT, SYS);
-        upsert("Leg Press Calf Press", MuscleGroup.CALVES, Equipment.MACHINE, SYS);
+    static String checksum(List<BuiltinExercise> catalog) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (BuiltinExercise builtin : catalog) {
+                String line = builtin.name() + '|' + builtin.primaryMuscle() + '|' + builtin.equipment() + '\n';
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    private void upsert(String name, MuscleGroup muscleGroup, Equipment equipment, UUID owner) {
-        exerciseRepository.findByNameIgnoreCaseAndOwnerUserId(name, owner).ifPresentOrElse(
-                existing -> {
-                },
-                () -> {
-                    Exercise exercise = Exercise.builder()
-                            .ownerUserId(owner)
-                            .name(name)
-                            .primaryMuscle(muscleGroup)
-                            .equipment(equipment)
-                            .createdOn(LocalDateTime.now())
-                            .build();
-                    Exercise saved = exerciseRepository.save(exercise);
-                    analyticsSyncService.syncExercise(saved);
-                }
-        );
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
+
+    record BuiltinExercise(String name, MuscleGroup primaryMuscle, Equipment equipment) {}
 }
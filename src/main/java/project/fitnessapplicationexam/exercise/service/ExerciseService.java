@@ -3,15 +3,27 @@ package project.fitnessapplicationexam.exercise.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.fitnessapplicationexam.config.SystemDefault;
+import project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow;
+import project.fitnessapplicationexam.exercise.event.ExerciseDeletedEvent;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.template.repository.TemplateItemRepository;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
 import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
 import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
+import project.fitnessapplicationexam.analytics.DailyRollupService;
+import project.fitnessapplicationexam.analytics.PersonalRecordService;
+import project.fitnessapplicationexam.analytics.TrainingLogCache;
 import java.util.Optional;
 import java.util.List;
 import java.util.UUID;
@@ -24,16 +36,25 @@ public class ExerciseService {
     private final ExerciseRepository exerciseRepository;
     private final TemplateItemRepository templateItemRepository;
     private final WorkoutSetRepository workoutSetRepository;
+    private final WorkoutSessionRepository workoutSessionRepository;
     private final AnalyticsSyncService analyticsSyncService;
+    private final DailyRollupService dailyRollupService;
+    private final TrainingLogCache trainingLogCache;
+    private final PersonalRecordService personalRecordService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Cacheable(value = "exercises", key = "#owner")
-    public List<Exercise> byOwner(UUID owner) {
+    public List<ExerciseCatalogRow> byOwner(UUID owner) {
         log.debug("Fetching exercises for owner {}", owner);
-        return exerciseRepository.findAllByOwnerUserId(owner);
+        return exerciseRepository.findCatalogByOwnerUserId(owner);
     }
 
     @Transactional
-    @CacheEvict(value = "exercises", key = "#exercise.ownerUserId")
+    @Caching(evict = {
+            @CacheEvict(value = "exercises", key = "#exercise.ownerUserId"),
+            @CacheEvict(value = "availableExercises", key = "#exercise.ownerUserId")
+    })
     public Exercise create(Exercise exercise) {
         log.info("Creating exercise '{}' for user {}", exercise.getName(), exercise.getOwnerUserId());
         Exercise saved = exerciseRepository.save(exercise);
@@ -42,9 +63,9 @@ public class ExerciseService {
     }
 
     @Cacheable(value = "exercise", key = "#id")
-    public Exercise get(UUID id) {
+    public ExerciseCatalogRow get(UUID id) {
         log.debug("Fetching exercise {}", id);
-        return exerciseRepository.findById(id).orElseThrow();
+        return exerciseRepository.findCatalogRowById(id).orElseThrow();
     }
 
     public List<Exercise> findAllByOwnerUserIdInOrderByNameAsc(List<UUID> ownerIds) {
@@ -56,12 +77,49 @@ public class ExerciseService {
     }
 
     @Transactional
-    @CacheEvict(value = {"exercises", "exercise", "templates"}, allEntries = true)
     public void delete(UUID id) {
         log.warn("Deleting exercise {} and related records", id);
+        UUID ownerId = exerciseRepository.findById(id).map(Exercise::getOwnerUserId).orElse(null);
+        List<UUID> templateOwners = templateItemRepository.findTemplateOwnerIdsByExerciseId(id);
+        List<UUID> affectedUsers = workoutSessionRepository.findUserIdsByExerciseId(id);
         templateItemRepository.deleteByExerciseId(id);
+        dailyRollupService.reverseExerciseSets(id);
+        personalRecordService.exerciseDeleted(id);
+        workoutSessionRepository.clearSummariesForExercise(id);
         workoutSetRepository.deleteByExerciseId(id);
         exerciseRepository.deleteById(id);
+        affectedUsers.forEach(trainingLogCache::evict);
+        eventPublisher.publishEvent(new ExerciseDeletedEvent(id, ownerId, templateOwners));
         analyticsSyncService.deleteExercise(id);
+        analyticsSyncService.markWeeklyStatsDirty(affectedUsers);
+    }
+
+    /**
+     * Drops the cached views of a deleted exercise once the delete is committed, so a
+     * concurrent request cannot put the old rows back into the cache.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseDeleted(ExerciseDeletedEvent event) {
+        evict("exercise", event.exerciseId());
+        UUID ownerId = event.ownerUserId();
+        if (ownerId != null) {
+            evict("exercises", ownerId);
+            if (SystemDefault.SYSTEM_USER_ID.equals(ownerId)) {
+                Cache available = cacheManager.getCache("availableExercises");
+                if (available != null) {
+                    available.clear();
+                }
+            } else {
+                evict("availableExercises", ownerId);
+            }
+        }
+        event.templateOwners().forEach(owner -> evict("templates", owner));
+    }
+
+    private void evict(String cacheName, UUID key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
     }
 }
@@ -9,8 +9,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import project.fitnessapplicationexam.user.model.User;
-import project.fitnessapplicationexam.user.repository.UserRepository;
+import project.fitnessapplicationexam.user.dto.UserCredentials;
+import project.fitnessapplicationexam.user.service.UserService;
 
 @Configuration
 @EnableMethodSecurity
@@ -22,15 +22,14 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    UserDetailsService userDetailsService(UserRepository userRepository) {
+    UserDetailsService userDetailsService(UserService userService) {
         return username -> {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            UserCredentials user = userService.credentials(username);
             return org.springframework.security.core.userdetails.User
-                    .withUsername(user.getUsername())
-                    .password(user.getPasswordHash())
-                    .roles(user.getRole().name())
-                    .disabled(!user.isActive())
+                    .withUsername(user.username())
+                    .password(user.passwordHash())
+                    .roles(user.role().name())
+                    .disabled(!user.active())
                     .build();
         };
     }
@@ -0,0 +1,10 @@
+package project.fitnessapplicationexam.template.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TemplateSummary(
+        UUID id,
+        String name,
+        LocalDateTime createdOn
+) {}
@@ -2,8 +2,7 @@ package project.fitnessapplicationexam.template.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import project.fitnessapplicationexam.common.ids.TimeOrderedUuid;
 import java.util.UUID;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.workout.model.SetGroupType;
@@ -23,21 +22,18 @@ import project.fitnessapplicationexam.workout.model.SetGroupType;
 public class TemplateItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "id", columnDefinition = "char(36)")
+    @TimeOrderedUuid
+    @Column(name = "id")
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exercise_id", nullable = false)
     private Exercise exercise;
 
-    @JdbcTypeCode(SqlTypes.CHAR)
-    @Column(name = "exercise_id", columnDefinition = "char(36)", nullable = false, insertable = false, updatable = false)
+    @Column(name = "exercise_id", nullable = false, insertable = false, updatable = false)
     private UUID exerciseId;
 
-    @JdbcTypeCode(SqlTypes.CHAR)
-    @Column(name = "template_id", columnDefinition = "char(36)", nullable = false)
+    @Column(name = "template_id", nullable = false)
     private UUID templateId;
 
     @Column(name = "target_sets")
@@ -47,8 +43,7 @@ public class TemplateItem {
     @Builder.Default
     private Integer position = 1;
 
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "group_id", columnDefinition = "char(36)")
+    @Column(name = "group_id")
     private UUID groupId;
 
     @Enumerated(EnumType.STRING)
@@ -2,8 +2,7 @@ package project.fitnessapplicationexam.template.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import project.fitnessapplicationexam.common.ids.TimeOrderedUuid;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,13 +20,11 @@ import java.util.UUID;
 public class WorkoutTemplate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "id", columnDefinition = "char(36)")
+    @TimeOrderedUuid
+    @Column(name = "id")
     private UUID id;
 
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "owner_user_id", nullable = false, columnDefinition = "char(36)")
+    @Column(name = "owner_user_id", nullable = false)
     private UUID ownerUserId;
 
     @Column(nullable = false, length = 120)
@@ -1,6 +1,9 @@
 package project.fitnessapplicationexam.template.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import java.util.List;
@@ -10,7 +13,17 @@ import java.util.UUID;
 public interface TemplateItemRepository extends JpaRepository<TemplateItem, UUID> {
     List<TemplateItem> findAllByTemplateIdOrderByPositionAsc(UUID templateId);
 
-    void deleteByTemplateId(UUID templateId);
+    @Query("""
+            select distinct t.ownerUserId from WorkoutTemplate t
+            where t.id in (select ti.templateId from TemplateItem ti where ti.exerciseId = :exerciseId)
+            """)
+    List<UUID> findTemplateOwnerIdsByExerciseId(@Param("exerciseId") UUID exerciseId);
 
-    void deleteByExerciseId(UUID exerciseId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TemplateItem ti where ti.templateId = :templateId")
+    int deleteByTemplateId(@Param("templateId") UUID templateId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TemplateItem ti where ti.exerciseId = :exerciseId")
+    int deleteByExerciseId(@Param("exerciseId") UUID exerciseId);
 }
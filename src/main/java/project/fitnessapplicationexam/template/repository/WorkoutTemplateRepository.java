@@ -1,7 +1,10 @@
 package project.fitnessapplicationexam.template.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.template.dto.TemplateSummary;
 import project.fitnessapplicationexam.template.model.WorkoutTemplate;
 import java.util.List;
 import java.util.Optional;
@@ -10,7 +13,13 @@ import java.util.UUID;
 
 @Repository
 public interface WorkoutTemplateRepository extends JpaRepository<WorkoutTemplate, UUID> {
-    List<WorkoutTemplate> findAllByOwnerUserIdOrderByCreatedOnDesc(UUID ownerId);
+    @Query("""
+            select new project.fitnessapplicationexam.template.dto.TemplateSummary(t.id, t.name, t.createdOn)
+            from WorkoutTemplate t
+            where t.ownerUserId = :ownerId
+            order by t.createdOn desc
+            """)
+    List<TemplateSummary> findSummariesByOwnerUserId(@Param("ownerId") UUID ownerId);
 
     boolean existsByOwnerUserIdAndNameIgnoreCase(UUID ownerUserId, String name);
 
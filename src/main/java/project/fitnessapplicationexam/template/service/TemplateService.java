@@ -10,9 +10,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import project.fitnessapplicationexam.config.SystemDefault;
+import project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.template.dto.TemplateItemData;
+import project.fitnessapplicationexam.template.dto.TemplateSummary;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import project.fitnessapplicationexam.template.model.WorkoutTemplate;
 import project.fitnessapplicationexam.template.repository.TemplateItemRepository;
@@ -38,15 +40,15 @@ public class TemplateService {
 
     @Transactional(readOnly = true)
     @Cacheable(value = "templates", key = "#owner")
-    public List<WorkoutTemplate> list(UUID owner) {
-        return workoutTemplateRepository.findAllByOwnerUserIdOrderByCreatedOnDesc(owner);
+    public List<TemplateSummary> list(UUID owner) {
+        return workoutTemplateRepository.findSummariesByOwnerUserId(owner);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "exercises", key = "#userId")
-    public List<Exercise> getAvailableExercises(UUID userId) {
+    @Cacheable(value = "availableExercises", key = "#userId")
+    public List<ExerciseCatalogRow> getAvailableExercises(UUID userId) {
         List<UUID> owners = List.of(SystemDefault.SYSTEM_USER_ID, userId);
-        return exerciseRepository.findAllByOwnerUserIdInOrderByNameAsc(owners);
+        return exerciseRepository.findCatalogByOwnerUserIdIn(owners);
     }
 
     @Transactional(readOnly = true)
@@ -66,7 +68,7 @@ public class TemplateService {
     }
 
     @Transactional
-    @CacheEvict(value = {"templates", "exercises"}, allEntries = true)
+    @CacheEvict(value = "templates", key = "#ownerId")
     public WorkoutTemplate createTemplate(UUID ownerId, String name, List<TemplateItemData> items) {
         String trimmedName = (name == null) ? "" : name.trim();
         if (trimmedName.isBlank()) {
@@ -96,7 +98,7 @@ public class TemplateService {
     }
 
     @Transactional
-    @CacheEvict(value = {"templates", "exercises"}, allEntries = true)
+    @CacheEvict(value = "templates", key = "#ownerId")
     public void deleteTemplate(UUID templateId, UUID ownerId) {
         workoutTemplateRepository.findByIdAndOwnerUserId(templateId, ownerId).ifPresent(template -> {
             templateItemRepository.deleteByTemplateId(templateId);
@@ -106,7 +108,7 @@ public class TemplateService {
     }
 
     @Transactional
-    @CacheEvict(value = {"templates", "exercises"}, allEntries = true)
+    @CacheEvict(value = "templates", key = "#ownerId")
     public void updateTemplate(UUID templateId, UUID ownerId, String newName, List<TemplateItemData> items) {
         WorkoutTemplate template = workoutTemplateRepository.findByIdAndOwnerUserId(templateId, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
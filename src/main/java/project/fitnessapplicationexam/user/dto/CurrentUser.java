@@ -0,0 +1,34 @@
+package project.fitnessapplicationexam.user.dto;
+
+import project.fitnessapplicationexam.user.model.SubscriptionTier;
+import project.fitnessapplicationexam.user.model.User;
+import project.fitnessapplicationexam.user.model.UserRole;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the signed-in user, cached by username and evicted on every
+ * {@link project.fitnessapplicationexam.user.event.UserChangedEvent}.
+ */
+public record CurrentUser(
+        UUID id,
+        String username,
+        UserRole role,
+        SubscriptionTier subscriptionTier,
+        boolean subscriptionActive,
+        String profilePicture,
+        boolean active
+) {
+
+    public static CurrentUser of(User user) {
+        return new CurrentUser(user.getId(), user.getUsername(), user.getRole(), user.getSubscriptionTier(),
+                user.isSubscriptionActive(), user.getProfilePicture(), user.isActive());
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+
+    public boolean isPro() {
+        return subscriptionTier == SubscriptionTier.PRO && subscriptionActive;
+    }
+}
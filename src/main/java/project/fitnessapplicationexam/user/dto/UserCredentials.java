@@ -0,0 +1,20 @@
+package project.fitnessapplicationexam.user.dto;
+
+import project.fitnessapplicationexam.user.model.User;
+import project.fitnessapplicationexam.user.model.UserRole;
+
+/**
+ * What authentication needs from a user row. Cached instead of {@code UserDetails}, because
+ * Spring Security erases the password of the {@code UserDetails} it authenticates.
+ */
+public record UserCredentials(
+        String username,
+        String passwordHash,
+        UserRole role,
+        boolean active
+) {
+
+    public static UserCredentials of(User user) {
+        return new UserCredentials(user.getUsername(), user.getPasswordHash(), user.getRole(), user.isActive());
+    }
+}
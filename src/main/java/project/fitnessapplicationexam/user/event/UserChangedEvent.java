@@ -0,0 +1,9 @@
+package project.fitnessapplicationexam.user.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user's row changes in a way cached views of it depend on.
+ * {@code username} is the name the user had before the change.
+ */
+public record UserChangedEvent(UUID userId, String username) {}
@@ -2,9 +2,7 @@ package project.fitnessapplicationexam.user.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.annotations.UuidGenerator;
-import org.hibernate.type.SqlTypes;
+import project.fitnessapplicationexam.common.ids.TimeOrderedUuid;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -12,7 +10,8 @@ import java.util.UUID;
 @Table(name = "users",
         indexes = {
                 @Index(name = "ix_users_username", columnList = "username", unique = true),
-                @Index(name = "ix_users_email", columnList = "email", unique = true)
+                @Index(name = "ix_users_email", columnList = "email", unique = true),
+                @Index(name = "ix_users_renewal", columnList = "subscription_tier, subscription_active, next_renewal_at")
         })
 @Getter
 @Setter
@@ -23,9 +22,8 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @UuidGenerator
-    @JdbcTypeCode(SqlTypes.CHAR)
-    @Column(name = "id", nullable = false, updatable = false, length = 36, columnDefinition = "char(36)")
+    @TimeOrderedUuid
+    @Column(name = "id", nullable = false, updatable = false)
     private UUID id;
 
     @Column(nullable = false, length = 64, unique = true)
@@ -1,8 +1,15 @@
 package project.fitnessapplicationexam.user.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.User;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +24,23 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     boolean existsByEmail(String email);
 
+    @Query("select u.id from User u where u.id > :after order by u.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    @Query("select u.id from User u where u.subscriptionTier = :tier and u.id > :after order by u.id")
+    List<UUID> findIdsByTierAfter(@Param("tier") SubscriptionTier tier, @Param("after") UUID after, Limit limit);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE users
+            SET next_renewal_at = TIMESTAMPADD(DAY, :days, next_renewal_at), updated_at = :now
+            WHERE subscription_tier = 'PRO' AND subscription_active = TRUE
+              AND next_renewal_at >= :from AND next_renewal_at < :to
+            LIMIT :limit
+            """)
+    int extendProRenewalsDueBetween(@Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("days") int days,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
 }
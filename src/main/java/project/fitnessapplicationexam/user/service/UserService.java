@@ -3,9 +3,17 @@ package project.fitnessapplicationexam.user.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
+import project.fitnessapplicationexam.user.dto.UserCredentials;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.repository.UserRepository;
@@ -19,6 +27,7 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User findByIdOrThrow(UUID id) {
         return userRepository.findById(id)
@@ -31,6 +40,31 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
     }
 
+    @Cacheable(value = "currentUser", key = "#username")
+    @Transactional(readOnly = true)
+    public CurrentUser currentUser(String username) {
+        return CurrentUser.of(findByUsernameOrThrow(username));
+    }
+
+    @Cacheable(value = "userCredentials", key = "#username")
+    @Transactional(readOnly = true)
+    public UserCredentials credentials(String username) {
+        return UserCredentials.of(findByUsernameOrThrow(username));
+    }
+
+    /**
+     * Drops the cached {@link CurrentUser} and {@link UserCredentials} once the change is
+     * committed, so a concurrent request cannot put the old row back into the cache.
+     */
+    @Caching(evict = {
+            @CacheEvict(value = "currentUser", key = "#event.username()"),
+            @CacheEvict(value = "userCredentials", key = "#event.username()")
+    })
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting cached snapshots of user {}", event.userId());
+    }
+
     @Transactional
     public User register(String username, String rawPwd, String email, String first, String last) {
         if (userRepository.existsByUsername(username)) {
@@ -71,6 +105,27 @@ public class UserService {
         String oldUsername = user.getUsername();
         user.setUsername(username);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, oldUsername));
         log.info("Username changed for user {}: {} -> {}", userId, oldUsername, username);
     }
+
+    @Transactional
+    public boolean setActive(UUID userId, boolean active) {
+        return userRepository.findById(userId).map(user -> {
+            user.setActive(active);
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
+            return true;
+        }).orElse(false);
+    }
+
+    @Transactional
+    public boolean changeRole(UUID userId, UserRole role) {
+        return userRepository.findById(userId).map(user -> {
+            user.setRole(role);
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
+            return true;
+        }).orElse(false);
+    }
 }
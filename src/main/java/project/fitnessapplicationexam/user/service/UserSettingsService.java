@@ -3,9 +3,11 @@ package project.fitnessapplicationexam.user.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.common.exceptions.InvalidAvatarUrlException;
 import project.fitnessapplicationexam.user.repository.UserRepository;
@@ -22,6 +24,7 @@ public class UserSettingsService {
     private static final Logger log = LoggerFactory.getLogger(UserSettingsService.class);
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public User requireByUsername(String username) {
@@ -41,6 +44,7 @@ public class UserSettingsService {
         }
         user.setProfilePicture(trimmedUrl);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
         log.info("Avatar URL updated for user {}", userId);
     }
 
@@ -49,6 +53,7 @@ public class UserSettingsService {
         User user = userRepository.findById(userId).orElseThrow();
         user.setProfilePicture(null);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
         log.info("Avatar removed for user {}", userId);
     }
 
@@ -66,6 +71,7 @@ public class UserSettingsService {
         }
         user.setPasswordHash(passwordEncoder.encode(newRaw));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
         log.info("Password changed for user {}", userId);
     }
 }
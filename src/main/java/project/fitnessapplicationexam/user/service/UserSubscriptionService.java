@@ -3,11 +3,14 @@ package project.fitnessapplicationexam.user.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.repository.UserRepository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import project.fitnessapplicationexam.config.ValidationConstants;
@@ -18,6 +21,7 @@ public class UserSubscriptionService {
 
     private static final Logger log = LoggerFactory.getLogger(UserSubscriptionService.class);
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public SubscriptionTier getTier(UUID userId) {
@@ -32,6 +36,7 @@ public class UserSubscriptionService {
         user.setSubscriptionActive(true);
         user.setNextRenewalAt(null);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
         log.info("User {} switched to BASIC", userId);
     }
 
@@ -42,6 +47,7 @@ public class UserSubscriptionService {
         user.setSubscriptionActive(true);
         user.setNextRenewalAt(LocalDateTime.now().plusDays(ValidationConstants.SUBSCRIPTION_RENEWAL_DAYS));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
         log.info("User {} switched to PRO; next renewal {}", userId, user.getNextRenewalAt());
     }
 
@@ -50,9 +56,21 @@ public class UserSubscriptionService {
         User user = userRepository.findById(userId).orElseThrow();
         user.setSubscriptionActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getUsername()));
         log.info("User {} subscription deactivated", userId);
     }
 
+    /**
+     * Pushes the next renewal of up to {@code batchSize} active PRO subscriptions due on
+     * {@code day} forward by one period. Renewed rows leave the due window, so calling this
+     * until it returns less than {@code batchSize} renews everything due that day.
+     */
+    @Transactional
+    public int renewProSubscriptionsDueOn(LocalDate day, int batchSize) {
+        return userRepository.extendProRenewalsDueBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                ValidationConstants.SUBSCRIPTION_RENEWAL_DAYS, LocalDateTime.now(), batchSize);
+    }
+
     @Transactional(readOnly = true)
     public boolean isPro(UUID userId) {
         User user = userRepository.findById(userId).orElse(null);
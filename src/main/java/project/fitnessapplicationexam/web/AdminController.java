@@ -4,12 +4,11 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.model.User;
@@ -30,47 +29,39 @@ public class AdminController {
     private final UserService userService;
 
     @GetMapping("/users")
-    public String users(@AuthenticationPrincipal UserDetails me, Model model) {
-        User currentUser = userService.findByUsernameOrThrow(me.getUsername());
-        model.addAttribute("navAvatar", currentUser.getProfilePicture());
-        model.addAttribute("username", currentUser.getUsername());
-        model.addAttribute("isAdmin", currentUser.getRole() == UserRole.ADMIN);
-        model.addAttribute("currentUserId", currentUser.getId());
+    public String users(CurrentUser me, Model model) {
+        model.addAttribute("currentUserId", me.id());
         model.addAttribute("users", userRepository.findAll());
         return "admin-users";
     }
 
     @PostMapping("/users/{id}/deactivate-account")
     public String deactivateAccount(@PathVariable UUID id,
-                                   @AuthenticationPrincipal UserDetails me,
+                                   CurrentUser me,
                                    RedirectAttributes ra) {
         if (isSelfOperation(id, me, ra, "You cannot deactivate your own account.")) {
             return "redirect:/admin/users";
         }
         
-        userRepository.findById(id).ifPresent(user -> {
-            user.setActive(false);
-            userRepository.save(user);
+        if (userService.setActive(id, false)) {
             log.info("Account deactivated by admin: user {}", id);
-        });
+        }
         ra.addFlashAttribute("successMessage", "Account deactivated.");
         return "redirect:/admin/users";
     }
 
     @PostMapping("/users/{id}/activate-account")
     public String activateAccount(@PathVariable UUID id, RedirectAttributes ra) {
-        userRepository.findById(id).ifPresent(user -> {
-            user.setActive(true);
-            userRepository.save(user);
+        if (userService.setActive(id, true)) {
             log.info("Account activated by admin: user {}", id);
-        });
+        }
         ra.addFlashAttribute("successMessage", "Account activated.");
         return "redirect:/admin/users";
     }
 
     @PostMapping("/users/{id}/deactivate-subscription")
     public String deactivateSubscription(@PathVariable UUID id,
-                                        @AuthenticationPrincipal UserDetails me,
+                                        CurrentUser me,
                                         RedirectAttributes ra) {
         if (isSelfOperation(id, me, ra, "You cannot deactivate your own subscription.")) {
             return "redirect:/admin/users";
@@ -83,7 +74,7 @@ public class AdminController {
 
     @PostMapping("/users/{id}/toggle-subscription")
     public String toggleSubscription(@PathVariable UUID id,
-                                   @AuthenticationPrincipal UserDetails me,
+                                   CurrentUser me,
                                    RedirectAttributes ra) {
         if (isSelfOperation(id, me, ra, "You cannot modify your own subscription from here. Please use the subscription page.")) {
             return "redirect:/admin/users";
@@ -103,7 +94,7 @@ public class AdminController {
 
     @PostMapping("/users/{id}/resume-subscription")
     public String resumeSubscription(@PathVariable UUID id,
-                                    @AuthenticationPrincipal UserDetails me,
+                                    CurrentUser me,
                                     RedirectAttributes ra) {
         if (isSelfOperation(id, me, ra, "You cannot resume your own subscription from here. Please use the subscription page.")) {
             return "redirect:/admin/users";
@@ -121,45 +112,38 @@ public class AdminController {
 
     @PostMapping("/users/{id}/make-admin")
     public String makeAdmin(@PathVariable UUID id,
-                           @AuthenticationPrincipal UserDetails me,
+                           CurrentUser me,
                            RedirectAttributes ra) {
-        User currentUser = userService.findByUsernameOrThrow(me.getUsername());
-        if (currentUser.getId().equals(id)) {
+        if (me.id().equals(id)) {
             ra.addFlashAttribute("errorMessage", "You are already an admin.");
             return "redirect:/admin/users";
         }
 
-        userRepository.findById(id).ifPresent(user -> {
-            user.setRole(UserRole.ADMIN);
-            userRepository.save(user);
-            log.info("User {} promoted to admin by {}", id, currentUser.getUsername());
-        });
+        if (userService.changeRole(id, UserRole.ADMIN)) {
+            log.info("User {} promoted to admin by {}", id, me.username());
+        }
         ra.addFlashAttribute("successMessage", "User promoted to admin.");
         return "redirect:/admin/users";
     }
 
     @PostMapping("/users/{id}/remove-admin")
     public String removeAdmin(@PathVariable UUID id,
-                            @AuthenticationPrincipal UserDetails me,
+                            CurrentUser me,
                             RedirectAttributes ra) {
-        User currentUser = userService.findByUsernameOrThrow(me.getUsername());
-        if (currentUser.getId().equals(id)) {
+        if (me.id().equals(id)) {
             ra.addFlashAttribute("errorMessage", "You cannot remove admin status from yourself.");
             return "redirect:/admin/users";
         }
         
-        userRepository.findById(id).ifPresent(user -> {
-            user.setRole(UserRole.USER);
-            userRepository.save(user);
-            log.info("Admin status removed from user {} by {}", id, currentUser.getUsername());
-        });
+        if (userService.changeRole(id, UserRole.USER)) {
+            log.info("Admin status removed from user {} by {}", id, me.username());
+        }
         ra.addFlashAttribute("successMessage", "Admin status removed.");
         return "redirect:/admin/users";
     }
 
-    private boolean isSelfOperation(UUID targetId, UserDetails me, RedirectAttributes ra, String errorMessage) {
-        User currentUser = userService.findByUsernameOrThrow(me.getUsername());
-        if (currentUser.getId().equals(targetId)) {
+    private boolean isSelfOperation(UUID targetId, CurrentUser me, RedirectAttributes ra, String errorMessage) {
+        if (me.id().equals(targetId)) {
             ra.addFlashAttribute("errorMessage", errorMessage);
             return true;
         }
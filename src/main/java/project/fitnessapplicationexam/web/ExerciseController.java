@@ -3,8 +3,6 @@ package project.fitnessapplicationexam.web;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.annotation.Validated;
@@ -16,9 +14,7 @@ import project.fitnessapplicationexam.exercise.model.Equipment;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.model.MuscleGroup;
 import project.fitnessapplicationexam.exercise.service.ExerciseService;
-import project.fitnessapplicationexam.user.service.UserService;
-import project.fitnessapplicationexam.user.model.User;
-import project.fitnessapplicationexam.user.model.UserRole;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -30,12 +26,10 @@ import java.util.UUID;
 public class ExerciseController {
     private static final Logger log = LoggerFactory.getLogger(ExerciseController.class);
     private final ExerciseService exerciseService;
-    private final UserService userService;
 
     @GetMapping
-    public String list(@AuthenticationPrincipal UserDetails me, Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        UUID ownerId = user.getId();
+    public String list(CurrentUser user, Model model) {
+        UUID ownerId = user.id();
         List<UUID> owners = List.of(SystemDefault.SYSTEM_USER_ID, ownerId);
 
         List<ExerciseRow> rows = exerciseService.findAllByOwnerUserIdInOrderByNameAsc(owners)
@@ -50,9 +44,6 @@ public class ExerciseController {
                 .toList();
 
         model.addAttribute("exercises", rows);
-        model.addAttribute("navAvatar", user.getProfilePicture());
-        model.addAttribute("username", user.getUsername());
-        model.addAttribute("isAdmin", user.getRole() == UserRole.ADMIN);
         model.addAttribute("form", new ExerciseForm());
         model.addAttribute("muscles", MuscleGroup.values());
         model.addAttribute("equipments", Equipment.values());
@@ -60,9 +51,9 @@ public class ExerciseController {
     }
 
     @PostMapping({"", "/", "/create", "/add"})
-    public String create(@AuthenticationPrincipal UserDetails me,
+    public String create(CurrentUser user,
                          @ModelAttribute @Validated ExerciseForm form) {
-        UUID ownerId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID ownerId = user.id();
         Exercise exercise = Exercise.builder()
                 .ownerUserId(ownerId)
                 .name(form.getName())
@@ -75,8 +66,8 @@ public class ExerciseController {
     }
 
     @PostMapping("/{id}/delete")
-    public String delete(@PathVariable UUID id, @AuthenticationPrincipal UserDetails me) {
-        UUID ownerId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+    public String delete(@PathVariable UUID id, CurrentUser user) {
+        UUID ownerId = user.id();
         exerciseService.findByIdAndOwnerUserId(id, ownerId).ifPresent(exercise -> {
             exerciseService.delete(id);
             log.info("Exercise '{}' deleted by user {}", exercise.getName(), ownerId);
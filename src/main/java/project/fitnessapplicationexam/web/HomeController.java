@@ -1,29 +1,22 @@
 package project.fitnessapplicationexam.web;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import project.fitnessapplicationexam.user.service.UserService;
 import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
-import project.fitnessapplicationexam.user.model.User;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 
 @Controller
 @RequiredArgsConstructor
 public class HomeController {
 
-    private final UserService userService;
     private final WorkoutSessionRepository sessions;
 
     @GetMapping({"/", "/home"})
-    public String index(@AuthenticationPrincipal UserDetails me, Model model) {
-        if (me != null) {
-            User user = userService.findByUsernameOrThrow(me.getUsername());
-            model.addAttribute("navAvatar", user.getProfilePicture());
-            model.addAttribute("username", user.getUsername());
-            model.addAttribute("recentWorkouts", sessions.findTop5ByUserIdOrderByStartedAtDesc(user.getId()));
+    public String index(CurrentUser user, Model model) {
+        if (user != null) {
+            model.addAttribute("recentWorkouts", sessions.findTop5ByUserIdOrderByStartedAtDesc(user.id()));
         }
         return "index";
     }
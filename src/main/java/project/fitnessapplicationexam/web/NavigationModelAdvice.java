@@ -0,0 +1,20 @@
+package project.fitnessapplicationexam.web;
+
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
+
+@ControllerAdvice
+public class NavigationModelAdvice {
+
+    @ModelAttribute
+    public void navigation(CurrentUser user, Model model) {
+        if (user == null) {
+            return;
+        }
+        model.addAttribute("navAvatar", user.profilePicture());
+        model.addAttribute("username", user.username());
+        model.addAttribute("isAdmin", user.isAdmin());
+    }
+}
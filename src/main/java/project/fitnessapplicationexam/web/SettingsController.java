@@ -4,15 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import project.fitnessapplicationexam.user.model.User;
-import project.fitnessapplicationexam.user.model.UserRole;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.service.UserService;
 import project.fitnessapplicationexam.user.service.UserSettingsService;
 import java.util.UUID;
@@ -27,29 +25,25 @@ public class SettingsController {
     private final UserService userService;
 
     @GetMapping({"", "/"})
-    public String settings(@AuthenticationPrincipal UserDetails me, Model model) {
-        User user = settings.requireByUsername(me.getUsername());
-        model.addAttribute("username", user.getUsername());
-        model.addAttribute("avatarPath", user.getProfilePicture());
-        model.addAttribute("navAvatar", user.getProfilePicture());
-        model.addAttribute("isAdmin", user.getRole() == UserRole.ADMIN);
+    public String settings(CurrentUser me, Model model) {
+        model.addAttribute("avatarPath", me.profilePicture());
         return "settings";
     }
 
     @PostMapping("/avatar-url")
-    public String setAvatarUrl(@AuthenticationPrincipal UserDetails me,
+    public String setAvatarUrl(CurrentUser me,
                                @RequestParam("avatarUrl") String avatarUrl,
                                RedirectAttributes ra) {
-        UUID id = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID id = me.id();
         settings.setAvatarUrl(id, avatarUrl);
         ra.addFlashAttribute("successMessage", "Profile picture updated.");
         return "redirect:/settings";
     }
 
     @PostMapping("/avatar/delete")
-    public String deleteAvatar(@AuthenticationPrincipal UserDetails me,
+    public String deleteAvatar(CurrentUser me,
                                RedirectAttributes ra) {
-        UUID id = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID id = me.id();
         settings.removeAvatar(id);
         ra.addFlashAttribute("successMessage", "Profile picture removed.");
         return "redirect:/settings";
@@ -57,10 +51,10 @@ public class SettingsController {
 
 
     @PostMapping("/profile")
-    public String updateUsername(@AuthenticationPrincipal UserDetails me,
+    public String updateUsername(CurrentUser me,
                                  @RequestParam("username") String newUsername,
                                  RedirectAttributes ra) {
-        UUID userId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID userId = me.id();
         userService.changeUsername(userId, newUsername);
         updateSecurityContext(userId);
         ra.addFlashAttribute("successMessage", "Profile saved.");
@@ -84,12 +78,12 @@ public class SettingsController {
 
 
     @PostMapping("/password")
-    public String changePassword(@AuthenticationPrincipal UserDetails me,
+    public String changePassword(CurrentUser me,
                                  @RequestParam String currentPassword,
                                  @RequestParam String newPassword,
                                  @RequestParam String confirmPassword,
                                  RedirectAttributes ra) {
-        UUID userId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID userId = me.id();
         settings.changePassword(userId, currentPassword, newPassword, confirmPassword);
         ra.addFlashAttribute("successMessage", "Password changed.");
         return "redirect:/settings";
@@ -3,8 +3,6 @@ package project.fitnessapplicationexam.web;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +10,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.User;
-import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.service.UserService;
 import project.fitnessapplicationexam.user.service.UserSubscriptionService;
 import java.util.UUID;
@@ -29,22 +27,19 @@ public class SubscriptionController {
     private final UserService userService;
 
     @GetMapping
-    public String view(@AuthenticationPrincipal UserDetails me, Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        model.addAttribute("navAvatar", user.getProfilePicture());
-        model.addAttribute("username", user.getUsername());
+    public String view(CurrentUser me, Model model) {
+        User user = userService.findByIdOrThrow(me.id());
         model.addAttribute("currentTier", user.getSubscriptionTier());
         model.addAttribute("subscriptionActive", user.isSubscriptionActive());
         model.addAttribute("nextRenewalAt", user.getNextRenewalAt());
-        model.addAttribute("isAdmin", user.getRole() == UserRole.ADMIN);
         return "subscription";
     }
 
     @PostMapping("/select")
-    public String select(@AuthenticationPrincipal UserDetails me,
+    public String select(CurrentUser me,
                          @RequestParam("tier") SubscriptionTier tier,
                          RedirectAttributes ra) {
-        UUID id = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID id = me.id();
         if (tier == SubscriptionTier.BASIC) {
             subscriptions.activateBasic(id);
             log.info("User {} switched to BASIC subscription", id);
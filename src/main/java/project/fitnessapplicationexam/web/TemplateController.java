@@ -5,8 +5,6 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -18,13 +16,10 @@ import project.fitnessapplicationexam.template.form.TemplateForm;
 import project.fitnessapplicationexam.template.dto.TemplateItemForEditDto;
 import project.fitnessapplicationexam.template.form.TemplateItemForm;
 import project.fitnessapplicationexam.template.service.TemplateService;
-import project.fitnessapplicationexam.user.service.UserService;
-import project.fitnessapplicationexam.user.model.User;
-import project.fitnessapplicationexam.user.model.UserRole;
-import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.template.model.WorkoutTemplate;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,33 +34,19 @@ public class TemplateController {
 
     private static final Logger log = LoggerFactory.getLogger(TemplateController.class);
     private final TemplateService templateService;
-    private final UserService userService;
 
     @GetMapping
-    public String list(@AuthenticationPrincipal UserDetails me, Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        UUID userId = user.getId();
-        addCommonAttributes(model, user);
+    public String list(CurrentUser user, Model model) {
+        UUID userId = user.id();
         model.addAttribute("templates", templateService.list(userId));
         return "templates";
     }
 
     @GetMapping("/create")
-    public String createForm(@AuthenticationPrincipal UserDetails me, Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
+    public String createForm(CurrentUser user, Model model) {
+        List<ExerciseOptionDto> options = exerciseOptions(user.id());
 
-        List<ExerciseOptionDto> options = templateService.getAvailableExercises(user.getId())
-                .stream()
-                .map(ex -> new ExerciseOptionDto(
-                        ex.getId(),
-                        ex.getName(),
-                        ex.getPrimaryMuscle(),
-                        ex.getOwnerUserId()
-                ))
-                .toList();
-
-        addCommonAttributes(model, user);
-        model.addAttribute("isPro", user.getSubscriptionTier() == SubscriptionTier.PRO && user.isSubscriptionActive());
+        model.addAttribute("isPro", user.isPro());
         model.addAttribute("form", new TemplateForm());
         model.addAttribute("exercises", options);
         return "create";
@@ -73,16 +54,16 @@ public class TemplateController {
 
     @PostMapping({"", "/", "/create", "/add"})
     @Transactional
-    public String create(@AuthenticationPrincipal UserDetails me,
+    public String create(CurrentUser user,
                          @ModelAttribute("form") @Valid TemplateForm form,
                          BindingResult binding,
                          Model model,
                          RedirectAttributes ra) {
 
-        UUID userId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID userId = user.id();
 
         if (binding.hasErrors()) {
-            model.addAttribute("exercises", templateService.getAvailableExercises(userId));
+            model.addAttribute("exercises", exerciseOptions(userId));
             return "create";
         }
 
@@ -117,9 +98,9 @@ public class TemplateController {
     @PostMapping("/{id}/delete")
     @Transactional
     public String delete(@PathVariable UUID id,
-                         @AuthenticationPrincipal UserDetails me,
+                         CurrentUser user,
                          RedirectAttributes ra) {
-        UUID ownerId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID ownerId = user.id();
 
         templateService.deleteTemplate(id, ownerId);
 
@@ -133,10 +114,9 @@ public class TemplateController {
 
     @GetMapping("/{id}/edit")
     public String editForm(@PathVariable UUID id,
-                           @AuthenticationPrincipal UserDetails me,
+                           CurrentUser user,
                            Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        UUID ownerId = user.getId();
+        UUID ownerId = user.id();
 
         WorkoutTemplate tpl = templateService.findByIdAndOwner(id, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
@@ -157,21 +137,12 @@ public class TemplateController {
                 .filter(dto -> dto.exerciseId() != null)
                 .toList();
 
-        List<ExerciseOptionDto> options = templateService.getAvailableExercises(ownerId)
-                .stream()
-                .map(ex -> new ExerciseOptionDto(
-                        ex.getId(),
-                        ex.getName(),
-                        ex.getPrimaryMuscle(),
-                        ex.getOwnerUserId()
-                ))
-                .toList();
+        List<ExerciseOptionDto> options = exerciseOptions(ownerId);
 
         TemplateForm form = new TemplateForm();
         form.setName(tpl.getName());
 
-        addCommonAttributes(model, user);
-        model.addAttribute("isPro", user.getSubscriptionTier() == SubscriptionTier.PRO && user.isSubscriptionActive());
+        model.addAttribute("isPro", user.isPro());
         model.addAttribute("template", tpl);
         model.addAttribute("form", form);
         model.addAttribute("items", itemsDto);
@@ -183,13 +154,13 @@ public class TemplateController {
     @PostMapping("/{id}/edit")
     @Transactional
     public String editSave(@PathVariable UUID id,
-                           @AuthenticationPrincipal UserDetails me,
+                           CurrentUser user,
                            @ModelAttribute("form") @Valid TemplateForm form,
                            BindingResult binding,
                            Model model,
                            RedirectAttributes ra) {
 
-        UUID ownerId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+        UUID ownerId = user.id();
         Optional<WorkoutTemplate> tplOpt = templateService.findByIdAndOwner(id, ownerId);
         if (tplOpt.isEmpty()) {
             ra.addFlashAttribute("error", "Template not found or not accessible.");
@@ -197,8 +168,6 @@ public class TemplateController {
         }
         WorkoutTemplate tpl = tplOpt.get();
 
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        addCommonAttributes(model, user);
         model.addAttribute("template", tpl);
 
         if (binding.hasErrors()) return "edit";
@@ -245,8 +214,8 @@ public class TemplateController {
     @GetMapping("/{id}/exercises")
     @ResponseBody
     public List<ExerciseSummary> templateExercises(@PathVariable UUID id,
-                                                   @AuthenticationPrincipal UserDetails me) {
-        UUID ownerId = userService.findByUsernameOrThrow(me.getUsername()).getId();
+                                                   CurrentUser user) {
+        UUID ownerId = user.id();
 
         WorkoutTemplate tpl = templateService.findByIdAndOwner(id, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
@@ -267,9 +236,11 @@ public class TemplateController {
         return out;
     }
 
-    private void addCommonAttributes(Model model, User user) {
-        model.addAttribute("navAvatar", user.getProfilePicture());
-        model.addAttribute("username", user.getUsername());
-        model.addAttribute("isAdmin", user.getRole() == UserRole.ADMIN);
+
+    private List<ExerciseOptionDto> exerciseOptions(UUID userId) {
+        return templateService.getAvailableExercises(userId)
+                .stream()
+                .map(ex -> new ExerciseOptionDto(ex.id(), ex.name(), ex.primaryMuscle(), ex.ownerUserId()))
+                .toList();
     }
 }
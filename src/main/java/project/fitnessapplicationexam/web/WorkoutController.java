@@ -1,13 +1,12 @@
 package project.fitnessapplicationexam.web;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
@@ -16,21 +15,20 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import project.fitnessapplicationexam.config.SystemDefault;
 import project.fitnessapplicationexam.template.service.TemplateService;
-import project.fitnessapplicationexam.user.service.UserService;
 import project.fitnessapplicationexam.workout.dto.FinishWorkoutRequest;
 import project.fitnessapplicationexam.workout.dto.ExerciseSetData;
 import project.fitnessapplicationexam.workout.dto.ExercisePayload;
 import project.fitnessapplicationexam.workout.dto.SetData;
 import project.fitnessapplicationexam.workout.dto.ExerciseBlock;
+import project.fitnessapplicationexam.workout.dto.HistoryPage;
+import project.fitnessapplicationexam.workout.dto.WorkoutSetRequest;
+import project.fitnessapplicationexam.workout.dto.WorkoutSetResponse;
 import project.fitnessapplicationexam.workout.dto.WorkoutView;
 import project.fitnessapplicationexam.workout.model.WorkoutSet;
 import project.fitnessapplicationexam.workout.model.WorkoutSession;
 import project.fitnessapplicationexam.exercise.dto.ExerciseSelect;
 import project.fitnessapplicationexam.template.dto.ExerciseOption;
 import project.fitnessapplicationexam.workout.service.WorkoutService;
-import project.fitnessapplicationexam.user.model.User;
-import project.fitnessapplicationexam.user.model.UserRole;
-import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import java.util.ArrayList;
@@ -42,6 +40,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import project.fitnessapplicationexam.config.ValidationConstants;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 
 @Controller
 @RequestMapping("/workouts")
@@ -51,27 +50,33 @@ public class WorkoutController {
     private static final Logger log = LoggerFactory.getLogger(WorkoutController.class);
     private final WorkoutService workoutService;
     private final TemplateService templateService;
-    private final UserService userService;
 
 
     @GetMapping
-    public String history(@AuthenticationPrincipal UserDetails me, Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        UUID userId = user.getId();
+    public String history(CurrentUser user, Model model) {
+        UUID userId = user.id();
 
-        addCommonAttributes(model, user);
-        model.addAttribute("sessions", workoutService.getRecentSessions(userId, ValidationConstants.RECENT_SESSIONS_LIMIT_50));
+        HistoryPage page = workoutService.history(userId, null, ValidationConstants.HISTORY_PAGE_SIZE);
+        model.addAttribute("sessions", page.sessions());
+        model.addAttribute("nextCursor", page.nextCursor());
         model.addAttribute("templates", templateService.list(userId));
 
         return "history";
     }
 
+    @GetMapping(value = "/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public HistoryPage historyPage(CurrentUser user,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "" + ValidationConstants.HISTORY_PAGE_SIZE) int size) {
+        return workoutService.history(user.id(), cursor, size);
+    }
+
     @GetMapping("/session")
-    public String session(@AuthenticationPrincipal UserDetails me,
+    public String session(CurrentUser user,
                           @RequestParam(required = false) UUID sessionId,
                           Model model) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        UUID userId = user.getId();
+        UUID userId = user.id();
 
         WorkoutSession session = (sessionId != null)
                 ? workoutService.findById(sessionId).orElseThrow()
@@ -81,8 +86,7 @@ public class WorkoutController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
 
-        addCommonAttributes(model, user);
-        model.addAttribute("isPro", user.getSubscriptionTier() == SubscriptionTier.PRO && user.isSubscriptionActive());
+        model.addAttribute("isPro", user.isPro());
         model.addAttribute("sessionId", session.getId());
         model.addAttribute("startedAt", session.getStartedAt());
 
@@ -108,14 +112,12 @@ public class WorkoutController {
 
     @GetMapping("/{id}")
     public String details(@PathVariable UUID id,
-                          @AuthenticationPrincipal UserDetails me,
+                          CurrentUser user,
                           Model model,
                           RedirectAttributes ra) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        addCommonAttributes(model, user);
 
         WorkoutSession session = workoutService.findById(id)
-                .filter(s -> Objects.equals(s.getUserId(), user.getId()))
+                .filter(s -> Objects.equals(s.getUserId(), user.id()))
                 .orElse(null);
 
         if (session == null) {
@@ -140,36 +142,60 @@ public class WorkoutController {
 
 
     @RequestMapping(value = "/{id}/finish", method = {RequestMethod.GET, RequestMethod.POST})
-    public String finishQuick(@PathVariable UUID id, @AuthenticationPrincipal UserDetails me) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        workoutService.finishSession(id, user.getId());
+    public String finishQuick(@PathVariable UUID id, CurrentUser user) {
+        workoutService.finishSession(id, user.id());
         return "redirect:/workouts";
     }
 
     @PostMapping(value = "/finish", consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     @Transactional
-    public ResponseEntity<?> finishRich(@AuthenticationPrincipal UserDetails me,
+    public ResponseEntity<?> finishRich(CurrentUser user,
                                         @RequestBody FinishWorkoutRequest body) {
         if (body == null || body.getSessionId() == null) {
             return ResponseEntity.badRequest().body("Missing sessionId");
         }
 
-        User user = userService.findByUsernameOrThrow(me.getUsername());
         List<ExerciseSetData> exerciseSets = mapToExerciseSetData(body.getExercises());
         
-        workoutService.finishSessionWithSets(body.getSessionId(), user.getId(), exerciseSets);
-        log.info("Workout session {} finished by user {} via API", body.getSessionId(), user.getId());
+        workoutService.finishSessionWithSets(body.getSessionId(), user.id(), exerciseSets);
+        log.info("Workout session {} finished by user {} via API", body.getSessionId(), user.id());
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/{id}/sets", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<WorkoutSetResponse> appendSet(@PathVariable UUID id,
+                                                        CurrentUser user,
+                                                        @Valid @RequestBody WorkoutSetRequest body) {
+        WorkoutSet saved = workoutService.addSet(id, user.id(), body);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toSetResponse(saved));
+    }
+
+    @PutMapping(value = "/{id}/sets/{setId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<WorkoutSetResponse> updateSet(@PathVariable UUID id,
+                                                        @PathVariable UUID setId,
+                                                        CurrentUser user,
+                                                        @Valid @RequestBody WorkoutSetRequest body) {
+        WorkoutSet updated = workoutService.updateSet(id, setId, user.id(), body);
+        return ResponseEntity.ok(toSetResponse(updated));
+    }
+
+    @DeleteMapping("/{id}/sets/{setId}")
+    @ResponseBody
+    public ResponseEntity<Void> deleteSet(@PathVariable UUID id,
+                                          @PathVariable UUID setId,
+                                          CurrentUser user) {
+        workoutService.deleteSet(id, setId, user.id());
+        return ResponseEntity.noContent().build();
+    }
 
     @GetMapping("/templates/{templateId}/exercises")
     @ResponseBody
     public List<ExerciseOption> templateExercises(@PathVariable UUID templateId,
-                                                  @AuthenticationPrincipal UserDetails me) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        UUID ownerId = user.getId();
+                                                  CurrentUser user) {
+        UUID ownerId = user.id();
 
         templateService.findByIdAndOwner(templateId, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
@@ -202,19 +228,27 @@ public class WorkoutController {
     @PostMapping("/{id}/delete")
     @Transactional
     public String deleteWorkout(@PathVariable UUID id,
-                                @AuthenticationPrincipal UserDetails me,
+                                CurrentUser user,
                                 RedirectAttributes ra) {
-        User user = userService.findByUsernameOrThrow(me.getUsername());
-        workoutService.deleteSession(id, user.getId());
-        log.info("Workout session {} deleted by user {}", id, user.getId());
+        workoutService.deleteSession(id, user.id());
+        log.info("Workout session {} deleted by user {}", id, user.id());
         ra.addFlashAttribute("success", "Workout deleted.");
         return "redirect:/workouts";
     }
 
-    private void addCommonAttributes(Model model, User user) {
-        model.addAttribute("navAvatar", user.getProfilePicture());
-        model.addAttribute("username", user.getUsername());
-        model.addAttribute("isAdmin", user.getRole() == UserRole.ADMIN);
+
+    private WorkoutSetResponse toSetResponse(WorkoutSet set) {
+        return new WorkoutSetResponse(
+                set.getId(),
+                set.getExerciseId(),
+                set.getWeight(),
+                set.getReps(),
+                set.getGroupId(),
+                set.getGroupType(),
+                set.getGroupOrder(),
+                set.getSetNumber(),
+                set.getExerciseOrder()
+        );
     }
 
     private List<ExerciseBlock> buildExerciseBlocks(List<WorkoutSet> sets, Map<UUID, Exercise> exercises) {
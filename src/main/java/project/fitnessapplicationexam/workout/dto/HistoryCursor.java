@@ -0,0 +1,37 @@
+package project.fitnessapplicationexam.workout.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a user's workout history: the {@code (startedAt, id)} of the last session
+ * on the previous page. Encoded as an opaque URL-safe token for clients.
+ */
+public record HistoryCursor(LocalDateTime startedAt, UUID id) {
+
+    public static HistoryCursor of(WorkoutSessionSummary session) {
+        return new HistoryCursor(session.startedAt(), session.id());
+    }
+
+    public String encode() {
+        String raw = startedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed history cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed history cursor", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package project.fitnessapplicationexam.workout.dto;
+
+import java.util.List;
+
+public record HistoryPage(
+        List<WorkoutSessionSummary> sessions,
+        String nextCursor
+) {}
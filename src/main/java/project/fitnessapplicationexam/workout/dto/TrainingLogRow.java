@@ -0,0 +1,13 @@
+package project.fitnessapplicationexam.workout.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TrainingLogRow(
+        UUID sessionId,
+        LocalDateTime startedAt,
+        UUID exerciseId,
+        Integer reps,
+        BigDecimal weight
+) {}
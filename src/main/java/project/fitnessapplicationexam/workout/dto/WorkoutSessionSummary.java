@@ -0,0 +1,28 @@
+package project.fitnessapplicationexam.workout.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+public record WorkoutSessionSummary(
+        UUID id,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        SessionStatus status,
+        Integer totalSets,
+        Integer totalReps,
+        BigDecimal totalVolume,
+        Long durationSeconds,
+        Integer exerciseCount,
+        Integer muscleGroupMask
+) {
+
+    @JsonProperty("muscleGroups")
+    public Set<MuscleGroup> muscleGroups() {
+        return MuscleGroup.fromMask(muscleGroupMask == null ? 0 : muscleGroupMask);
+    }
+}
@@ -0,0 +1,31 @@
+package project.fitnessapplicationexam.workout.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import project.fitnessapplicationexam.workout.model.SetGroupType;
+import java.util.UUID;
+
+@Data
+public class WorkoutSetRequest {
+    @NotNull(message = "Exercise is required")
+    private UUID exerciseId;
+
+    @NotNull(message = "Weight is required")
+    @Positive(message = "Weight must be > 0")
+    private Double weight;
+
+    @NotNull(message = "Reps are required")
+    @Min(value = 1, message = "Reps must be at least 1")
+    private Integer reps;
+
+    private UUID groupId;
+    private SetGroupType groupType;
+    private Integer groupOrder;
+    private Integer setNumber;
+
+    @PositiveOrZero(message = "Exercise order must be ≥ 0")
+    private Integer exerciseOrder;
+}
@@ -0,0 +1,17 @@
+package project.fitnessapplicationexam.workout.dto;
+
+import project.fitnessapplicationexam.workout.model.SetGroupType;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WorkoutSetResponse(
+        UUID id,
+        UUID exerciseId,
+        BigDecimal weight,
+        Integer reps,
+        UUID groupId,
+        SetGroupType groupType,
+        Integer groupOrder,
+        Integer setNumber,
+        Integer exerciseOrder
+) {}
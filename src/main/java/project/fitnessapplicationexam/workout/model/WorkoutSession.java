@@ -2,8 +2,8 @@ package project.fitnessapplicationexam.workout.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import project.fitnessapplicationexam.common.ids.TimeOrderedUuid;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,8 +12,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "workout_sessions",
         indexes = {
-                @Index(name = "ix_ws_user", columnList = "user_id"),
-                @Index(name = "ix_ws_status", columnList = "status")
+                @Index(name = "ix_ws_user_started", columnList = "user_id, started_at, id"),
+                @Index(name = "ix_ws_status_started", columnList = "status, started_at"),
+                @Index(name = "ix_ws_summary_pending", columnList = "total_sets, status")
         })
 @Getter
 @Setter
@@ -24,13 +25,11 @@ import java.util.UUID;
 public class WorkoutSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "id", columnDefinition = "char(36)")
+    @TimeOrderedUuid
+    @Column(name = "id")
     private UUID id;
 
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "user_id", nullable = false, columnDefinition = "char(36)")
+    @Column(name = "user_id", nullable = false)
     private UUID userId;
 
     @Column(name = "started_at", nullable = false)
@@ -45,6 +44,24 @@ public class WorkoutSession {
     @Builder.Default
     private SessionStatus status = SessionStatus.IN_PROGRESS;
 
+    @Column(name = "total_sets")
+    private Integer totalSets;
+
+    @Column(name = "total_reps")
+    private Integer totalReps;
+
+    @Column(name = "total_volume")
+    private BigDecimal totalVolume;
+
+    @Column(name = "duration_seconds")
+    private Long durationSeconds;
+
+    @Column(name = "exercise_count")
+    private Integer exerciseCount;
+
+    @Column(name = "muscle_group_mask")
+    private Integer muscleGroupMask;
+
     @OneToMany(mappedBy = "sessionId", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<WorkoutSet> sets = new ArrayList<>();
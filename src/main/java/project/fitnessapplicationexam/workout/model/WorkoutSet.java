@@ -2,8 +2,7 @@ package project.fitnessapplicationexam.workout.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import project.fitnessapplicationexam.common.ids.TimeOrderedUuid;
 import java.math.BigDecimal;
 import java.util.UUID;
 import project.fitnessapplicationexam.exercise.model.Exercise;
@@ -23,33 +22,29 @@ import project.fitnessapplicationexam.workout.model.SetGroupType;
 @EqualsAndHashCode(of = "id")
 public class WorkoutSet {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "id", columnDefinition = "char(36)")
+    @TimeOrderedUuid
+    @Column(name = "id")
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "session_id", nullable = false, insertable = false, updatable = false)
     private WorkoutSession session;
 
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "session_id", nullable = false, columnDefinition = "char(36)")
+    @Column(name = "session_id", nullable = false)
     private UUID sessionId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "exercise_id", nullable = false, insertable = false, updatable = false)
     private Exercise exercise;
 
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "exercise_id", nullable = false, columnDefinition = "char(36)")
+    @Column(name = "exercise_id", nullable = false)
     private UUID exerciseId;
 
     private Integer reps;
     private BigDecimal weight;
     private boolean warmup;
 
-    @JdbcTypeCode(SqlTypes.VARCHAR)
-    @Column(name = "group_id", columnDefinition = "char(36)")
+    @Column(name = "group_id")
     private UUID groupId;
 
     @Enumerated(EnumType.STRING)
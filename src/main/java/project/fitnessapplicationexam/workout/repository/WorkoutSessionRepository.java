@@ -1,17 +1,96 @@
 package project.fitnessapplicationexam.workout.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import project.fitnessapplicationexam.workout.dto.WorkoutSessionSummary;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
 import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface WorkoutSessionRepository extends JpaRepository<WorkoutSession, UUID> {
 
-    List<WorkoutSession> findAllByUserIdOrderByStartedAtDesc(UUID userId);
+    List<WorkoutSession> findTop5ByUserIdOrderByStartedAtDesc(UUID userId);
 
-    List<WorkoutSession> findTop50ByUserIdOrderByStartedAtDesc(UUID userId);
+    List<WorkoutSession> findByTotalSetsIsNullAndStatusOrderByIdAsc(SessionStatus status, Limit limit);
 
-    List<WorkoutSession> findTop5ByUserIdOrderByStartedAtDesc(UUID userId);
+    @Query("""
+            select s.id from WorkoutSession s
+            where s.status = :status and s.startedAt < :cutoff and s.finishedAt is null
+            order by s.startedAt, s.id
+            """)
+    List<UUID> findIdsStartedBefore(@Param("status") SessionStatus status,
+                                    @Param("cutoff") LocalDateTime cutoff,
+                                    Limit limit);
+
+    @Modifying
+    @Query("delete from WorkoutSession s where s.id in :ids and s.status = :status")
+    int deleteByIdInAndStatus(@Param("ids") Collection<UUID> ids, @Param("status") SessionStatus status);
+
+    @Query("""
+            select distinct s.userId from WorkoutSession s
+            where s.id in (select ws.sessionId from WorkoutSet ws where ws.exerciseId = :exerciseId)
+            """)
+    List<UUID> findUserIdsByExerciseId(@Param("exerciseId") UUID exerciseId);
+
+    @Modifying
+    @Query("""
+            update WorkoutSession s set s.totalSets = null
+            where s.id in (select ws.sessionId from WorkoutSet ws where ws.exerciseId = :exerciseId)
+            """)
+    int clearSummariesForExercise(@Param("exerciseId") UUID exerciseId);
+
+    @Query("""
+            select new project.fitnessapplicationexam.workout.dto.TrainingLogRow(
+                s.id, s.startedAt, ws.exerciseId, ws.reps, ws.weight)
+            from WorkoutSession s
+            left join WorkoutSet ws on ws.sessionId = s.id
+            where s.userId = :userId and s.status = :status
+            order by s.startedAt, s.id
+            """)
+    List<TrainingLogRow> findTrainingLogRows(@Param("userId") UUID userId, @Param("status") SessionStatus status);
+
+    @Query("""
+            select new project.fitnessapplicationexam.workout.dto.TrainingLogRow(
+                s.id, s.startedAt, ws.exerciseId, ws.reps, ws.weight)
+            from WorkoutSession s
+            join WorkoutSet ws on ws.sessionId = s.id
+            where s.userId = :userId and s.status = :status and ws.exerciseId in :exerciseIds
+            order by s.startedAt, s.id
+            """)
+    List<TrainingLogRow> findExerciseHistory(@Param("userId") UUID userId,
+                                             @Param("exerciseIds") Collection<UUID> exerciseIds,
+                                             @Param("status") SessionStatus status);
+
+    @Query("""
+            select new project.fitnessapplicationexam.workout.dto.WorkoutSessionSummary(
+                s.id, s.startedAt, s.finishedAt, s.status, s.totalSets, s.totalReps,
+                s.totalVolume, s.durationSeconds, s.exerciseCount, s.muscleGroupMask)
+            from WorkoutSession s
+            where s.userId = :userId
+            order by s.startedAt desc, s.id desc
+            """)
+    List<WorkoutSessionSummary> findHistoryFirstPage(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+            select new project.fitnessapplicationexam.workout.dto.WorkoutSessionSummary(
+                s.id, s.startedAt, s.finishedAt, s.status, s.totalSets, s.totalReps,
+                s.totalVolume, s.durationSeconds, s.exerciseCount, s.muscleGroupMask)
+            from WorkoutSession s
+            where s.userId = :userId
+              and (s.startedAt < :startedAt or (s.startedAt = :startedAt and s.id < :id))
+            order by s.startedAt desc, s.id desc
+            """)
+    List<WorkoutSessionSummary> findHistoryAfter(@Param("userId") UUID userId,
+                                                 @Param("startedAt") LocalDateTime startedAt,
+                                                 @Param("id") UUID id,
+                                                 Limit limit);
 }
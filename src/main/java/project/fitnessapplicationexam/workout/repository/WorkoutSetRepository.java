@@ -1,19 +1,41 @@
 package project.fitnessapplicationexam.workout.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
 import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WorkoutSetRepository extends JpaRepository<WorkoutSet, UUID> {
 
-    void deleteBySessionId(UUID sessionId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from WorkoutSet ws where ws.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") UUID sessionId);
+
+    @Modifying
+    @Query("""
+            delete from WorkoutSet ws
+            where ws.sessionId in (select s.id from WorkoutSession s where s.id in :sessionIds and s.status = :status)
+            """)
+    int deleteBySessionIdInAndSessionStatus(@Param("sessionIds") Collection<UUID> sessionIds,
+                                            @Param("status") SessionStatus status);
 
     List<WorkoutSet> findAllBySessionIdOrderByExerciseOrderAscIdAsc(UUID sessionId);
     
     List<WorkoutSet> findAllBySessionId(UUID sessionId);
+
+    List<WorkoutSet> findAllBySessionIdIn(Collection<UUID> sessionIds);
+
+    Optional<WorkoutSet> findByIdAndSessionId(UUID id, UUID sessionId);
     
-    void deleteByExerciseId(UUID exerciseId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from WorkoutSet ws where ws.exerciseId = :exerciseId")
+    int deleteByExerciseId(@Param("exerciseId") UUID exerciseId);
 }
@@ -3,24 +3,32 @@ package project.fitnessapplicationexam.workout.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import project.fitnessapplicationexam.common.exceptions.WorkoutAlreadyFinishedException;
 import project.fitnessapplicationexam.config.SystemDefault;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.workout.dto.ExerciseSetData;
+import project.fitnessapplicationexam.workout.dto.HistoryCursor;
+import project.fitnessapplicationexam.workout.dto.HistoryPage;
 import project.fitnessapplicationexam.workout.dto.SetData;
+import project.fitnessapplicationexam.workout.dto.WorkoutSessionSummary;
+import project.fitnessapplicationexam.workout.dto.WorkoutSetRequest;
 import project.fitnessapplicationexam.workout.model.SessionStatus;
 import project.fitnessapplicationexam.workout.model.WorkoutSession;
 import project.fitnessapplicationexam.workout.model.WorkoutSet;
 import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
 import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
 import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
+import project.fitnessapplicationexam.analytics.DailyRollupService;
+import project.fitnessapplicationexam.analytics.PersonalRecordService;
+import project.fitnessapplicationexam.analytics.TrainingLogCache;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,21 +49,33 @@ public class WorkoutService {
     private final WorkoutSetRepository workoutSetRepository;
     private final ExerciseRepository exerciseRepository;
     private final AnalyticsSyncService analyticsSyncService;
+    private final DailyRollupService dailyRollupService;
+    private final TrainingLogCache trainingLogCache;
+    private final PersonalRecordService personalRecordService;
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "workoutSessions", key = "#user")
-    public List<WorkoutSession> history(UUID user) {
-        return workoutSessionRepository.findAllByUserIdOrderByStartedAtDesc(user);
+    public HistoryPage history(UUID userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, ValidationConstants.MAX_HISTORY_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<WorkoutSessionSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = workoutSessionRepository.findHistoryFirstPage(userId, limit);
+        } else {
+            HistoryCursor after = decodeCursor(cursor);
+            rows = workoutSessionRepository.findHistoryAfter(userId, after.startedAt(), after.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new HistoryPage(rows, null);
+        }
+        List<WorkoutSessionSummary> page = rows.subList(0, pageSize);
+        return new HistoryPage(List.copyOf(page), HistoryCursor.of(page.get(pageSize - 1)).encode());
     }
 
     @Transactional(readOnly = true)
-    public List<WorkoutSession> getRecentSessions(UUID userId, int limit) {
-        if (limit == ValidationConstants.RECENT_SESSIONS_LIMIT_5) {
-            return workoutSessionRepository.findTop5ByUserIdOrderByStartedAtDesc(userId);
-        } else if (limit == ValidationConstants.RECENT_SESSIONS_LIMIT_50) {
-            return workoutSessionRepository.findTop50ByUserIdOrderByStartedAtDesc(userId);
-        }
-        return workoutSessionRepository.findAllByUserIdOrderByStartedAtDesc(userId);
+    public List<WorkoutSessionSummary> getRecentSessions(UUID userId, int limit) {
+        return workoutSessionRepository.findHistoryFirstPage(userId, Limit.of(limit));
     }
 
     @Transactional(readOnly = true)
@@ -96,29 +116,59 @@ public class WorkoutService {
     }
 
     @Transactional
-    @CacheEvict(value = {"workoutSessions", "weeklyStats"}, allEntries = true)
-    public void finishSession(UUID sessionId, UUID userId) {
-        WorkoutSession session = workoutSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
-        
-        if (!Objects.equals(session.getUserId(), userId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
-        }
-        
-        if (session.getFinishedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Session already finished");
+    public WorkoutSet addSet(UUID sessionId, UUID userId, WorkoutSetRequest request) {
+        requireOpenSession(sessionId, userId);
+        Exercise exercise = requireAccessibleExercise(request.getExerciseId(), userId);
+
+        WorkoutSet set = WorkoutSet.builder()
+                .sessionId(sessionId)
+                .exerciseId(exercise.getId())
+                .build();
+        applySetRequest(set, request);
+        WorkoutSet saved = workoutSetRepository.save(set);
+        log.debug("Set {} appended to session {} for user {}", saved.getId(), sessionId, userId);
+        return saved;
+    }
+
+    @Transactional
+    public WorkoutSet updateSet(UUID sessionId, UUID setId, UUID userId, WorkoutSetRequest request) {
+        requireOpenSession(sessionId, userId);
+        WorkoutSet set = workoutSetRepository.findByIdAndSessionId(setId, sessionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Set not found"));
+
+        if (!Objects.equals(set.getExerciseId(), request.getExerciseId())) {
+            set.setExerciseId(requireAccessibleExercise(request.getExerciseId(), userId).getId());
         }
-        
+        applySetRequest(set, request);
+        return workoutSetRepository.save(set);
+    }
+
+    @Transactional
+    public void deleteSet(UUID sessionId, UUID setId, UUID userId) {
+        requireOpenSession(sessionId, userId);
+        workoutSetRepository.findByIdAndSessionId(setId, sessionId).ifPresent(set -> {
+            workoutSetRepository.delete(set);
+            log.debug("Set {} removed from session {} for user {}", setId, sessionId, userId);
+        });
+    }
+
+    @Transactional
+    public void finishSession(UUID sessionId, UUID userId) {
+        WorkoutSession session = requireOpenSession(sessionId, userId);
         session.setFinishedAt(LocalDateTime.now());
         session.setStatus(SessionStatus.FINISHED);
-        workoutSessionRepository.save(session);
         List<WorkoutSet> syncedSets = workoutSetRepository.findAllBySessionId(sessionId);
-        analyticsSyncService.syncWorkout(session, syncedSets);
+        applySummary(session, syncedSets, getExercisesByIds(distinctExerciseIds(syncedSets)));
+        workoutSessionRepository.save(session);
+        dailyRollupService.recordFinished(session);
+        trainingLogCache.recordFinished(session, syncedSets);
+        personalRecordService.recordSession(session, syncedSets);
+        analyticsSyncService.syncWorkout(session);
+        analyticsSyncService.markWeeklyStatsDirty(userId);
         log.info("Workout session {} finished for user {}", sessionId, userId);
     }
     
     @Transactional
-    @CacheEvict(value = {"workoutSessions", "weeklyStats"}, allEntries = true)
     public void finishSessionWithSets(UUID sessionId, UUID userId, List<ExerciseSetData> exerciseSets) {
         WorkoutSession session = workoutSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
@@ -127,7 +177,15 @@ public class WorkoutService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
         }
 
+        boolean refinish = session.getStatus() == SessionStatus.FINISHED;
+        if (refinish) {
+            reverseRollup(session);
+        }
+
+        List<WorkoutSet> syncedSets = null;
+        Map<UUID, Exercise> exercises = null;
         if (exerciseSets != null && !exerciseSets.isEmpty()) {
+            exercises = loadAccessibleExercises(exerciseSets, userId);
             workoutSetRepository.deleteBySessionId(sessionId);
             List<WorkoutSet> toSave = new ArrayList<>();
 
@@ -137,16 +195,7 @@ public class WorkoutService {
                     continue;
                 }
 
-                Exercise exercise = exerciseRepository.findById(exData.exerciseId())
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                                "Exercise not found: " + exData.exerciseId()));
-
-                boolean ownerOk = Objects.equals(exercise.getOwnerUserId(), userId) ||
-                        Objects.equals(exercise.getOwnerUserId(), SystemDefault.SYSTEM_USER_ID);
-                if (!ownerOk) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exercise not accessible");
-                }
-
+                Exercise exercise = exercises.get(exData.exerciseId());
                 if (exData.sets() != null && !exData.sets().isEmpty()) {
                     UUID exerciseId = exercise.getId();
                     for (SetData setData : exData.sets()) {
@@ -175,24 +224,37 @@ public class WorkoutService {
                     exerciseOrderIndex++;
                 }
             }
-            if (!toSave.isEmpty()) {
-                workoutSetRepository.saveAll(toSave);
-            }
+            syncedSets = toSave.isEmpty() ? toSave : workoutSetRepository.saveAll(toSave);
+        }
+
+        if (syncedSets == null) {
+            syncedSets = workoutSetRepository.findAllBySessionId(sessionId);
+            exercises = getExercisesByIds(distinctExerciseIds(syncedSets));
         }
 
         if (session.getFinishedAt() == null) {
             session.setFinishedAt(LocalDateTime.now());
             session.setStatus(SessionStatus.FINISHED);
-            workoutSessionRepository.save(session);
+        }
+        applySummary(session, syncedSets, exercises);
+        workoutSessionRepository.save(session);
+        if (session.getStatus() == SessionStatus.FINISHED) {
+            dailyRollupService.recordFinished(session);
+            if (refinish) {
+                trainingLogCache.evict(userId);
+                personalRecordService.repairAfterSessionChange(userId, sessionId);
+            } else {
+                trainingLogCache.recordFinished(session, syncedSets);
+            }
+            personalRecordService.recordSession(session, syncedSets);
         }
 
-        List<WorkoutSet> syncedSets = workoutSetRepository.findAllBySessionId(sessionId);
-        analyticsSyncService.syncWorkout(session, syncedSets);
+        analyticsSyncService.syncWorkout(session);
+        analyticsSyncService.markWeeklyStatsDirty(userId);
         log.info("Workout session {} finished for user {} with {} sets", sessionId, userId, syncedSets.size());
     }
 
     @Transactional
-    @CacheEvict(value = {"workoutSessions", "weeklyStats"}, allEntries = true)
     public void deleteSession(UUID sessionId, UUID userId) {
         WorkoutSession session = workoutSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Workout not found"));
@@ -201,9 +263,160 @@ public class WorkoutService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Workout not found");
         }
 
+        if (session.getStatus() == SessionStatus.FINISHED) {
+            reverseRollup(session);
+            trainingLogCache.evict(userId);
+        }
         workoutSetRepository.deleteBySessionId(sessionId);
         workoutSessionRepository.deleteById(sessionId);
+        if (session.getStatus() == SessionStatus.FINISHED) {
+            personalRecordService.repairAfterSessionChange(userId, sessionId);
+        }
         analyticsSyncService.deleteWorkout(sessionId);
+        analyticsSyncService.markWeeklyStatsDirty(userId);
         log.info("Workout session {} deleted for user {}", sessionId, userId);
     }
+
+    @Transactional
+    public int backfillSessionSummaries(int batchSize) {
+        List<WorkoutSession> sessions = workoutSessionRepository
+                .findByTotalSetsIsNullAndStatusOrderByIdAsc(SessionStatus.FINISHED, Limit.of(batchSize));
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> sessionIds = sessions.stream().map(WorkoutSession::getId).toList();
+        List<WorkoutSet> sets = workoutSetRepository.findAllBySessionIdIn(sessionIds);
+        Map<UUID, List<WorkoutSet>> setsBySession = sets.stream()
+                .collect(Collectors.groupingBy(WorkoutSet::getSessionId));
+        Map<UUID, Exercise> exercises = getExercisesByIds(distinctExerciseIds(sets));
+
+        for (WorkoutSession session : sessions) {
+            applySummary(session, setsBySession.getOrDefault(session.getId(), List.of()), exercises);
+        }
+        workoutSessionRepository.saveAll(sessions);
+        return sessions.size();
+    }
+
+    /**
+     * Deletes up to {@code batchSize} sessions still in progress that started before
+     * {@code cutoff}, oldest first, together with their sets. The status is re-checked in the
+     * delete statements, so a session finished in the meantime is kept.
+     */
+    @Transactional
+    public int purgeAbandonedSessions(LocalDateTime cutoff, int batchSize) {
+        List<UUID> sessionIds = workoutSessionRepository
+                .findIdsStartedBefore(SessionStatus.IN_PROGRESS, cutoff, Limit.of(batchSize));
+        if (sessionIds.isEmpty()) {
+            return 0;
+        }
+        workoutSetRepository.deleteBySessionIdInAndSessionStatus(sessionIds, SessionStatus.IN_PROGRESS);
+        return workoutSessionRepository.deleteByIdInAndStatus(sessionIds, SessionStatus.IN_PROGRESS);
+    }
+
+    private void reverseRollup(WorkoutSession session) {
+        if (session.getTotalSets() == null) {
+            List<WorkoutSet> sets = workoutSetRepository.findAllBySessionId(session.getId());
+            applySummary(session, sets, getExercisesByIds(distinctExerciseIds(sets)));
+        }
+        dailyRollupService.reverseFinished(session);
+    }
+
+    private void applySummary(WorkoutSession session, List<WorkoutSet> sets, Map<UUID, Exercise> exercises) {
+        int totalReps = 0;
+        BigDecimal totalVolume = BigDecimal.ZERO;
+        int muscleGroupMask = 0;
+        for (WorkoutSet set : sets) {
+            int reps = set.getReps() == null ? 0 : set.getReps();
+            BigDecimal weight = set.getWeight() == null ? BigDecimal.ZERO : set.getWeight();
+            totalReps += reps;
+            totalVolume = totalVolume.add(weight.multiply(BigDecimal.valueOf(reps)));
+
+            Exercise exercise = exercises.get(set.getExerciseId());
+            if (exercise != null && exercise.getPrimaryMuscle() != null) {
+                muscleGroupMask |= exercise.getPrimaryMuscle().bit();
+            }
+        }
+
+        session.setTotalSets(sets.size());
+        session.setTotalReps(totalReps);
+        session.setTotalVolume(totalVolume);
+        session.setExerciseCount(distinctExerciseIds(sets).size());
+        session.setMuscleGroupMask(muscleGroupMask);
+        session.setDurationSeconds(session.getFinishedAt() == null || session.getStartedAt() == null
+                ? null
+                : Math.max(0, Duration.between(session.getStartedAt(), session.getFinishedAt()).getSeconds()));
+    }
+
+    private static List<UUID> distinctExerciseIds(List<WorkoutSet> sets) {
+        return sets.stream().map(WorkoutSet::getExerciseId).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            return HistoryCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private WorkoutSession requireOpenSession(UUID sessionId, UUID userId) {
+        WorkoutSession session = workoutSessionRepository.findById(sessionId)
+                .filter(s -> Objects.equals(s.getUserId(), userId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
+
+        if (session.getFinishedAt() != null) {
+            throw new WorkoutAlreadyFinishedException("Session already finished");
+        }
+        return session;
+    }
+
+    private Map<UUID, Exercise> loadAccessibleExercises(List<ExerciseSetData> exerciseSets, UUID userId) {
+        List<UUID> exerciseIds = exerciseSets.stream()
+                .filter(Objects::nonNull)
+                .map(ExerciseSetData::exerciseId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<UUID, Exercise> exercises = exerciseRepository.findAllById(exerciseIds).stream()
+                .collect(Collectors.toMap(Exercise::getId, exercise -> exercise));
+
+        for (UUID exerciseId : exerciseIds) {
+            Exercise exercise = exercises.get(exerciseId);
+            if (exercise == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exercise not found: " + exerciseId);
+            }
+            if (!isAccessible(exercise, userId)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exercise not accessible");
+            }
+        }
+        return exercises;
+    }
+
+    private Exercise requireAccessibleExercise(UUID exerciseId, UUID userId) {
+        Exercise exercise = exerciseRepository.findById(exerciseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Exercise not found: " + exerciseId));
+
+        if (!isAccessible(exercise, userId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exercise not accessible");
+        }
+        return exercise;
+    }
+
+    private boolean isAccessible(Exercise exercise, UUID userId) {
+        return Objects.equals(exercise.getOwnerUserId(), userId) ||
+                Objects.equals(exercise.getOwnerUserId(), SystemDefault.SYSTEM_USER_ID);
+    }
+
+    private void applySetRequest(WorkoutSet set, WorkoutSetRequest request) {
+        set.setReps(request.getReps());
+        set.setWeight(BigDecimal.valueOf(request.getWeight()));
+        set.setGroupId(request.getGroupId());
+        set.setGroupType(request.getGroupType());
+        set.setGroupOrder(request.getGroupOrder());
+        set.setSetNumber(request.getSetNumber());
+        set.setExerciseOrder(request.getExerciseOrder());
+    }
 }
@@ -30,7 +30,154 @@
         window.location.href = url;
     };
 
+    const monthNames = ['Jan', 'Feb', 'Mar', 'Apr', 'May', 'Jun', 'Jul', 'Aug', 'Sep', 'Oct', 'Nov', 'Dec'];
+
+    function pad(value) {
+        return String(value).padStart(2, '0');
+    }
+
+    function formatDate(iso) {
+        const d = new Date(iso);
+        return monthNames[d.getMonth()] + ' ' + pad(d.getDate()) + ', ' + d.getFullYear();
+    }
+
+    function formatTime(iso) {
+        const d = new Date(iso);
+        return pad(d.getHours()) + ':' + pad(d.getMinutes());
+    }
+
+    function csrfInput() {
+        const name = document.querySelector('meta[name="_csrf_parameter"]')?.content;
+        const token = document.querySelector('meta[name="_csrf"]')?.content;
+        if (!name || !token) return null;
+        const input = document.createElement('input');
+        input.type = 'hidden';
+        input.name = name;
+        input.value = token;
+        return input;
+    }
+
+    function actionForm(action, buttonClass, buttonHtml, title) {
+        const form = document.createElement('form');
+        form.action = action;
+        form.method = 'post';
+        form.style.display = 'inline';
+        const csrf = csrfInput();
+        if (csrf) form.appendChild(csrf);
+        const button = document.createElement('button');
+        button.type = 'submit';
+        button.className = buttonClass;
+        button.innerHTML = buttonHtml;
+        if (title) button.title = title;
+        form.appendChild(button);
+        return form;
+    }
+
+    function renderSessionCard(ws) {
+        const finished = ws.status === 'FINISHED';
+        const card = document.createElement('div');
+        card.className = 'session-card';
+        card.innerHTML = `
+            <div class="session-header">
+                <div class="session-icon">
+                    <i class="fas ${finished ? 'fa-check-circle' : 'fa-dumbbell'}"></i>
+                </div>
+                <div class="session-status">${finished ? 'COMPLETED' : 'IN_PROGRESS'}</div>
+            </div>
+            <div class="session-content">
+                <div class="session-details">
+                    <h3 class="session-title">Workout Session</h3>
+                    <div class="session-meta">
+                        <span class="session-date">${formatDate(ws.startedAt)}</span>
+                        <span class="session-time">${formatTime(ws.startedAt)}</span>
+                    </div>
+                </div>
+                <div class="session-actions"></div>
+            </div>`;
+
+        if (finished && ws.finishedAt) {
+            const duration = document.createElement('div');
+            duration.className = 'session-duration';
+            duration.textContent = 'Finished at: ' + formatTime(ws.finishedAt);
+            card.querySelector('.session-details').appendChild(duration);
+        }
+
+        if (ws.totalSets != null) {
+            const stats = document.createElement('div');
+            stats.className = 'session-stats';
+            const parts = [
+                ['fa-layer-group', ws.totalSets + ' sets'],
+                ['fa-redo', ws.totalReps + ' reps'],
+                ['fa-weight-hanging', Math.round(Number(ws.totalVolume || 0)).toLocaleString('en-US') + ' kg']
+            ];
+            if (ws.durationSeconds != null) {
+                parts.push(['fa-clock', Math.floor(ws.durationSeconds / 60) + ' min']);
+            }
+            parts.push(['fa-dumbbell', ws.exerciseCount + ' exercises']);
+            parts.forEach(([icon, text]) => {
+                const span = document.createElement('span');
+                span.innerHTML = '<i class="fas ' + icon + '"></i> ';
+                span.appendChild(document.createTextNode(text));
+                stats.appendChild(span);
+            });
+            card.querySelector('.session-details').appendChild(stats);
+        }
+
+        const actions = card.querySelector('.session-actions');
+        if (!finished) {
+            const cont = document.createElement('a');
+            cont.className = 'btn btn-primary btn-sm';
+            cont.href = '/workouts/session?sessionId=' + encodeURIComponent(ws.id);
+            cont.innerHTML = '<i class="fas fa-play"></i> Continue';
+            actions.appendChild(cont);
+            const finishForm = actionForm('/workouts/' + encodeURIComponent(ws.id) + '/finish',
+                'btn btn-outline btn-sm', '<i class="fas fa-stop"></i> Finish');
+            finishForm.style.marginLeft = '6px';
+            actions.appendChild(finishForm);
+        } else {
+            const view = document.createElement('a');
+            view.className = 'btn btn-primary btn-sm';
+            view.href = '/workouts/' + encodeURIComponent(ws.id);
+            view.innerHTML = '<i class="fas fa-eye"></i> View Details';
+            actions.appendChild(view);
+        }
+        if (ws.status !== 'IN_PROGRESS') {
+            actions.appendChild(actionForm('/workouts/' + encodeURIComponent(ws.id) + '/delete',
+                'btn-icon btn-delete', '<i class="fas fa-trash"></i>', 'Delete Workout'));
+        }
+        return card;
+    }
+
+    async function loadMore(button) {
+        const cursor = button.dataset.cursor;
+        if (!cursor) return;
+        button.disabled = true;
+        try {
+            const res = await fetch('/workouts/history?cursor=' + encodeURIComponent(cursor), {
+                headers: { 'Accept': 'application/json' }
+            });
+            if (!res.ok) throw new Error('HTTP ' + res.status);
+            const page = await res.json();
+            const list = document.getElementById('sessionsList');
+            (page.sessions || []).forEach(ws => list.appendChild(renderSessionCard(ws)));
+            if (page.nextCursor) {
+                button.dataset.cursor = page.nextCursor;
+                button.disabled = false;
+            } else {
+                button.parentElement.remove();
+            }
+        } catch (e) {
+            console.error('Failed to load more workouts', e);
+            button.disabled = false;
+        }
+    }
+
     document.addEventListener('DOMContentLoaded', function() {
+        const loadMoreBtn = document.getElementById('loadMoreBtn');
+        if (loadMoreBtn) {
+            loadMoreBtn.addEventListener('click', () => loadMore(loadMoreBtn));
+        }
+
         const modal = document.getElementById('startWorkoutModal');
         if (modal) {
             modal.addEventListener('click', function(e) {
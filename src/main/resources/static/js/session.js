@@ -205,6 +205,7 @@
         
         insertAfter.after(dropRow);
         renumberSets(exerciseIndex);
+        queueRowSync(currentRow);
     }
     
     function renumberSets(exerciseIndex) {
@@ -225,6 +226,7 @@
     function removeSet(btn) {
         const row = btn.closest('.set-row');
         const list = row.parentElement;
+        const card = row.closest('.exercise-card');
         const exerciseIndex = list.id.replace('sets-', '');
         
         if (!row.classList.contains('drop-set-row')) {
@@ -233,16 +235,20 @@
                 const toRemove = nextSibling;
                 nextSibling = nextSibling.nextElementSibling;
                 toRemove.remove();
+                queueRowSync(toRemove);
             }
         }
         
         row.remove();
+        queueRowSync(row);
         renumberSets(exerciseIndex);
+        queueCardSync(card);
     }
 
     function removeExercise(exIdx) {
         const card = document.getElementById(`exercise-${exIdx}`);
         card.remove();
+        queueCardSync(card);
         const list = document.getElementById('exercisesList');
         const empty = document.getElementById('emptyWorkout');
         if (list.children.length === 0 && empty) empty.style.display = 'block';
@@ -260,81 +266,25 @@
                 console.error('Card missing exercise ID:', card);
                 return;
             }
-            
-            const sets = [];
-            let mainSetIndex = 0;
-            
-            card.querySelectorAll('.set-row').forEach(row => {
-                const isDropSet = row.classList.contains('drop-set-row');
-                const dropLevel = parseInt(row.getAttribute('data-drop-level') || '0');
-                
-                const inputs = row.querySelectorAll('input[placeholder]');
-                const w = inputs[0]?.value;
-                const r = inputs[1]?.value;
-                const weight = w ? parseFloat(w) : 0;
-                const reps = r ? parseInt(r, 10) : 0;
-                    
-                    if (weight > 0 && reps > 0) {
-                        const setData = { weight, reps };
-                        
-                        if (isDropSet && dropLevel > 0) {
-                            let mainSetRow = null;
-                            let mainSetNumber = null;
-                            
-                            let currentRow = row.previousElementSibling;
-                            while (currentRow && currentRow.classList.contains('drop-set-row')) {
-                                currentRow = currentRow.previousElementSibling;
-                            }
-                            
-                            if (currentRow && !currentRow.classList.contains('drop-set-row')) {
-                                mainSetRow = currentRow;
-                                const allMainSets = Array.from(card.querySelectorAll('.set-row:not(.drop-set-row)'));
-                                mainSetNumber = allMainSets.indexOf(mainSetRow) + 1;
-                            }
-                            
-                            if (mainSetRow && mainSetRow.getAttribute('data-group-id')) {
-                                setData.groupId = mainSetRow.getAttribute('data-group-id');
-                                setData.setNumber = mainSetNumber;
-                            } else {
-                                setData.groupId = generateUUID();
-                                setData.setNumber = mainSetNumber || 1;
-                            }
-                            setData.groupType = 'DROP_SET';
-                            setData.groupOrder = dropLevel;
-                            
-                        } else {
-                            mainSetIndex++;
-                            if (row.getAttribute('data-has-drops') === 'true') {
-                                const groupId = row.getAttribute('data-group-id') || generateUUID();
-                                setData.groupId = groupId;
-                                setData.groupType = 'DROP_SET';
-                                setData.groupOrder = 0;
-                                setData.setNumber = mainSetIndex;
-                                row.setAttribute('data-group-id', groupId);
-                            } else {
-                                setData.setNumber = mainSetIndex;
-                            }
-                        }
-                        
-                        sets.push(setData);
-                    }
-                });
-                
-                if (exerciseId && sets.length > 0) {
-                    payload.exercises.push({ exerciseId, sets });
-                }
+
+            const sets = Array.from(card.querySelectorAll('.set-row'))
+                .map(row => collectSetData(card, row))
+                .filter(setData => setData !== null);
+
+            if (sets.length > 0) {
+                payload.exercises.push({ exerciseId, sets });
+            }
         });
 
         if (payload.exercises.length === 0) { showToast('Please log at least one set before finishing the workout'); return; }
 
-        
-        const csrfHeader = document.querySelector('meta[name="_csrf_header"]').content;
-        const csrfToken  = document.querySelector('meta[name="_csrf"]').content;
-
-        fetch('/workouts/finish', {
-            method: 'POST',
-            headers: { 'Content-Type': 'application/json', [csrfHeader]: csrfToken },
-            body: JSON.stringify(payload)
+        Promise.all(Array.from(pendingSyncs)).then(() => {
+            const body = allRowsSynced() ? { sessionId: workoutSessionId } : payload;
+            return fetch('/workouts/finish', {
+                method: 'POST',
+                headers: jsonHeaders(),
+                body: JSON.stringify(body)
+            });
         })
             .then(r => { 
                 if (r.ok) {
@@ -347,6 +297,117 @@
             .catch(err => { showToast('Error finishing workout: ' + err.message); });
     }
 
+    function collectSetData(card, row) {
+        const inputs = row.querySelectorAll('input[placeholder]');
+        const w = inputs[0]?.value;
+        const r = inputs[1]?.value;
+        const weight = w ? parseFloat(w) : 0;
+        const reps = r ? parseInt(r, 10) : 0;
+        if (!(weight > 0 && reps > 0)) return null;
+
+        const setData = { weight, reps };
+        const mainRows = Array.from(card.querySelectorAll('.set-row:not(.drop-set-row)'));
+        const dropLevel = parseInt(row.getAttribute('data-drop-level') || '0');
+
+        if (row.classList.contains('drop-set-row') && dropLevel > 0) {
+            let mainSetRow = row.previousElementSibling;
+            while (mainSetRow && mainSetRow.classList.contains('drop-set-row')) {
+                mainSetRow = mainSetRow.previousElementSibling;
+            }
+            if (mainSetRow && !mainSetRow.getAttribute('data-group-id')) {
+                mainSetRow.setAttribute('data-group-id', generateUUID());
+            }
+            setData.groupId = mainSetRow ? mainSetRow.getAttribute('data-group-id') : generateUUID();
+            setData.setNumber = mainSetRow ? mainRows.indexOf(mainSetRow) + 1 : 1;
+            setData.groupType = 'DROP_SET';
+            setData.groupOrder = dropLevel;
+        } else {
+            setData.setNumber = mainRows.indexOf(row) + 1;
+            if (row.getAttribute('data-has-drops') === 'true') {
+                const groupId = row.getAttribute('data-group-id') || generateUUID();
+                row.setAttribute('data-group-id', groupId);
+                setData.groupId = groupId;
+                setData.groupType = 'DROP_SET';
+                setData.groupOrder = 0;
+            }
+        }
+        return setData;
+    }
+
+    function jsonHeaders() {
+        const csrfHeader = document.querySelector('meta[name="_csrf_header"]').content;
+        const csrfToken  = document.querySelector('meta[name="_csrf"]').content;
+        return { 'Content-Type': 'application/json', 'Accept': 'application/json', [csrfHeader]: csrfToken };
+    }
+
+    const pendingSyncs = new Set();
+    let setSyncFailed = false;
+
+    function queueRowSync(row) {
+        if (!workoutSessionId || !row) return;
+        const card = row.closest('.exercise-card');
+        const next = (row.__syncChain || Promise.resolve()).then(() => syncRow(card, row));
+        row.__syncChain = next;
+        pendingSyncs.add(next);
+        next.finally(() => pendingSyncs.delete(next));
+    }
+
+    function queueCardSync(card) {
+        if (!card) return;
+        card.querySelectorAll('.set-row').forEach(queueRowSync);
+    }
+
+    function setRequestBody(card, row) {
+        const setData = card && row.isConnected ? collectSetData(card, row) : null;
+        if (!setData) return null;
+        const exerciseOrder = Array.from(document.querySelectorAll('.exercise-card')).indexOf(card);
+        return JSON.stringify({ exerciseId: card.getAttribute('data-exercise-id'), exerciseOrder, ...setData });
+    }
+
+    function syncRow(card, row) {
+        const setId = row.getAttribute('data-set-id');
+        const body = setRequestBody(card, row);
+
+        if (body === null) {
+            if (!setId) return Promise.resolve();
+            return fetch(`/workouts/${workoutSessionId}/sets/${setId}`, { method: 'DELETE', headers: jsonHeaders() })
+                .then(r => {
+                    if (!r.ok) throw new Error(r.status + ' ' + r.statusText);
+                    row.removeAttribute('data-set-id');
+                    row.removeAttribute('data-synced');
+                })
+                .catch(err => { setSyncFailed = true; console.warn('Set autosave failed:', err); });
+        }
+
+        if (setId && row.getAttribute('data-synced') === body) return Promise.resolve();
+
+        const url = setId ? `/workouts/${workoutSessionId}/sets/${setId}` : `/workouts/${workoutSessionId}/sets`;
+        return fetch(url, { method: setId ? 'PUT' : 'POST', headers: jsonHeaders(), body })
+            .then(r => {
+                if (!r.ok) throw new Error(r.status + ' ' + r.statusText);
+                return r.json();
+            })
+            .then(saved => {
+                row.setAttribute('data-set-id', saved.id);
+                row.setAttribute('data-synced', body);
+            })
+            .catch(err => {
+                setSyncFailed = true;
+                row.removeAttribute('data-synced');
+                console.warn('Set autosave failed:', err);
+            });
+    }
+
+    function allRowsSynced() {
+        if (setSyncFailed) return false;
+        return Array.from(document.querySelectorAll('.exercise-card')).every(card =>
+            Array.from(card.querySelectorAll('.set-row')).every(row => {
+                const body = setRequestBody(card, row);
+                if (body === null) return !row.getAttribute('data-set-id');
+                return !!row.getAttribute('data-set-id') && row.getAttribute('data-synced') === body;
+            }));
+    }
+
     function generateUUID() {
         return 'xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx'.replace(/[xy]/g, function(c) {
             const r = Math.random() * 16 | 0, v = c == 'x' ? r : (r & 0x3 | 0x8);
@@ -666,6 +727,7 @@
                 const row = document.createElement('div');
                 row.className = 'set-row';
                 row.setAttribute('data-drop-level', '0');
+                if (set.id) row.setAttribute('data-set-id', set.id);
                 if (isMainSetWithDrops) {
                     row.setAttribute('data-group-id', set.groupId);
                     row.setAttribute('data-has-drops', 'true');
@@ -699,6 +761,7 @@
                         dropRow.className = 'set-row drop-set-row';
                         dropRow.setAttribute('data-drop-level', dropLevel);
                         dropRow.style.marginLeft = (dropLevel * 20) + 'px';
+                        if (dropSet.id) dropRow.setAttribute('data-set-id', dropSet.id);
                         
                         dropRow.innerHTML = `
                             <div class="set-number"><span class="drop-badge">Drop ${dropLevel}</span></div>
@@ -721,6 +784,11 @@
             }
             
             exerciseCounter++;
+
+            exerciseCard.querySelectorAll('.set-row[data-set-id]').forEach(row => {
+                const body = setRequestBody(exerciseCard, row);
+                if (body !== null) row.setAttribute('data-synced', body);
+            });
         }
     }
     
@@ -762,6 +830,10 @@
 
     let autosaveTimer = null;
     function attachAutosaveHandlers(){
+        document.addEventListener('change', function(e){
+            const row = e.target.closest('.set-row');
+            if (row) queueRowSync(row);
+        });
         document.addEventListener('input', function(e){
             if (!draftKey) return;
             if (!e.target.closest('.workout-session')) return;
@@ -828,6 +900,7 @@
                         inputs[1].value = s.reps || '';
                     }
                 });
+                queueCardSync(setsList.closest('.exercise-card'));
             }
         });
     }
@@ -0,0 +1,117 @@
+package project.fitnessapplicationexam.analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.AdvancedStatsReport;
+import project.fitnessapplicationexam.analytics.dto.PersonalRecordsDto;
+import project.fitnessapplicationexam.analytics.dto.ProgressiveOverloadDto;
+import project.fitnessapplicationexam.analytics.dto.TrainingFrequencyResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdvancedStatsAggregatorTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private AdvancedStatsService advancedStatsService;
+
+    @Mock
+    private AnalyticsClient analyticsClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(5);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void report_runsSectionsConcurrently() {
+        TrainingFrequencyResponse frequency = new TrainingFrequencyResponse(3, 1.5, Map.of(), List.of(), 2, 1.0);
+        when(advancedStatsService.trainingFrequency(USER_ID, FROM, TO)).thenAnswer(inv -> sleep(300, frequency));
+        when(advancedStatsService.volumeTrends(USER_ID, FROM, TO)).thenAnswer(inv -> sleep(300, List.of()));
+        when(advancedStatsService.progressiveOverload(USER_ID, FROM, TO)).thenAnswer(inv -> sleep(300, List.of()));
+        when(advancedStatsService.personalRecords(USER_ID))
+                .thenAnswer(inv -> sleep(300, new PersonalRecordsDto(List.of(), List.of())));
+        when(analyticsClient.getMilestones(USER_ID)).thenAnswer(inv -> sleep(300, ResponseEntity.ok(List.of())));
+
+        long start = System.nanoTime();
+        AdvancedStatsReport report = aggregator(Duration.ofSeconds(5)).report(USER_ID, FROM, TO);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(report.complete());
+        assertSame(frequency, report.trainingFrequency());
+        assertTrue(elapsedMillis < 1200, "sections should overlap, took " + elapsedMillis + "ms");
+        assertEquals(1, meterRegistry.get("analytics.advanced.section")
+                .tags("section", "milestones", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void report_sectionMissingDeadline_fallsBackWithoutAffectingOthers() {
+        ProgressiveOverloadDto overload = mock(ProgressiveOverloadDto.class);
+        when(advancedStatsService.trainingFrequency(USER_ID, FROM, TO)).thenAnswer(inv -> sleep(5_000, null));
+        when(advancedStatsService.progressiveOverload(USER_ID, FROM, TO)).thenReturn(List.of(overload));
+        when(advancedStatsService.personalRecords(USER_ID)).thenReturn(new PersonalRecordsDto(List.of(), List.of()));
+        when(analyticsClient.getMilestones(USER_ID)).thenReturn(ResponseEntity.ok(List.of()));
+
+        long start = System.nanoTime();
+        AdvancedStatsReport report = aggregator(Duration.ofMillis(200)).report(USER_ID, FROM, TO);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000);
+        assertFalse(report.complete());
+        assertEquals(0, report.trainingFrequency().totalWorkouts());
+        assertEquals(List.of(overload), report.progressiveOverload());
+        assertEquals(1.0, meterRegistry.get("analytics.advanced.section.timeouts")
+                .tag("section", "training-frequency").counter().count());
+    }
+
+    @Test
+    void report_failingSection_usesEmptyValue() {
+        when(analyticsClient.getMilestones(any())).thenThrow(new IllegalStateException("analytics down"));
+
+        AdvancedStatsReport report = aggregator(Duration.ofSeconds(2)).report(USER_ID, FROM, TO);
+
+        assertFalse(report.complete());
+        assertEquals(List.of(), report.milestones());
+        assertEquals(List.of(), report.volumeTrends());
+        assertEquals(new PersonalRecordsDto(List.of(), List.of()), report.personalRecords());
+        assertEquals(1, meterRegistry.get("analytics.advanced.section")
+                .tags("section", "milestones", "outcome", "error").timer().count());
+    }
+
+    private AdvancedStatsAggregator aggregator(Duration deadline) {
+        return new AdvancedStatsAggregator(advancedStatsService, analyticsClient, deadline, meterRegistry, executor);
+    }
+
+    private static <T> T sleep(long millis, T result) throws InterruptedException {
+        Thread.sleep(millis);
+        return result;
+    }
+}
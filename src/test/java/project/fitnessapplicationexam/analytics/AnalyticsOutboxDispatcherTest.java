@@ -0,0 +1,245 @@
+package project.fitnessapplicationexam.analytics;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.RecomputeWeeklyRequest;
+import project.fitnessapplicationexam.analytics.dto.sync.ExerciseSyncRequest;
+import project.fitnessapplicationexam.analytics.dto.sync.WorkoutSyncRequest;
+import project.fitnessapplicationexam.analytics.model.AnalyticsOutboxEntry;
+import project.fitnessapplicationexam.analytics.model.OutboxAggregate;
+import project.fitnessapplicationexam.analytics.model.OutboxOperation;
+import project.fitnessapplicationexam.analytics.repository.AnalyticsOutboxRepository;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
+import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsOutboxDispatcherTest {
+
+    @Mock
+    private AnalyticsOutboxRepository outboxRepository;
+
+    @Mock
+    private AnalyticsClient analyticsClient;
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @Mock
+    private WorkoutSessionRepository workoutSessionRepository;
+
+    @Mock
+    private WorkoutSetRepository workoutSetRepository;
+
+    @Captor
+    private ArgumentCaptor<List<ExerciseSyncRequest>> exerciseRequests;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AnalyticsOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new AnalyticsOutboxDispatcher(outboxRepository, analyticsClient, exerciseRepository,
+                workoutSessionRepository, workoutSetRepository, meterRegistry);
+    }
+
+    @Test
+    void dispatchBatch_sendsExerciseUpsertsInOneRequest() {
+        Exercise bench = Exercise.builder().id(UUID.randomUUID()).name("Bench Press").build();
+        Exercise squat = Exercise.builder().id(UUID.randomUUID()).name("Squat").build();
+        AnalyticsOutboxEntry first = entry(OutboxAggregate.EXERCISE, bench.getId(), OutboxOperation.UPSERT, 0);
+        AnalyticsOutboxEntry second = entry(OutboxAggregate.EXERCISE, squat.getId(), OutboxOperation.UPSERT, 0);
+        due(first, second);
+        when(exerciseRepository.findAllById(List.of(bench.getId(), squat.getId()))).thenReturn(List.of(squat, bench));
+
+        int claimed = dispatcher.dispatchBatch(100);
+
+        assertEquals(2, claimed);
+        verify(analyticsClient, times(1)).syncExercises(exerciseRequests.capture());
+        assertEquals(List.of("Bench Press", "Squat"), exerciseRequests.getValue().stream().map(ExerciseSyncRequest::name).toList());
+        verify(outboxRepository).deleteIfUnchanged(OutboxAggregate.EXERCISE, bench.getId(), 1L);
+        verify(outboxRepository).deleteIfUnchanged(OutboxAggregate.EXERCISE, squat.getId(), 1L);
+        assertEquals(2.0, meterRegistry.get("analytics.outbox.delivered").tag("aggregate", "exercise").counter().count());
+    }
+
+    @Test
+    void dispatchBatch_buildsWorkoutPayloadFromCurrentState() {
+        UUID sessionId = UUID.randomUUID();
+        WorkoutSession session = WorkoutSession.builder().id(sessionId).userId(UUID.randomUUID())
+                .status(SessionStatus.FINISHED).build();
+        WorkoutSet set = WorkoutSet.builder().id(UUID.randomUUID()).sessionId(sessionId)
+                .exerciseId(UUID.randomUUID()).reps(5).weight(new BigDecimal("100.0")).build();
+        due(entry(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.UPSERT, 0));
+        when(workoutSessionRepository.findAllById(List.of(sessionId))).thenReturn(List.of(session));
+        when(workoutSetRepository.findAllBySessionIdIn(Set.of(sessionId))).thenReturn(List.of(set));
+
+        dispatcher.dispatchBatch(100);
+
+        ArgumentCaptor<WorkoutSyncRequest> request = ArgumentCaptor.forClass(WorkoutSyncRequest.class);
+        verify(analyticsClient).syncWorkout(request.capture());
+        assertEquals(SessionStatus.FINISHED, request.getValue().status());
+        assertEquals(1, request.getValue().sets().size());
+        verify(outboxRepository).deleteIfUnchanged(OutboxAggregate.WORKOUT, sessionId, 1L);
+    }
+
+    @Test
+    void dispatchBatch_workoutGoneBeforeDelivery_dropsRowWithoutCall() {
+        UUID sessionId = UUID.randomUUID();
+        due(entry(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.UPSERT, 0));
+        when(workoutSessionRepository.findAllById(List.of(sessionId))).thenReturn(List.of());
+
+        dispatcher.dispatchBatch(100);
+
+        verifyNoInteractions(analyticsClient, workoutSetRepository);
+        verify(outboxRepository).deleteIfUnchanged(OutboxAggregate.WORKOUT, sessionId, 1L);
+    }
+
+    @Test
+    void dispatchBatch_deleteAlreadyAbsent_countsAsDelivered() {
+        UUID exerciseId = UUID.randomUUID();
+        due(entry(OutboxAggregate.EXERCISE, exerciseId, OutboxOperation.DELETE, 0));
+        doThrow(FeignException.NotFound.class).when(analyticsClient).deleteExercise(exerciseId);
+
+        dispatcher.dispatchBatch(100);
+
+        verify(outboxRepository).deleteIfUnchanged(OutboxAggregate.EXERCISE, exerciseId, 1L);
+        verify(outboxRepository, never()).reschedule(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void dispatchBatch_failure_reschedulesWithBackoff() {
+        UUID sessionId = UUID.randomUUID();
+        due(entry(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.DELETE, 2));
+        doThrow(FeignException.class).when(analyticsClient).deleteWorkout(sessionId);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatchBatch(100);
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(OutboxAggregate.WORKOUT), eq(sessionId), eq(1L), next.capture());
+        assertFalse(next.getValue().isBefore(before.plusSeconds(40)));
+        verify(outboxRepository, never()).deleteIfUnchanged(any(), any(), anyLong());
+        assertEquals(1.0, meterRegistry.get("analytics.outbox.failed").counter().count());
+    }
+
+    @Test
+    void dispatchBatch_exerciseBatchFailure_reschedulesEveryRow() {
+        Exercise bench = Exercise.builder().id(UUID.randomUUID()).name("Bench Press").build();
+        due(entry(OutboxAggregate.EXERCISE, bench.getId(), OutboxOperation.UPSERT, 0));
+        when(exerciseRepository.findAllById(any())).thenReturn(List.of(bench));
+        doThrow(FeignException.class).when(analyticsClient).syncExercises(any());
+
+        dispatcher.dispatchBatch(100);
+
+        verify(outboxRepository).reschedule(eq(OutboxAggregate.EXERCISE), eq(bench.getId()), eq(1L), any());
+    }
+
+    @Test
+    void dispatchBatch_stuckRowFails_keepsRetryingAtMaxBackoff() {
+        UUID sessionId = UUID.randomUUID();
+        due(entry(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.DELETE, AnalyticsOutboxDispatcher.STUCK_ATTEMPTS + 10));
+        doThrow(FeignException.class).when(analyticsClient).deleteWorkout(sessionId);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatchBatch(100);
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(OutboxAggregate.WORKOUT), eq(sessionId), eq(1L), next.capture());
+        assertFalse(next.getValue().isBefore(before.plus(AnalyticsOutboxDispatcher.MAX_BACKOFF)));
+        verify(outboxRepository, never()).deleteIfUnchanged(any(), any(), anyLong());
+    }
+
+    @Test
+    void dispatchBatch_recomputesWeeklyStatsAfterOtherChanges() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        due(entry(OutboxAggregate.WEEKLY_STATS, userId, OutboxOperation.RECOMPUTE, 0),
+                entry(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.DELETE, 0));
+
+        dispatcher.dispatchBatch(100);
+
+        InOrder inOrder = inOrder(analyticsClient);
+        inOrder.verify(analyticsClient).deleteWorkout(sessionId);
+        ArgumentCaptor<RecomputeWeeklyRequest> request = ArgumentCaptor.forClass(RecomputeWeeklyRequest.class);
+        inOrder.verify(analyticsClient).recomputeWeeklyStats(eq(userId), request.capture());
+        assertEquals(DayOfWeek.MONDAY, request.getValue().from().getDayOfWeek());
+        verify(outboxRepository).deleteIfUnchanged(OutboxAggregate.WEEKLY_STATS, userId, 1L);
+    }
+
+    @Test
+    void dispatchBatch_failedChange_postponesWeeklyRecompute() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        due(entry(OutboxAggregate.WORKOUT, sessionId, OutboxOperation.DELETE, 0),
+                entry(OutboxAggregate.WEEKLY_STATS, userId, OutboxOperation.RECOMPUTE, 0));
+        doThrow(FeignException.class).when(analyticsClient).deleteWorkout(sessionId);
+
+        dispatcher.dispatchBatch(100);
+
+        verify(analyticsClient, never()).recomputeWeeklyStats(any(), any());
+        verify(outboxRepository).reschedule(eq(OutboxAggregate.WEEKLY_STATS), eq(userId), eq(1L), any());
+        verify(outboxRepository, never()).deleteIfUnchanged(eq(OutboxAggregate.WEEKLY_STATS), any(), anyLong());
+    }
+
+    @Test
+    void backoff_doublesUpToCap() {
+        assertEquals(Duration.ofSeconds(10), AnalyticsOutboxDispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(80), AnalyticsOutboxDispatcher.backoff(4));
+        assertEquals(Duration.ofMinutes(30), AnalyticsOutboxDispatcher.backoff(14));
+    }
+
+    @Test
+    void refreshBacklogMetrics_publishesSizeAndOldestAge() {
+        when(outboxRepository.count()).thenReturn(7L);
+        when(outboxRepository.findOldestCreatedAt()).thenReturn(LocalDateTime.now().minusMinutes(2));
+
+        dispatcher.refreshBacklogMetrics();
+
+        assertEquals(7.0, meterRegistry.get("analytics.outbox.backlog").gauge().value());
+        assertTrue(meterRegistry.get("analytics.outbox.oldest.age").gauge().value() >= 119);
+    }
+
+    private void due(AnalyticsOutboxEntry... entries) {
+        when(outboxRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(any(), eq(Limit.of(100))))
+                .thenReturn(List.of(entries));
+    }
+
+    private static AnalyticsOutboxEntry entry(OutboxAggregate aggregate, UUID id, OutboxOperation operation, int attempts) {
+        return AnalyticsOutboxEntry.builder()
+                .aggregateType(aggregate)
+                .aggregateId(id)
+                .operation(operation)
+                .version(1L)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
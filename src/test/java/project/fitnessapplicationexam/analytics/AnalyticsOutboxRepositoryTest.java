@@ -0,0 +1,63 @@
+package project.fitnessapplicationexam.analytics;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import project.fitnessapplicationexam.analytics.model.AnalyticsOutboxEntry;
+import project.fitnessapplicationexam.analytics.model.OutboxAggregate;
+import project.fitnessapplicationexam.analytics.model.OutboxOperation;
+import project.fitnessapplicationexam.analytics.repository.AnalyticsOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("jpa")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AnalyticsOutboxRepositoryTest {
+
+    @Autowired
+    private AnalyticsOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void enqueue_coalescesChangesToTheSameAggregate() {
+        UUID workoutId = UUID.randomUUID();
+        LocalDateTime first = LocalDateTime.now().minusMinutes(5);
+        outboxRepository.enqueue("WORKOUT", workoutId, "UPSERT", first);
+        outboxRepository.reschedule(OutboxAggregate.WORKOUT, workoutId, 1L, first.plusHours(1));
+        outboxRepository.enqueue("WORKOUT", workoutId, "UPSERT", first.plusMinutes(1));
+        outboxRepository.enqueue("WORKOUT", workoutId, "DELETE", first.plusMinutes(2));
+        outboxRepository.enqueue("EXERCISE", workoutId, "UPSERT", first.plusMinutes(3));
+        entityManager.clear();
+
+        AnalyticsOutboxEntry entry = outboxRepository
+                .findById(new AnalyticsOutboxEntry.Key(OutboxAggregate.WORKOUT, workoutId)).orElseThrow();
+        assertEquals(2, outboxRepository.count());
+        assertEquals(OutboxOperation.DELETE, entry.getOperation());
+        assertEquals(3L, entry.getVersion());
+        assertEquals(0, entry.getAttempts());
+        assertEquals(first.plusMinutes(2).withNano(0), entry.getNextAttemptAt().withNano(0));
+        assertEquals(first.withNano(0), outboxRepository.findOldestCreatedAt().withNano(0));
+    }
+
+    @Test
+    void deleteIfUnchanged_keepsRowsReplacedDuringDelivery() {
+        UUID exerciseId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.enqueue("EXERCISE", exerciseId, "UPSERT", now);
+        AnalyticsOutboxEntry claimed = outboxRepository
+                .findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(now.plusSeconds(1), Limit.of(10)).get(0);
+        outboxRepository.enqueue("EXERCISE", exerciseId, "UPSERT", now);
+
+        assertEquals(0, outboxRepository.deleteIfUnchanged(OutboxAggregate.EXERCISE, exerciseId, claimed.getVersion()));
+        assertEquals(1, outboxRepository.deleteIfUnchanged(OutboxAggregate.EXERCISE, exerciseId, claimed.getVersion() + 1));
+        assertEquals(0, outboxRepository.count());
+    }
+}
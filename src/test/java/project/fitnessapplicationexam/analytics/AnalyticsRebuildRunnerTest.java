@@ -0,0 +1,89 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.domain.Limit;
+import project.fitnessapplicationexam.exercise.model.SeedState;
+import project.fitnessapplicationexam.exercise.repository.SeedStateRepository;
+import project.fitnessapplicationexam.user.repository.UserRepository;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRebuildRunnerTest {
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private PersonalRecordService personalRecordService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SeedStateRepository seedStateRepository;
+
+    @InjectMocks
+    private AnalyticsRebuildRunner runner;
+
+    @Test
+    void afterSingletonsInstantiated_neverBuilt_rebuildsEveryUserAndRecordsIt() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(seedStateRepository.existsById(any())).thenReturn(false);
+        when(userRepository.findIdsAfter(new UUID(0L, 0L), Limit.of(500))).thenReturn(List.of(first, second));
+
+        runner.afterSingletonsInstantiated();
+
+        verify(dailyRollupService).rebuildUser(first);
+        verify(dailyRollupService).rebuildUser(second);
+        verify(personalRecordService).rebuildUser(first);
+        verify(personalRecordService).rebuildUser(second);
+        ArgumentCaptor<SeedState> marker = ArgumentCaptor.forClass(SeedState.class);
+        verify(seedStateRepository, times(2)).save(marker.capture());
+        assertEquals(List.of(AnalyticsRebuildRunner.DAILY_ROLLUPS, AnalyticsRebuildRunner.PERSONAL_RECORDS),
+                marker.getAllValues().stream().map(SeedState::getName).toList());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_alreadyBuilt_doesNothing() {
+        when(seedStateRepository.existsById(any())).thenReturn(true);
+
+        runner.afterSingletonsInstantiated();
+
+        verifyNoInteractions(userRepository, dailyRollupService, personalRecordService);
+        verify(seedStateRepository, never()).save(any());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_onlyRollupsBuilt_backfillsPersonalRecords() {
+        UUID userId = UUID.randomUUID();
+        when(seedStateRepository.existsById(AnalyticsRebuildRunner.DAILY_ROLLUPS)).thenReturn(true);
+        when(seedStateRepository.existsById(AnalyticsRebuildRunner.PERSONAL_RECORDS)).thenReturn(false);
+        when(userRepository.findIdsAfter(new UUID(0L, 0L), Limit.of(500))).thenReturn(List.of(userId));
+
+        runner.afterSingletonsInstantiated();
+
+        verify(personalRecordService).rebuildUser(userId);
+        verifyNoInteractions(dailyRollupService);
+    }
+
+    @Test
+    void run_singleUserOption_rebuildsOnlyThatUser() {
+        UUID userId = UUID.randomUUID();
+
+        runner.run(new DefaultApplicationArguments("--rebuild-daily-rollups=" + userId));
+
+        verify(dailyRollupService).rebuildUser(userId);
+        verifyNoInteractions(userRepository, personalRecordService);
+    }
+}
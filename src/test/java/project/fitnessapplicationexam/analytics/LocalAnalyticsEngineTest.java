@@ -0,0 +1,184 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.fitnessapplicationexam.analytics.dto.ExerciseVolumeTrendDto;
+import project.fitnessapplicationexam.analytics.dto.PersonalRecordsDto;
+import project.fitnessapplicationexam.analytics.dto.ProgressiveOverloadDto;
+import project.fitnessapplicationexam.analytics.dto.TrainingFrequencyResponse;
+import project.fitnessapplicationexam.analytics.model.PersonalRecord;
+import project.fitnessapplicationexam.analytics.model.PersonalRepRecord;
+import project.fitnessapplicationexam.analytics.model.UserDailyRollup;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalAnalyticsEngineTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 6);
+    private static final UUID BENCH = UUID.randomUUID();
+    private static final UUID SQUAT = UUID.randomUUID();
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private TrainingLogCache trainingLogCache;
+
+    @Mock
+    private PersonalRecordService personalRecordService;
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @InjectMocks
+    private LocalAnalyticsEngine engine;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        List<TrainingLogRow> rows = new ArrayList<>();
+        addSession(rows, MONDAY, BENCH, 5, "100");
+        addSession(rows, MONDAY.plusDays(1), SQUAT, 5, "140");
+        addSession(rows, MONDAY.plusDays(2), BENCH, 5, "105");
+        addSession(rows, MONDAY.plusDays(9), BENCH, 3, "110");
+        lenient().when(trainingLogCache.get(userId)).thenReturn(TrainingLog.of(rows));
+    }
+
+    @Test
+    void trainingFrequency_countsSessionsPerDayAndWeek() {
+        TrainingFrequencyResponse frequency = engine.trainingFrequency(userId, MONDAY, MONDAY.plusDays(13));
+
+        assertEquals(4, frequency.totalWorkouts());
+        assertEquals(2.0, frequency.avgWorkoutsPerWeek());
+        assertEquals(2, frequency.workoutsByDayOfWeek().get("WEDNESDAY"));
+        assertEquals(List.of(3, 1), frequency.weeklyBreakdown().stream()
+                .map(TrainingFrequencyResponse.WeeklyBreakdown::workoutCount).toList());
+        assertEquals(3, frequency.longestStreak());
+        assertEquals(0, frequency.currentStreak());
+    }
+
+    @Test
+    void volumeTrends_aggregatesVolumePerExerciseAndWeek() {
+        stubExercises();
+
+        List<ExerciseVolumeTrendDto> trends = engine.volumeTrends(userId, MONDAY, MONDAY.plusDays(13));
+
+        ExerciseVolumeTrendDto bench = trends.stream().filter(t -> t.exerciseId().equals(BENCH)).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("2580").compareTo(bench.totalVolume()));
+        assertEquals(6, bench.totalSets());
+        assertEquals("Bench Press", bench.exerciseName());
+        assertEquals("CHEST", bench.muscleGroup());
+        assertEquals("decreasing", bench.trend());
+        assertEquals(2, bench.weeklyData().size());
+        assertEquals(0, new BigDecimal("630").compareTo(bench.weeklyData().get(1).volume()));
+    }
+
+    @Test
+    void progressiveOverload_tracksTopSetPerSession() {
+        stubExercises();
+
+        List<ProgressiveOverloadDto> overload = engine.progressiveOverload(userId, MONDAY, MONDAY.plusDays(13));
+
+        ProgressiveOverloadDto bench = overload.get(0);
+        assertEquals(BENCH, bench.exerciseId());
+        assertEquals(0, new BigDecimal("100").compareTo(bench.startingWeight()));
+        assertEquals(0, new BigDecimal("110").compareTo(bench.currentWeight()));
+        assertEquals(10.0, bench.progressPercent());
+        assertEquals("progressing", bench.status());
+        assertEquals(3, bench.progressPoints().size());
+    }
+
+    @Test
+    void personalRecords_readsStoredRecordsAndDerivesMilestonesFromRollups() {
+        stubExercises();
+        when(dailyRollupService.history(userId)).thenReturn(List.of(
+                rollup(MONDAY, 1, "1000"), rollup(MONDAY.plusDays(1), 1, "1300"),
+                rollup(MONDAY.plusDays(2), 1, "1000"), rollup(MONDAY.plusDays(9), 1, "630")));
+        when(personalRecordService.forUser(userId)).thenReturn(List.of(PersonalRecord.builder()
+                .userId(userId).exerciseId(BENCH)
+                .maxWeight(new BigDecimal("110")).maxWeightReps(3).maxWeightDate(MONDAY.plusDays(9))
+                .bestOneRepMax(new BigDecimal("122.50")).oneRepMaxReps(5).oneRepMaxDate(MONDAY.plusDays(2))
+                .bestSessionVolume(new BigDecimal("1000")).sessionVolumeDate(MONDAY.plusDays(2))
+                .build()));
+        when(personalRecordService.repRecordsForUser(userId)).thenReturn(List.of(
+                repRecord("110", 3, MONDAY.plusDays(9)),
+                repRecord("95", 6, MONDAY),
+                repRecord("100", 8, MONDAY.plusDays(2))));
+
+        PersonalRecordsDto records = engine.personalRecords(userId);
+
+        assertEquals(List.of("Max Weight", "Estimated 1RM", "Session Volume", "Best Reps"), records.exercisePRs().stream()
+                .map(PersonalRecordsDto.ExercisePR::recordType).toList());
+        PersonalRecordsDto.ExercisePR bestReps = records.exercisePRs().get(3);
+        assertEquals(0, new BigDecimal("100").compareTo(bestReps.weight()));
+        assertEquals(8, bestReps.reps());
+        PersonalRecordsDto.ExercisePR bench = records.exercisePRs().get(0);
+        assertEquals("Bench Press", bench.exerciseName());
+        assertEquals(0, new BigDecimal("110").compareTo(bench.weight()));
+        assertEquals(3, bench.reps());
+        assertEquals(MONDAY.plusDays(9), bench.achievedDate());
+        assertEquals(List.of("Getting Started"), records.milestones().stream()
+                .map(PersonalRecordsDto.Milestone::title).toList());
+        verify(trainingLogCache, never()).get(any());
+    }
+
+    @Test
+    void personalRecords_milestonesCountSessionsAndVolumeAcrossDays() {
+        List<UserDailyRollup> days = new ArrayList<>();
+        days.add(rollup(MONDAY, 2, "60000"));
+        for (int day = 31; day < 42; day++) {
+            days.add(rollup(MONDAY.plusDays(day), 1, "4000"));
+        }
+        days.add(rollup(MONDAY.plusDays(60), 0, "0"));
+        when(personalRecordService.forUser(userId)).thenReturn(List.of());
+        when(dailyRollupService.history(userId)).thenReturn(days);
+
+        assertEquals(List.of("Getting Started", "100K Club"), engine.personalRecords(userId).milestones().stream()
+                .map(PersonalRecordsDto.Milestone::title).toList());
+
+        days.add(days.size() - 1, rollup(MONDAY.plusDays(45), 1, "1000"));
+        assertEquals(List.of("Getting Started", "100K Club", "Dedicated (12 in 30)"),
+                engine.personalRecords(userId).milestones().stream()
+                        .map(PersonalRecordsDto.Milestone::title).toList());
+    }
+
+    private void stubExercises() {
+        when(exerciseRepository.findAllById(anyIterable())).thenReturn(List.of(
+                Exercise.builder().id(BENCH).name("Bench Press").primaryMuscle(MuscleGroup.CHEST).build(),
+                Exercise.builder().id(SQUAT).name("Squat").primaryMuscle(MuscleGroup.LEGS).build()));
+    }
+
+    private PersonalRepRecord repRecord(String weight, int reps, LocalDate date) {
+        return PersonalRepRecord.builder().userId(userId).exerciseId(BENCH).weight(new BigDecimal(weight))
+                .reps(reps).sessionId(UUID.randomUUID()).achievedDate(date).build();
+    }
+
+    private UserDailyRollup rollup(LocalDate date, int sessions, String volume) {
+        return UserDailyRollup.builder().userId(userId).activityDate(date)
+                .sessions(sessions).volume(new BigDecimal(volume)).build();
+    }
+
+    private static void addSession(List<TrainingLogRow> rows, LocalDate date, UUID exerciseId, int reps, String weight) {
+        UUID sessionId = UUID.randomUUID();
+        LocalDateTime startedAt = date.atTime(18, 0);
+        rows.add(new TrainingLogRow(sessionId, startedAt, exerciseId, reps, new BigDecimal(weight)));
+        rows.add(new TrainingLogRow(sessionId, startedAt, exerciseId, reps, new BigDecimal(weight).subtract(BigDecimal.TEN)));
+    }
+}
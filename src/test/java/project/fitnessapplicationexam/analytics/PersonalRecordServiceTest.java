@@ -0,0 +1,179 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.fitnessapplicationexam.analytics.model.PersonalRecord;
+import project.fitnessapplicationexam.analytics.model.PersonalRepRecord;
+import project.fitnessapplicationexam.analytics.repository.PersonalRecordRepository;
+import project.fitnessapplicationexam.analytics.repository.PersonalRepRecordRepository;
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonalRecordServiceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 5, 6, 18, 0);
+
+    @Mock
+    private PersonalRecordRepository personalRecordRepository;
+
+    @Mock
+    private PersonalRepRecordRepository personalRepRecordRepository;
+
+    @Mock
+    private WorkoutSessionRepository workoutSessionRepository;
+
+    @InjectMocks
+    private PersonalRecordService personalRecordService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID bench = UUID.randomUUID();
+
+    @Test
+    void computeRecords_tracksEachRecordTypeIndependently() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        Map<UUID, PersonalRecord> records = PersonalRecordService.computeRecords(userId, List.of(
+                new TrainingLogRow(first, MONDAY, bench, 10, new BigDecimal("80")),
+                new TrainingLogRow(first, MONDAY, bench, 10, new BigDecimal("80")),
+                new TrainingLogRow(second, MONDAY.plusDays(2), bench, 1, new BigDecimal("100")),
+                new TrainingLogRow(second, MONDAY.plusDays(2), bench, 0, new BigDecimal("150"))));
+
+        PersonalRecord record = records.get(bench);
+        assertEquals(0, new BigDecimal("100").compareTo(record.getMaxWeight()));
+        assertEquals(second, record.getMaxWeightSessionId());
+        assertEquals(0, new BigDecimal("106.67").compareTo(record.getBestOneRepMax()));
+        assertEquals(first, record.getOneRepMaxSessionId());
+        assertEquals(0, new BigDecimal("1600").compareTo(record.getBestSessionVolume()));
+        assertEquals(MONDAY.toLocalDate(), record.getSessionVolumeDate());
+    }
+
+    @Test
+    void computeRepRecords_keepsMostRepsPerWeightAndEarliestOnTies() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        Map<PersonalRepRecord.Key, PersonalRepRecord> records = PersonalRecordService.computeRepRecords(userId, List.of(
+                new TrainingLogRow(first, MONDAY, bench, 8, new BigDecimal("80")),
+                new TrainingLogRow(first, MONDAY, bench, 5, new BigDecimal("100")),
+                new TrainingLogRow(second, MONDAY.plusDays(2), bench, 8, new BigDecimal("80.0")),
+                new TrainingLogRow(second, MONDAY.plusDays(2), bench, 6, new BigDecimal("100")),
+                new TrainingLogRow(second, MONDAY.plusDays(2), bench, 0, new BigDecimal("120"))));
+
+        assertEquals(2, records.size());
+        PersonalRepRecord eighty = records.get(new PersonalRepRecord.Key(userId, bench, new BigDecimal("80.00")));
+        assertEquals(8, eighty.getReps());
+        assertEquals(first, eighty.getSessionId());
+        PersonalRepRecord hundred = records.get(new PersonalRepRecord.Key(userId, bench, new BigDecimal("100.00")));
+        assertEquals(6, hundred.getReps());
+        assertEquals(second, hundred.getSessionId());
+    }
+
+    @Test
+    void recordSession_improvesExistingRecordAndCreatesNewOnes() {
+        UUID squat = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        PersonalRecord existing = PersonalRecordService.computeRecords(userId, List.of(
+                new TrainingLogRow(UUID.randomUUID(), MONDAY, bench, 5, new BigDecimal("100")))).get(bench);
+        when(personalRecordRepository.findAllByUserIdAndExerciseIdIn(userId, Set.of(bench, squat)))
+                .thenReturn(List.of(existing));
+
+        WorkoutSession session = WorkoutSession.builder().id(sessionId).userId(userId)
+                .startedAt(MONDAY.plusDays(7)).build();
+        personalRecordService.recordSession(session, List.of(
+                WorkoutSet.builder().exerciseId(bench).reps(3).weight(new BigDecimal("105")).build(),
+                WorkoutSet.builder().exerciseId(squat).reps(5).weight(new BigDecimal("140")).build()));
+
+        assertEquals(0, new BigDecimal("105").compareTo(existing.getMaxWeight()));
+        assertEquals(sessionId, existing.getMaxWeightSessionId());
+        assertEquals(0, new BigDecimal("500").compareTo(existing.getBestSessionVolume()));
+        assertNotEquals(sessionId, existing.getSessionVolumeSessionId());
+        verify(personalRecordRepository).saveAll(argThat(created -> created.iterator().next().getExerciseId().equals(squat)));
+    }
+
+    @Test
+    void recordSession_improvesRepRecordAtSameWeightOnly() {
+        UUID sessionId = UUID.randomUUID();
+        PersonalRepRecord existing = PersonalRecordService.computeRepRecords(userId, List.of(
+                new TrainingLogRow(UUID.randomUUID(), MONDAY, bench, 5, new BigDecimal("100")))).values().iterator().next();
+        when(personalRepRecordRepository.findAllByUserIdAndExerciseIdIn(userId, Set.of(bench)))
+                .thenReturn(List.of(existing));
+
+        WorkoutSession session = WorkoutSession.builder().id(sessionId).userId(userId)
+                .startedAt(MONDAY.plusDays(7)).build();
+        personalRecordService.recordSession(session, List.of(
+                WorkoutSet.builder().exerciseId(bench).reps(7).weight(new BigDecimal("100")).build(),
+                WorkoutSet.builder().exerciseId(bench).reps(3).weight(new BigDecimal("110")).build()));
+
+        assertEquals(7, existing.getReps());
+        assertEquals(sessionId, existing.getSessionId());
+        verify(personalRepRecordRepository).saveAll(argThat(created -> {
+            PersonalRepRecord record = created.iterator().next();
+            return record.getWeight().compareTo(new BigDecimal("110")) == 0 && record.getReps() == 3;
+        }));
+    }
+
+    @Test
+    void repairAfterSessionChange_recomputesHeldRecordsAndDropsEmptyOnes() {
+        UUID sessionId = UUID.randomUUID();
+        UUID earlier = UUID.randomUUID();
+        UUID squat = UUID.randomUUID();
+        PersonalRecord benchRecord = PersonalRecordService.computeRecords(userId, List.of(
+                new TrainingLogRow(sessionId, MONDAY, bench, 5, new BigDecimal("120")))).get(bench);
+        PersonalRecord squatRecord = PersonalRecordService.computeRecords(userId, List.of(
+                new TrainingLogRow(sessionId, MONDAY, squat, 5, new BigDecimal("140")))).get(squat);
+        when(personalRecordRepository.findAllHeldBySession(userId, sessionId)).thenReturn(List.of(benchRecord, squatRecord));
+        when(workoutSessionRepository.findExerciseHistory(userId, List.of(bench, squat), SessionStatus.FINISHED))
+                .thenReturn(List.of(new TrainingLogRow(earlier, MONDAY.minusDays(3), bench, 5, new BigDecimal("110"))));
+
+        personalRecordService.repairAfterSessionChange(userId, sessionId);
+
+        assertEquals(0, new BigDecimal("110").compareTo(benchRecord.getMaxWeight()));
+        assertEquals(earlier, benchRecord.getMaxWeightSessionId());
+        assertEquals(earlier, benchRecord.getSessionVolumeSessionId());
+        verify(personalRecordRepository).delete(squatRecord);
+        verify(personalRecordRepository, never()).delete(benchRecord);
+    }
+
+    @Test
+    void repairAfterSessionChange_recomputesRepRecordsHeldBySession() {
+        UUID sessionId = UUID.randomUUID();
+        UUID earlier = UUID.randomUUID();
+        Map<PersonalRepRecord.Key, PersonalRepRecord> held = PersonalRecordService.computeRepRecords(userId, List.of(
+                new TrainingLogRow(sessionId, MONDAY, bench, 10, new BigDecimal("60")),
+                new TrainingLogRow(sessionId, MONDAY, bench, 8, new BigDecimal("70"))));
+        PersonalRepRecord sixty = held.get(new PersonalRepRecord.Key(userId, bench, new BigDecimal("60.00")));
+        PersonalRepRecord seventy = held.get(new PersonalRepRecord.Key(userId, bench, new BigDecimal("70.00")));
+        when(personalRepRecordRepository.findAllByUserIdAndSessionId(userId, sessionId)).thenReturn(List.of(sixty, seventy));
+        when(workoutSessionRepository.findExerciseHistory(userId, List.of(bench), SessionStatus.FINISHED))
+                .thenReturn(List.of(new TrainingLogRow(earlier, MONDAY.minusDays(3), bench, 9, new BigDecimal("60"))));
+
+        personalRecordService.repairAfterSessionChange(userId, sessionId);
+
+        assertEquals(9, sixty.getReps());
+        assertEquals(earlier, sixty.getSessionId());
+        verify(personalRepRecordRepository).delete(seventy);
+        verify(personalRepRecordRepository, never()).delete(sixty);
+    }
+
+    @Test
+    void estimateOneRepMax_usesEpleyAboveOneRep() {
+        assertEquals(0, new BigDecimal("100").compareTo(PersonalRecordService.estimateOneRepMax(new BigDecimal("100"), 1)));
+        assertEquals(0, new BigDecimal("116.67").compareTo(PersonalRecordService.estimateOneRepMax(new BigDecimal("100"), 5)));
+    }
+}
@@ -0,0 +1,165 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import project.fitnessapplicationexam.workout.dto.TrainingLogRow;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrainingLogCacheTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 5, 6, 18, 0);
+
+    @Mock
+    private WorkoutSessionRepository workoutSessionRepository;
+
+    @Test
+    void trainingLog_storesSetsInSessionOrderWithScaledWeights() {
+        UUID bench = UUID.randomUUID();
+        UUID squat = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        TrainingLog log = TrainingLog.of(List.of(
+                new TrainingLogRow(first, MONDAY, bench, 5, new BigDecimal("102.50")),
+                new TrainingLogRow(first, MONDAY, squat, 3, new BigDecimal("140")),
+                new TrainingLogRow(empty, MONDAY.plusDays(1), null, null, null),
+                new TrainingLogRow(third, MONDAY.plusDays(3), bench, 8, new BigDecimal("90"))));
+
+        assertEquals(3, log.sessionCount());
+        assertEquals(2, log.exerciseCount());
+        assertEquals(0, log.setStart(0));
+        assertEquals(2, log.setEnd(0));
+        assertEquals(log.setStart(1), log.setEnd(1));
+        assertEquals(10250, log.setWeight(0));
+        assertEquals(bench, log.exerciseId(log.setExercise(2)));
+        assertEquals(2, log.firstSessionOnOrAfter(MONDAY.toLocalDate().plusDays(2).toEpochDay()));
+        assertEquals(3, log.firstSessionOnOrAfter(MONDAY.toLocalDate().plusDays(4).toEpochDay()));
+    }
+
+    @Test
+    void trainingLog_appendRejectsSessionsStartedBeforeTheNewest() {
+        UUID bench = UUID.randomUUID();
+        TrainingLog log = TrainingLog.of(List.of(new TrainingLogRow(UUID.randomUUID(), MONDAY, bench, 5, BigDecimal.TEN)));
+
+        TrainingLog appended = log.append(List.of(
+                new TrainingLogRow(UUID.randomUUID(), MONDAY.plusDays(2), UUID.randomUUID(), 10, BigDecimal.ONE)));
+
+        assertEquals(1, log.sessionCount());
+        assertEquals(2, appended.sessionCount());
+        assertEquals(2, appended.exerciseCount());
+        assertNull(appended.append(List.of(new TrainingLogRow(UUID.randomUUID(), MONDAY.plusDays(1), bench, 1, BigDecimal.ONE))));
+    }
+
+    @Test
+    void get_loadsOncePerUser() {
+        UUID userId = UUID.randomUUID();
+        when(workoutSessionRepository.findTrainingLogRows(userId, SessionStatus.FINISHED)).thenReturn(List.of());
+        TrainingLogCache cache = cache(DataSize.ofMegabytes(1));
+
+        TrainingLog first = cache.get(userId);
+
+        assertSame(first, cache.get(userId));
+        verify(workoutSessionRepository, times(1)).findTrainingLogRows(userId, SessionStatus.FINISHED);
+    }
+
+    @Test
+    void recordFinished_appendsToCachedLog() {
+        UUID userId = UUID.randomUUID();
+        when(workoutSessionRepository.findTrainingLogRows(userId, SessionStatus.FINISHED)).thenReturn(List.of());
+        TrainingLogCache cache = cache(DataSize.ofMegabytes(1));
+        cache.get(userId);
+
+        WorkoutSession session = WorkoutSession.builder().id(UUID.randomUUID()).userId(userId).startedAt(MONDAY).build();
+        cache.recordFinished(session, List.of(WorkoutSet.builder().exerciseId(UUID.randomUUID())
+                .reps(5).weight(new BigDecimal("60")).build()));
+
+        TrainingLog log = cache.get(userId);
+        assertEquals(1, log.sessionCount());
+        assertEquals(6000, log.setWeight(0));
+        verify(workoutSessionRepository, times(1)).findTrainingLogRows(userId, SessionStatus.FINISHED);
+    }
+
+    @Test
+    void recordFinished_logLoadedWhileCommittingIsNotCountedTwice() {
+        UUID userId = UUID.randomUUID();
+        UUID exerciseId = UUID.randomUUID();
+        WorkoutSession session = WorkoutSession.builder().id(UUID.randomUUID()).userId(userId).startedAt(MONDAY).build();
+        when(workoutSessionRepository.findTrainingLogRows(userId, SessionStatus.FINISHED)).thenReturn(List.of(
+                new TrainingLogRow(session.getId(), MONDAY, exerciseId, 5, new BigDecimal("60"))));
+        TrainingLogCache cache = cache(DataSize.ofMegabytes(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.recordFinished(session, List.of(WorkoutSet.builder().exerciseId(exerciseId)
+                    .reps(5).weight(new BigDecimal("60")).build()));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            // The session is committed and visible to a concurrent read before afterCommit runs.
+            assertEquals(1, cache.get(userId).sessionCount());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, cache.get(userId).sessionCount());
+        assertEquals(1, cache.get(userId).sessionCount());
+        verify(workoutSessionRepository, times(2)).findTrainingLogRows(userId, SessionStatus.FINISHED);
+    }
+
+    @Test
+    void store_evictsLeastRecentlyUsedLogsOverTheByteBudget() {
+        UUID oldest = UUID.randomUUID();
+        UUID recent = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+        when(workoutSessionRepository.findTrainingLogRows(any(), eq(SessionStatus.FINISHED))).thenReturn(List.of());
+        long logBytes = TrainingLog.of(List.of()).bytes();
+        TrainingLogCache cache = cache(DataSize.ofBytes(logBytes * 2));
+
+        cache.get(oldest);
+        cache.get(recent);
+        cache.get(oldest);
+        cache.get(newest);
+
+        assertEquals(logBytes * 2, cache.totalBytes());
+        cache.get(oldest);
+        cache.get(recent);
+        verify(workoutSessionRepository, times(1)).findTrainingLogRows(oldest, SessionStatus.FINISHED);
+        verify(workoutSessionRepository, times(2)).findTrainingLogRows(recent, SessionStatus.FINISHED);
+    }
+
+    @Test
+    void evict_dropsCachedLog() {
+        UUID userId = UUID.randomUUID();
+        when(workoutSessionRepository.findTrainingLogRows(userId, SessionStatus.FINISHED)).thenReturn(List.of());
+        TrainingLogCache cache = cache(DataSize.ofMegabytes(1));
+        cache.get(userId);
+
+        cache.evict(userId);
+        cache.get(userId);
+
+        assertTrue(cache.totalBytes() > 0);
+        verify(workoutSessionRepository, times(2)).findTrainingLogRows(userId, SessionStatus.FINISHED);
+    }
+
+    private TrainingLogCache cache(DataSize maxSize) {
+        return new TrainingLogCache(workoutSessionRepository, new AnalyticsProperties(AnalyticsMode.LOCAL, maxSize, Duration.ofSeconds(2), 16));
+    }
+}
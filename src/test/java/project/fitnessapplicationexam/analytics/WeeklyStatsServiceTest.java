@@ -0,0 +1,106 @@
+package project.fitnessapplicationexam.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse;
+import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse.DayStat;
+import project.fitnessapplicationexam.analytics.model.UserDailyRollup;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeeklyStatsServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 6);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private TrainingLogCache trainingLogCache;
+
+    @Mock
+    private PersonalRecordService personalRecordService;
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @Mock
+    private AnalyticsClient analyticsClient;
+
+    @Test
+    void local_fillsEveryDayFromRollupRows() {
+        UUID userId = UUID.randomUUID();
+        when(dailyRollupService.range(userId, MONDAY, SUNDAY)).thenReturn(List.of(
+                new UserDailyRollup(userId, MONDAY.plusDays(2), 2, 12, 96, new BigDecimal("4800.00")),
+                new UserDailyRollup(userId, MONDAY.plusDays(4), 0, 0, 0, BigDecimal.ZERO)));
+
+        WeeklySummaryResponse summary = service(AnalyticsMode.LOCAL).weeklySummary(userId, MONDAY, SUNDAY);
+
+        assertEquals(7, summary.days().size());
+        DayStat wednesday = summary.days().get(2);
+        assertEquals(2, wednesday.sessions());
+        assertEquals(12, wednesday.sets());
+        assertEquals(96, wednesday.reps());
+        assertEquals(new BigDecimal("4800.00"), wednesday.volume());
+        assertEquals(0, summary.days().get(0).sessions());
+        assertEquals(BigDecimal.ZERO, summary.days().get(4).volume());
+        verifyNoInteractions(analyticsClient);
+    }
+
+    @Test
+    void remote_fetchesWithoutRecomputing() {
+        UUID userId = UUID.randomUUID();
+        WeeklySummaryResponse remote = new WeeklySummaryResponse(MONDAY, SUNDAY, List.of());
+        when(analyticsClient.getWeeklyStats(userId, MONDAY, SUNDAY)).thenReturn(ResponseEntity.ok(remote));
+
+        WeeklySummaryResponse summary = service(AnalyticsMode.REMOTE).weeklySummary(userId, MONDAY, SUNDAY);
+
+        assertSame(remote, summary);
+        verify(analyticsClient, never()).recomputeWeeklyStats(any(), any());
+        verifyNoInteractions(dailyRollupService);
+    }
+
+    @Test
+    void localWithFallback_usesRemoteWhenLocalFails() {
+        UUID userId = UUID.randomUUID();
+        WeeklySummaryResponse remote = new WeeklySummaryResponse(MONDAY, SUNDAY, List.of());
+        when(dailyRollupService.range(any(), any(), any()))
+                .thenThrow(new IllegalStateException("db down"));
+        when(analyticsClient.getWeeklyStats(userId, MONDAY, SUNDAY)).thenReturn(ResponseEntity.ok(remote));
+
+        WeeklySummaryResponse summary = service(AnalyticsMode.LOCAL_WITH_REMOTE_FALLBACK)
+                .weeklySummary(userId, MONDAY, SUNDAY);
+
+        assertSame(remote, summary);
+    }
+
+    @Test
+    void remoteFailure_returnsEmptySummary() {
+        UUID userId = UUID.randomUUID();
+        when(analyticsClient.getWeeklyStats(any(), any(), any())).thenThrow(new RuntimeException("unavailable"));
+
+        WeeklySummaryResponse summary = service(AnalyticsMode.REMOTE).weeklySummary(userId, MONDAY, SUNDAY);
+
+        assertEquals(MONDAY, summary.from());
+        assertTrue(summary.days().isEmpty());
+    }
+
+    private WeeklyStatsService service(AnalyticsMode mode) {
+        return new WeeklyStatsService(new AnalyticsProperties(mode, DataSize.ofMegabytes(1), Duration.ofSeconds(2), 16),
+                new LocalAnalyticsEngine(dailyRollupService, trainingLogCache, personalRecordService, exerciseRepository), analyticsClient);
+    }
+}
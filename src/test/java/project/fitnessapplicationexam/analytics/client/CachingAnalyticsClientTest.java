@@ -0,0 +1,210 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import project.fitnessapplicationexam.analytics.AnalyticsReadCacheProperties;
+import project.fitnessapplicationexam.analytics.dto.CreateMilestoneRequest;
+import project.fitnessapplicationexam.analytics.dto.RecomputeWeeklyRequest;
+import project.fitnessapplicationexam.analytics.dto.TrainingFrequencyResponse;
+import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAnalyticsClientTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 6);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 12);
+
+    @Mock
+    private AnalyticsClient delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private CachingAnalyticsClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AnalyticsReadCacheProperties properties =
+                new AnalyticsReadCacheProperties(Duration.ofMinutes(1), Duration.ofHours(24), 100, 2);
+        Ticker ticker = nanos::get;
+        client = new CachingAnalyticsClient(delegate, properties, meterRegistry, ticker, refreshes::add);
+    }
+
+    @Test
+    void freshEntry_isServedWithoutCallingTheService() {
+        UUID userId = UUID.randomUUID();
+        ResponseEntity<WeeklySummaryResponse> response = ResponseEntity.ok(weekly(3));
+        when(delegate.getWeeklyStats(userId, FROM, TO)).thenReturn(response);
+
+        assertSame(response, client.getWeeklyStats(userId, FROM, TO));
+        assertSame(response, client.getWeeklyStats(userId, FROM, TO));
+
+        verify(delegate, times(1)).getWeeklyStats(userId, FROM, TO);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "analyticsReads").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void differentRangesAndEndpoints_areCachedSeparately() {
+        UUID userId = UUID.randomUUID();
+        when(delegate.getWeeklyStats(eq(userId), any(), any())).thenReturn(ResponseEntity.ok(weekly(1)));
+        when(delegate.getTrainingFrequency(userId, FROM, TO))
+                .thenReturn(ResponseEntity.ok(mock(TrainingFrequencyResponse.class)));
+
+        client.getWeeklyStats(userId, FROM, TO);
+        client.getWeeklyStats(userId, FROM.plusWeeks(1), TO.plusWeeks(1));
+        client.getTrainingFrequency(userId, FROM, TO);
+
+        verify(delegate).getWeeklyStats(userId, FROM, TO);
+        verify(delegate).getWeeklyStats(userId, FROM.plusWeeks(1), TO.plusWeeks(1));
+        verify(delegate).getTrainingFrequency(userId, FROM, TO);
+    }
+
+    @Test
+    void staleEntry_isServedWhileItReloads() {
+        UUID userId = UUID.randomUUID();
+        ResponseEntity<WeeklySummaryResponse> first = ResponseEntity.ok(weekly(1));
+        ResponseEntity<WeeklySummaryResponse> second = ResponseEntity.ok(weekly(2));
+        when(delegate.getWeeklyStats(userId, FROM, TO)).thenReturn(first).thenReturn(second);
+        client.getWeeklyStats(userId, FROM, TO);
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertSame(first, client.getWeeklyStats(userId, FROM, TO));
+        runRefreshes();
+        assertSame(second, client.getWeeklyStats(userId, FROM, TO));
+        verify(delegate, times(2)).getWeeklyStats(userId, FROM, TO);
+    }
+
+    @Test
+    void rejectedReload_servesStaleEntryAndRetriesOnALaterRead() {
+        UUID userId = UUID.randomUUID();
+        AtomicBoolean full = new AtomicBoolean(true);
+        client = new CachingAnalyticsClient(delegate,
+                new AnalyticsReadCacheProperties(Duration.ofMinutes(1), Duration.ofHours(24), 100, 2),
+                meterRegistry, nanos::get, task -> {
+                    if (full.get()) {
+                        throw new RejectedExecutionException("refresh queue full");
+                    }
+                    refreshes.add(task);
+                });
+        ResponseEntity<WeeklySummaryResponse> first = ResponseEntity.ok(weekly(1));
+        ResponseEntity<WeeklySummaryResponse> second = ResponseEntity.ok(weekly(2));
+        when(delegate.getWeeklyStats(userId, FROM, TO)).thenReturn(first).thenReturn(second);
+        client.getWeeklyStats(userId, FROM, TO);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertSame(first, client.getWeeklyStats(userId, FROM, TO));
+        full.set(false);
+        assertSame(first, client.getWeeklyStats(userId, FROM, TO));
+        runRefreshes();
+
+        assertSame(second, client.getWeeklyStats(userId, FROM, TO));
+    }
+
+    @Test
+    void failedReload_keepsServingTheLastGoodResponse() {
+        UUID userId = UUID.randomUUID();
+        ResponseEntity<WeeklySummaryResponse> good = ResponseEntity.ok(weekly(4));
+        when(delegate.getWeeklyStats(userId, FROM, TO))
+                .thenReturn(good)
+                .thenThrow(new RuntimeException("analytics service down"));
+        client.getWeeklyStats(userId, FROM, TO);
+
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertSame(good, client.getWeeklyStats(userId, FROM, TO));
+        runRefreshes();
+        assertSame(good, client.getWeeklyStats(userId, FROM, TO));
+        verify(delegate, times(2)).getWeeklyStats(userId, FROM, TO);
+    }
+
+    @Test
+    void entryOlderThanExpireAfter_isLoadedAgain() {
+        UUID userId = UUID.randomUUID();
+        when(delegate.getWeeklyStats(userId, FROM, TO)).thenReturn(ResponseEntity.ok(weekly(1)))
+                .thenThrow(new RuntimeException("analytics service down"));
+        client.getWeeklyStats(userId, FROM, TO);
+
+        nanos.addAndGet(Duration.ofHours(25).toNanos());
+
+        assertThrows(RuntimeException.class, () -> client.getWeeklyStats(userId, FROM, TO));
+    }
+
+    @Test
+    void recomputeWeeklyStats_dropsOnlyThatUsersEntries() {
+        UUID changed = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        when(delegate.getWeeklyStats(any(), any(), any())).thenReturn(ResponseEntity.ok(weekly(1)));
+        when(delegate.getMilestones(changed)).thenReturn(ResponseEntity.ok(List.of()));
+        client.getWeeklyStats(changed, FROM, TO);
+        client.getMilestones(changed);
+        client.getWeeklyStats(other, FROM, TO);
+
+        client.recomputeWeeklyStats(changed, new RecomputeWeeklyRequest(FROM, TO));
+        client.getWeeklyStats(changed, FROM, TO);
+        client.getMilestones(changed);
+        client.getWeeklyStats(other, FROM, TO);
+
+        verify(delegate).recomputeWeeklyStats(eq(changed), any());
+        verify(delegate, times(2)).getWeeklyStats(changed, FROM, TO);
+        verify(delegate, times(2)).getMilestones(changed);
+        verify(delegate, times(1)).getWeeklyStats(other, FROM, TO);
+    }
+
+    @Test
+    void createMilestone_dropsThatUsersEntries() {
+        UUID userId = UUID.randomUUID();
+        when(delegate.getMilestones(userId)).thenReturn(ResponseEntity.ok(List.of()));
+        client.getMilestones(userId);
+
+        client.createMilestone(userId, mock(CreateMilestoneRequest.class));
+        client.getMilestones(userId);
+
+        verify(delegate, times(2)).getMilestones(userId);
+    }
+
+    @Test
+    void failedWrite_keepsCachedEntries() {
+        UUID userId = UUID.randomUUID();
+        when(delegate.getMilestones(userId)).thenReturn(ResponseEntity.ok(List.of()));
+        doThrow(new RuntimeException("analytics service down")).when(delegate).deleteMilestone(eq(userId), any());
+        client.getMilestones(userId);
+
+        assertThrows(RuntimeException.class, () -> client.deleteMilestone(userId, UUID.randomUUID()));
+        client.getMilestones(userId);
+
+        verify(delegate, times(1)).getMilestones(userId);
+    }
+
+    private void runRefreshes() {
+        while (!refreshes.isEmpty()) {
+            refreshes.poll().run();
+        }
+    }
+
+    private static WeeklySummaryResponse weekly(int sessions) {
+        return new WeeklySummaryResponse(FROM, TO, List.of(
+                new WeeklySummaryResponse.DayStat(FROM, sessions, 0, 0, BigDecimal.ZERO)));
+    }
+}
@@ -0,0 +1,48 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedConnectionManagerTest {
+
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("localhost", 1010));
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = new InstrumentedConnectionManager(meterRegistry);
+        connectionManager.setDefaultMaxPerRoute(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+    }
+
+    @Test
+    void lease_recordsWaitForAcquiredAndTimedOutConnections() throws Exception {
+        ConnectionEndpoint first = connectionManager.lease("1", ROUTE, null).get(Timeout.ofSeconds(1));
+
+        assertThrows(TimeoutException.class,
+                () -> connectionManager.lease("2", ROUTE, null).get(Timeout.ofMilliseconds(50)));
+
+        assertNotNull(first);
+        assertEquals(1, meterRegistry.get(InstrumentedConnectionManager.WAIT_METRIC).tag("outcome", "acquired")
+                .timer().count());
+        var timeouts = meterRegistry.get(InstrumentedConnectionManager.WAIT_METRIC).tag("outcome", "timeout").timer();
+        assertEquals(1, timeouts.count());
+        assertTrue(timeouts.totalTime(TimeUnit.MILLISECONDS) >= 40);
+    }
+}
@@ -0,0 +1,63 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MethodTimeoutClientTest {
+
+    private static final Request.Options DEFAULTS =
+            new Request.Options(1, TimeUnit.SECONDS, 3, TimeUnit.SECONDS, false);
+
+    @Mock
+    private Client delegate;
+
+    @Test
+    void configuredMethod_getsItsOwnReadTimeout() throws Exception {
+        MethodTimeoutClient client = new MethodTimeoutClient(delegate, Map.of("syncExercises", Duration.ofSeconds(10)));
+
+        client.execute(request("syncExercises"), DEFAULTS);
+
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        verify(delegate).execute(any(), options.capture());
+        assertEquals(10_000, options.getValue().readTimeoutMillis());
+        assertEquals(1_000, options.getValue().connectTimeoutMillis());
+        assertFalse(options.getValue().isFollowRedirects());
+    }
+
+    @Test
+    void otherMethods_keepTheClientDefaults() throws Exception {
+        MethodTimeoutClient client = new MethodTimeoutClient(delegate, Map.of("syncExercises", Duration.ofSeconds(10)));
+
+        client.execute(request("getWeeklyStats"), DEFAULTS);
+
+        verify(delegate).execute(any(), eq(DEFAULTS));
+    }
+
+    private static Request request(String methodName) {
+        MethodMetadata metadata = new SpringMvcContract().parseAndValidateMetadata(AnalyticsClient.class).stream()
+                .filter(candidate -> candidate.method().getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        return Request.create(Request.HttpMethod.GET, "http://localhost:1010/api/analytics", Map.of(),
+                null, StandardCharsets.UTF_8, template);
+    }
+}
@@ -0,0 +1,159 @@
+package project.fitnessapplicationexam.analytics.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientFeignClientTest {
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 3, TimeUnit.SECONDS, false);
+
+    @Mock
+    private Client delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private ResilientFeignClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.of("analytics", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        bulkhead = Bulkhead.of("analytics", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        client = new ResilientFeignClient(delegate, circuitBreaker, bulkhead, meterRegistry);
+    }
+
+    @Test
+    void repeatedServerErrors_openTheCircuitAndShortCircuitLaterCalls() throws Exception {
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> response(invocation.getArgument(0), 503));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(503, client.execute(request(), OPTIONS).status());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, () -> client.execute(request(), OPTIONS));
+        verify(delegate, times(4)).execute(any(), any());
+        assertEquals(1.0, meterRegistry.get(ResilientFeignClient.REJECTED_METRIC).tag("reason", "circuit_open")
+                .counter().count());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void clientErrors_doNotCountAgainstTheCircuit() throws Exception {
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> response(invocation.getArgument(0), 404));
+
+        for (int i = 0; i < 4; i++) {
+            client.execute(request(), OPTIONS);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void transportFailure_isRecordedAndRethrown() throws Exception {
+        when(delegate.execute(any(), any())).thenThrow(new IOException("connection refused"));
+
+        assertThrows(IOException.class, () -> client.execute(request(), OPTIONS));
+
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void responseBody_isReadWhileTheCallHoldsItsBulkheadSlot() throws Exception {
+        int[] availableWhileReading = {-1};
+        InputStream body = new ByteArrayInputStream("{\"milestones\":[]}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                availableWhileReading[0] = bulkhead.getMetrics().getAvailableConcurrentCalls();
+                return super.read(buffer, offset, length);
+            }
+        };
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> response(invocation.getArgument(0), 200)
+                .toBuilder().body(body, null).build());
+
+        Response response = client.execute(request(), OPTIONS);
+
+        assertEquals(0, availableWhileReading[0]);
+        assertEquals("{\"milestones\":[]}", Util.toString(response.body().asReader(StandardCharsets.UTF_8)));
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void failureWhileReadingBody_isRecordedAsFailure() throws Exception {
+        InputStream body = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Read timed out");
+            }
+        };
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> response(invocation.getArgument(0), 200)
+                .toBuilder().body(body, null).build());
+
+        assertThrows(IOException.class, () -> client.execute(request(), OPTIONS));
+
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void fullBulkhead_rejectsWithoutCallingTheServiceOrTouchingTheCircuit() throws Exception {
+        bulkhead.acquirePermission();
+
+        assertThrows(BulkheadFullException.class, () -> client.execute(request(), OPTIONS));
+
+        verify(delegate, never()).execute(any(), any());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+        assertEquals(1.0, meterRegistry.get(ResilientFeignClient.REJECTED_METRIC).tag("reason", "bulkhead_full")
+                .counter().count());
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "http://localhost:1010/api/analytics/milestones", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+    }
+
+    private static Response response(Request request, int status) {
+        return Response.builder()
+                .request(request)
+                .status(status)
+                .headers(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package project.fitnessapplicationexam.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private static final CacheProperties.Spec DEFAULTS =
+            new CacheProperties.Spec(100L, null, Duration.ofMinutes(10), null);
+
+    @Test
+    void cacheManager_appliesPerCacheSpecOverDefaults() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CacheProperties(DEFAULTS, Map.of(
+                "exercise", new CacheProperties.Spec(5L, null, null, Duration.ofMinutes(30)))));
+
+        Cache<Object, Object> exercise = nativeCache(cacheManager, "exercise");
+
+        assertEquals(5L, exercise.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(10).toNanos(),
+                exercise.policy().expireAfterWrite().orElseThrow().getExpiresAfter(TimeUnit.NANOSECONDS));
+        assertTrue(exercise.policy().expireAfterAccess().isPresent());
+        assertTrue(exercise.policy().isRecordingStats());
+    }
+
+    @Test
+    void cacheManager_unconfiguredCacheUsesDefaults() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CacheProperties(DEFAULTS, Map.of()));
+
+        Cache<Object, Object> other = nativeCache(cacheManager, "other");
+
+        assertEquals(100L, other.policy().eviction().orElseThrow().getMaximum());
+        assertFalse(other.policy().eviction().orElseThrow().isWeighted());
+    }
+
+    @Test
+    void cacheManager_weightedCacheCountsListElements() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CacheProperties(DEFAULTS, Map.of(
+                "templates", new CacheProperties.Spec(null, 10L, null, null))));
+        Cache<Object, Object> templates = nativeCache(cacheManager, "templates");
+
+        templates.put("a", List.of(1, 2, 3, 4));
+        templates.put("b", "single");
+        templates.cleanUp();
+
+        var eviction = templates.policy().eviction().orElseThrow();
+        assertTrue(eviction.isWeighted());
+        assertEquals(10L, eviction.getMaximum());
+        assertEquals(5L, eviction.weightedSize().orElseThrow());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,104 @@
+package project.fitnessapplicationexam.common.ids;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generate_setsVersionVariantAndTimestamp() {
+        UuidV7 generator = new UuidV7(() -> 1_700_000_000_000L);
+
+        UUID id = generator.generate();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(1_700_000_000_000L, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void generate_sameMillisecond_isStrictlyIncreasing() {
+        UuidV7 generator = new UuidV7(() -> 1_700_000_000_000L);
+
+        UUID previous = generator.generate();
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.generate();
+            assertTrue(compareUnsigned(previous, current) < 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    void generate_clockMovesBackwards_staysIncreasing() {
+        AtomicLong now = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(now::get);
+
+        UUID first = generator.generate();
+        now.addAndGet(-5_000);
+        UUID second = generator.generate();
+
+        assertTrue(compareUnsigned(first, second) < 0);
+    }
+
+    @Test
+    void generate_textualFormSortsLikeBinary() {
+        AtomicLong now = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(now::get);
+
+        UUID first = generator.generate();
+        now.incrementAndGet();
+        UUID second = generator.generate();
+
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    @Test
+    void generate_concurrentThreads_producesUniqueIncreasingIdsPerThread() throws Exception {
+        UuidV7 generator = new UuidV7(() -> 1_700_000_000_000L);
+        int threads = 8;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<List<UUID>> results = new ConcurrentLinkedQueue<>();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.generate());
+                }
+                results.add(ids);
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Set<UUID> all = new HashSet<>();
+        for (List<UUID> ids : results) {
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+            }
+            all.addAll(ids);
+        }
+        assertEquals(threads * perThread, all.size());
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
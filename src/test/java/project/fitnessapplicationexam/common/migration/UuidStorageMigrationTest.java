@@ -0,0 +1,195 @@
+package project.fitnessapplicationexam.common.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migration against a real MySQL 8 (it relies on triggers, {@code UUID_TO_BIN} and in-place
+ * {@code ALTER TABLE}, none of which H2 supports). Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UuidStorageMigrationTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private JdbcTemplate jdbc;
+    private List<String> userIds;
+    private List<String> sessionIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword()));
+        for (String table : List.of("daily_rollups", "workout_sessions", "users", "uuid_migration_progress", "uuid_migration_foreign_keys")) {
+            jdbc.execute("DROP TABLE IF EXISTS " + table);
+        }
+        jdbc.execute("CREATE TABLE users (id char(36) NOT NULL PRIMARY KEY, username varchar(50) NOT NULL)");
+        jdbc.execute("CREATE TABLE workout_sessions (id char(36) NOT NULL PRIMARY KEY, user_id char(36) NOT NULL, "
+                + "template_id char(36) NULL, KEY idx_sessions_user (user_id), "
+                + "CONSTRAINT fk_sessions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE)");
+
+        userIds = Stream.generate(() -> UUID.randomUUID().toString()).limit(5).sorted().toList();
+        sessionIds = Stream.generate(() -> UUID.randomUUID().toString()).limit(5).sorted().toList();
+        for (int i = 0; i < userIds.size(); i++) {
+            jdbc.update("INSERT INTO users (id, username) VALUES (?, ?)", userIds.get(i), "user" + i);
+            jdbc.update("INSERT INTO workout_sessions (id, user_id, template_id) VALUES (?, ?, NULL)",
+                    sessionIds.get(i), userIds.get(i));
+        }
+    }
+
+    @Test
+    void backfill_resumesFromTheRecordedKey() {
+        migration().backfill();
+        String resumeAfter = userIds.get(2);
+        jdbc.execute("DROP TRIGGER users_uuid_bin_update");
+        jdbc.update("UPDATE users SET id__bin = NULL");
+        jdbc.update("UPDATE uuid_migration_progress SET last_key = JSON_ARRAY(?), completed = false "
+                + "WHERE table_name = 'users'", resumeAfter);
+
+        migration().backfill();
+
+        List<String> copied = jdbc.queryForList("SELECT id FROM users WHERE id__bin IS NOT NULL ORDER BY id", String.class);
+        assertEquals(userIds.subList(3, 5), copied);
+        assertEquals(Boolean.TRUE, jdbc.queryForObject(
+                "SELECT completed FROM uuid_migration_progress WHERE table_name = 'users'", Boolean.class));
+    }
+
+    @Test
+    void backfill_pagesOnTheFullCompositeKey() {
+        jdbc.execute("CREATE TABLE daily_rollups (user_id char(36) NOT NULL, day date NOT NULL, "
+                + "sets int NOT NULL, PRIMARY KEY (user_id, day))");
+        for (String userId : userIds.subList(0, 2)) {
+            for (int day = 1; day <= 5; day++) {
+                jdbc.update("INSERT INTO daily_rollups (user_id, day, sets) VALUES (?, ?, 1)",
+                        userId, "2024-05-0" + day);
+            }
+        }
+        List<Integer> copiedAfterEachChunk = new ArrayList<>();
+        UuidStorageMigration counting = new UuidStorageMigration(jdbc, 2, 0) {
+            @Override
+            void pause() {
+                if (columnType("daily_rollups", "user_id__bin") == null) {
+                    return;
+                }
+                copiedAfterEachChunk.add(jdbc.queryForObject(
+                        "SELECT COUNT(*) FROM daily_rollups WHERE user_id__bin IS NOT NULL", Integer.class));
+            }
+        };
+
+        counting.backfill();
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM daily_rollups "
+                + "WHERE user_id__bin IS NULL OR BIN_TO_UUID(user_id__bin) <> user_id", Integer.class));
+        List<Integer> counts = copiedAfterEachChunk.stream().filter(c -> c > 0).distinct().toList();
+        assertEquals(List.of(2, 4, 6, 8, 10), counts);
+        assertEquals(List.of(userIds.get(1), "2024-05-05"), List.of(
+                jdbc.queryForObject("SELECT last_key->>'$[0]' FROM uuid_migration_progress "
+                        + "WHERE table_name = 'daily_rollups'", String.class),
+                jdbc.queryForObject("SELECT last_key->>'$[1]' FROM uuid_migration_progress "
+                        + "WHERE table_name = 'daily_rollups'", String.class)));
+    }
+
+    @Test
+    void backfill_keepsShadowColumnsInSyncForNewRows() {
+        migration().backfill();
+        String id = UUID.randomUUID().toString();
+
+        jdbc.update("INSERT INTO users (id, username) VALUES (?, 'late')", id);
+
+        assertEquals(id, jdbc.queryForObject("SELECT BIN_TO_UUID(id__bin) FROM users WHERE id = ?", String.class, id));
+    }
+
+    @Test
+    void cutover_refusesToRunBeforeTheBackfillCompletes() {
+        migration().backfill();
+        jdbc.update("UPDATE uuid_migration_progress SET completed = false WHERE table_name = 'workout_sessions'");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> migration().cutover());
+
+        assertTrue(error.getMessage().contains("workout_sessions"));
+        assertEquals("char", columnType("users", "id"));
+        assertEquals(1, foreignKeyCount("fk_sessions_user"));
+    }
+
+    @Test
+    void cutover_withoutAnyBackfill_refusesToRun() {
+        assertThrows(IllegalStateException.class, () -> migration().cutover());
+        assertEquals("char", columnType("users", "id"));
+    }
+
+    @Test
+    void cutover_convertsColumnsAndRestoresForeignKeys() {
+        migration().backfill();
+
+        migration().cutover();
+
+        assertConverted();
+    }
+
+    @Test
+    void cutover_rerunAfterCrashBetweenRenameAndRebuild_finishesTheMigration() {
+        migration().backfill();
+        UuidStorageMigration crashing = new UuidStorageMigration(jdbc, 2, 0) {
+            @Override
+            void rebuildColumns(String table) {
+                if (table.equals("workout_sessions")) {
+                    throw new IllegalStateException("simulated crash");
+                }
+                super.rebuildColumns(table);
+            }
+        };
+        assertThrows(IllegalStateException.class, crashing::cutover);
+        assertEquals("char", columnType("workout_sessions", "id__chr"));
+        assertEquals(0, foreignKeyCount("fk_sessions_user"));
+        assertEquals("RENAMED", jdbc.queryForObject(
+                "SELECT cutover_state FROM uuid_migration_progress WHERE table_name = 'workout_sessions'", String.class));
+
+        migration().cutover();
+
+        assertConverted();
+    }
+
+    private void assertConverted() {
+        assertEquals("binary", columnType("users", "id"));
+        assertEquals("binary", columnType("workout_sessions", "id"));
+        assertEquals("binary", columnType("workout_sessions", "user_id"));
+        assertEquals("binary", columnType("workout_sessions", "template_id"));
+        assertNull(columnType("workout_sessions", "id__chr"));
+        assertNull(columnType("workout_sessions", "user_id__bin"));
+        assertEquals("NO", jdbc.queryForObject("SELECT IS_NULLABLE FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'workout_sessions' AND COLUMN_NAME = 'user_id'",
+                String.class));
+        assertEquals(1, foreignKeyCount("fk_sessions_user"));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = "
+                + "DATABASE() AND TABLE_NAME = 'workout_sessions' AND INDEX_NAME = 'idx_sessions_user'", Integer.class));
+        assertEquals(userIds, jdbc.queryForList("SELECT BIN_TO_UUID(user_id) FROM workout_sessions "
+                + "ORDER BY BIN_TO_UUID(id)", String.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = "
+                + "DATABASE() AND TABLE_NAME LIKE 'uuid_migration%'", Integer.class));
+    }
+
+    private String columnType(String table, String column) {
+        List<String> types = jdbc.queryForList("SELECT DATA_TYPE FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?", String.class, table, column);
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    private int foreignKeyCount(String name) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS WHERE TABLE_SCHEMA = "
+                + "DATABASE() AND CONSTRAINT_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'", Integer.class, name);
+    }
+
+    private UuidStorageMigration migration() {
+        return new UuidStorageMigration(jdbc, 2, 0);
+    }
+}
@@ -1,79 +1,66 @@
 package project.fitnessapplicationexam.common.schedulers;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import project.fitnessapplicationexam.workout.model.SessionStatus;
-import project.fitnessapplicationexam.workout.model.WorkoutSession;
-import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
-import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
+import project.fitnessapplicationexam.workout.service.WorkoutService;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ScheduledTasksTest {
 
     @Mock
-    private WorkoutSessionRepository sessionRepository;
+    private WorkoutService workoutService;
 
-    @Mock
-    private WorkoutSetRepository setRepository;
-
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private ScheduledTasks scheduledTasks;
 
-    @Test
-    void cleanupAbandonedWorkoutSessions_removesOldSessions() {
-        UUID sessionId = UUID.randomUUID();
-        UUID userId = UUID.randomUUID();
-
-        WorkoutSession abandonedSession = new WorkoutSession();
-        abandonedSession.setId(sessionId);
-        abandonedSession.setUserId(userId);
-        abandonedSession.setStatus(SessionStatus.IN_PROGRESS);
-        abandonedSession.setStartedAt(LocalDateTime.now().minusDays(10));
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduledTasks = new ScheduledTasks(workoutService, meterRegistry);
+    }
 
-        when(sessionRepository.findAll()).thenReturn(List.of(abandonedSession));
-        doNothing().when(setRepository).deleteBySessionId(sessionId);
-        doNothing().when(sessionRepository).delete(abandonedSession);
+    @Test
+    void cleanupAbandonedWorkoutSessions_deletesInBatchesUntilOneIsShort() {
+        when(workoutService.purgeAbandonedSessions(any(), anyInt())).thenReturn(500, 500, 42);
 
         scheduledTasks.cleanupAbandonedWorkoutSessions();
 
-        verify(setRepository).deleteBySessionId(sessionId);
-        verify(sessionRepository).delete(abandonedSession);
+        verify(workoutService, times(3)).purgeAbandonedSessions(any(), eq(500));
+        assertEquals(1042.0, meterRegistry.get("workout.cleanup.abandoned.deleted").counter().count());
+        assertEquals(1, meterRegistry.get("workout.cleanup.abandoned.duration").timer().count());
     }
 
     @Test
-    void cleanupAbandonedWorkoutSessions_ignoresRecentSessions() {
-        WorkoutSession recentSession = new WorkoutSession();
-        recentSession.setStatus(SessionStatus.IN_PROGRESS);
-        recentSession.setStartedAt(LocalDateTime.now().minusDays(1));
-
-        when(sessionRepository.findAll()).thenReturn(List.of(recentSession));
+    void cleanupAbandonedWorkoutSessions_usesSameWeekOldCutoffForEveryBatch() {
+        when(workoutService.purgeAbandonedSessions(any(), anyInt())).thenReturn(500, 0);
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
 
         scheduledTasks.cleanupAbandonedWorkoutSessions();
 
-        verify(setRepository, never()).deleteBySessionId(any());
-        verify(sessionRepository, never()).delete(any());
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(workoutService, times(2)).purgeAbandonedSessions(cutoff.capture(), anyInt());
+        assertSame(cutoff.getAllValues().get(0), cutoff.getAllValues().get(1));
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(6)));
     }
 
     @Test
-    void cleanupAbandonedWorkoutSessions_ignoresFinishedSessions() {
-        WorkoutSession finishedSession = new WorkoutSession();
-        finishedSession.setStatus(SessionStatus.FINISHED);
-        finishedSession.setStartedAt(LocalDateTime.now().minusDays(10));
-
-        when(sessionRepository.findAll()).thenReturn(List.of(finishedSession));
+    void cleanupAbandonedWorkoutSessions_nothingToDelete() {
+        when(workoutService.purgeAbandonedSessions(any(), anyInt())).thenReturn(0);
 
         scheduledTasks.cleanupAbandonedWorkoutSessions();
 
-        verify(setRepository, never()).deleteBySessionId(any());
-        verify(sessionRepository, never()).delete(any());
+        verify(workoutService, times(1)).purgeAbandonedSessions(any(), anyInt());
+        assertEquals(0.0, meterRegistry.get("workout.cleanup.abandoned.deleted").counter().count());
     }
 }
-
@@ -5,18 +5,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
-import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.repository.UserRepository;
-import java.time.LocalDateTime;
-import java.util.Arrays;
+import project.fitnessapplicationexam.user.service.UserSubscriptionService;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SubscriptionSchedulerTest {
 
+    @Mock
+    private UserSubscriptionService userSubscriptionService;
+
     @Mock
     private UserRepository userRepository;
 
@@ -24,58 +29,34 @@ class SubscriptionSchedulerTest {
     private SubscriptionScheduler subscriptionScheduler;
 
     @Test
-    void processRenewals_renewsActiveProUsers() {
-        LocalDateTime todayRenewal = LocalDateTime.now().toLocalDate().atStartOfDay();
-        
-        User proUser = User.builder()
-                .id(UUID.randomUUID())
-                .subscriptionTier(SubscriptionTier.PRO)
-                .subscriptionActive(true)
-                .nextRenewalAt(todayRenewal)
-                .build();
-
-        User basicUser = User.builder()
-                .id(UUID.randomUUID())
-                .subscriptionTier(SubscriptionTier.BASIC)
-                .subscriptionActive(true)
-                .build();
-
-        when(userRepository.findAll()).thenReturn(Arrays.asList(proUser, basicUser));
-        when(userRepository.save(any(User.class))).thenReturn(proUser);
+    void processRenewals_renewsInBatchesUntilOneIsShort() {
+        when(userSubscriptionService.renewProSubscriptionsDueOn(LocalDate.now(), 500)).thenReturn(500, 17);
 
         subscriptionScheduler.processRenewals();
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userSubscriptionService, times(2)).renewProSubscriptionsDueOn(LocalDate.now(), 500);
+        verify(userRepository, never()).findAll();
     }
 
     @Test
-    void notifyBasicUsersToUpgrade_logsBasicUsers() {
-        User basicUser = User.builder()
-                .id(UUID.randomUUID())
-                .subscriptionTier(SubscriptionTier.BASIC)
-                .build();
-
-        when(userRepository.findAll()).thenReturn(List.of(basicUser));
+    void processRenewals_nothingDue_stopsAfterOneBatch() {
+        when(userSubscriptionService.renewProSubscriptionsDueOn(any(), anyInt())).thenReturn(0);
 
-        subscriptionScheduler.notifyBasicUsersToUpgrade();
+        subscriptionScheduler.processRenewals();
 
-        verify(userRepository).findAll();
+        verify(userSubscriptionService, times(1)).renewProSubscriptionsDueOn(any(), anyInt());
     }
 
     @Test
-    void processRenewals_skipsInactiveUsers() {
-        User inactiveProUser = User.builder()
-                .id(UUID.randomUUID())
-                .subscriptionTier(SubscriptionTier.PRO)
-                .subscriptionActive(false)
-                .nextRenewalAt(LocalDateTime.now().plusDays(1))
-                .build();
-
-        when(userRepository.findAll()).thenReturn(List.of(inactiveProUser));
+    void notifyBasicUsersToUpgrade_pagesThroughBasicUserIds() {
+        List<UUID> firstPage = Stream.generate(UUID::randomUUID).limit(500).sorted().toList();
+        UUID last = firstPage.get(499);
+        when(userRepository.findIdsByTierAfter(SubscriptionTier.BASIC, new UUID(0L, 0L), Limit.of(500))).thenReturn(firstPage);
+        when(userRepository.findIdsByTierAfter(SubscriptionTier.BASIC, last, Limit.of(500))).thenReturn(List.of());
 
-        subscriptionScheduler.processRenewals();
+        subscriptionScheduler.notifyBasicUsersToUpgrade();
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(2)).findIdsByTierAfter(eq(SubscriptionTier.BASIC), any(), any());
+        verify(userRepository, never()).findAll();
     }
 }
-
@@ -0,0 +1,106 @@
+package project.fitnessapplicationexam.exercise;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
+import project.fitnessapplicationexam.config.SystemDefault;
+import project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow;
+import project.fitnessapplicationexam.exercise.model.Equipment;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import project.fitnessapplicationexam.exercise.model.SeedState;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import project.fitnessapplicationexam.exercise.repository.SeedStateRepository;
+import project.fitnessapplicationexam.exercise.seed.ExerciseBuiltinSeeder;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExerciseBuiltinSeederTest {
+
+    @Mock
+    private ExerciseRepository exerciseRepository;
+
+    @Mock
+    private SeedStateRepository seedStateRepository;
+
+    @Mock
+    private AnalyticsSyncService analyticsSyncService;
+
+    @InjectMocks
+    private ExerciseBuiltinSeeder seeder;
+
+    @Test
+    void run_insertsOnlyMissingExercisesAndSyncsThemTogether() {
+        when(seedStateRepository.findById("builtin-exercises")).thenReturn(Optional.empty());
+        when(exerciseRepository.findCatalogByOwnerUserId(SystemDefault.SYSTEM_USER_ID)).thenReturn(List.of(
+                new ExerciseCatalogRow(UUID.randomUUID(), "barbell bench press", MuscleGroup.CHEST, Equipment.BARBELL,
+                        SystemDefault.SYSTEM_USER_ID)));
+        when(exerciseRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        seeder.run(new DefaultApplicationArguments());
+
+        ArgumentCaptor<List<Exercise>> saved = ArgumentCaptor.forClass(List.class);
+        verify(exerciseRepository, times(1)).saveAll(saved.capture());
+        assertFalse(saved.getValue().isEmpty());
+        assertTrue(saved.getValue().stream().noneMatch(e -> e.getName().equals("Barbell Bench Press")));
+        assertTrue(saved.getValue().stream().allMatch(e -> SystemDefault.SYSTEM_USER_ID.equals(e.getOwnerUserId())));
+        verify(analyticsSyncService, times(1)).syncExercises(saved.getValue());
+        verify(exerciseRepository, never()).save(any());
+        verify(seedStateRepository).save(any(SeedState.class));
+    }
+
+    @Test
+    void run_nothingMissing_onlyRecordsChecksum() {
+        List<ExerciseCatalogRow> builtins = seedEmptyDatabase().stream()
+                .map(e -> new ExerciseCatalogRow(UUID.randomUUID(), e.getName(), e.getPrimaryMuscle(), e.getEquipment(),
+                        e.getOwnerUserId()))
+                .toList();
+        clearInvocations(exerciseRepository, seedStateRepository, analyticsSyncService);
+        when(seedStateRepository.findById("builtin-exercises")).thenReturn(Optional.of(
+                new SeedState("builtin-exercises", "outdated", LocalDateTime.now())));
+        when(exerciseRepository.findCatalogByOwnerUserId(SystemDefault.SYSTEM_USER_ID)).thenReturn(builtins);
+
+        seeder.run(new DefaultApplicationArguments());
+
+        verify(exerciseRepository, never()).saveAll(any());
+        verifyNoInteractions(analyticsSyncService);
+        ArgumentCaptor<SeedState> state = ArgumentCaptor.forClass(SeedState.class);
+        verify(seedStateRepository).save(state.capture());
+        assertNotEquals("outdated", state.getValue().getChecksum());
+    }
+
+    @Test
+    void run_checksumMatches_skipsSeeding() {
+        seedEmptyDatabase();
+        ArgumentCaptor<SeedState> state = ArgumentCaptor.forClass(SeedState.class);
+        verify(seedStateRepository).save(state.capture());
+        clearInvocations(exerciseRepository, seedStateRepository, analyticsSyncService);
+        when(seedStateRepository.findById("builtin-exercises")).thenReturn(Optional.of(state.getValue()));
+
+        seeder.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(exerciseRepository, analyticsSyncService);
+        verify(seedStateRepository, never()).save(any());
+    }
+
+    private List<Exercise> seedEmptyDatabase() {
+        when(seedStateRepository.findById("builtin-exercises")).thenReturn(Optional.empty());
+        when(exerciseRepository.findCatalogByOwnerUserId(SystemDefault.SYSTEM_USER_ID)).thenReturn(List.of());
+        when(exerciseRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        seeder.run(new DefaultApplicationArguments());
+        ArgumentCaptor<List<Exercise>> saved = ArgumentCaptor.forClass(List.class);
+        verify(exerciseRepository).saveAll(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -5,13 +5,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
 import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
+import project.fitnessapplicationexam.analytics.DailyRollupService;
+import project.fitnessapplicationexam.analytics.PersonalRecordService;
+import project.fitnessapplicationexam.analytics.TrainingLogCache;
+import project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow;
+import project.fitnessapplicationexam.exercise.event.ExerciseDeletedEvent;
 import project.fitnessapplicationexam.exercise.model.Equipment;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.model.MuscleGroup;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.exercise.service.ExerciseService;
 import project.fitnessapplicationexam.template.repository.TemplateItemRepository;
+import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
 import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -34,9 +43,27 @@ class ExerciseServiceTest {
     @Mock
     private WorkoutSetRepository workoutSetRepository;
 
+    @Mock
+    private WorkoutSessionRepository workoutSessionRepository;
+
     @Mock
     private AnalyticsSyncService analyticsSyncService;
 
+    @Mock
+    private DailyRollupService dailyRollupService;
+
+    @Mock
+    private TrainingLogCache trainingLogCache;
+
+    @Mock
+    private PersonalRecordService personalRecordService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExerciseService exerciseService;
 
@@ -63,46 +90,104 @@ class ExerciseServiceTest {
     @Test
     void get_returnsExercise() {
         UUID exerciseId = UUID.randomUUID();
-        Exercise exercise = Exercise.builder()
-                .id(exerciseId)
-                .name("Squat")
-                .primaryMuscle(MuscleGroup.LEGS)
-                .build();
+        ExerciseCatalogRow exercise = new ExerciseCatalogRow(
+                exerciseId, "Squat", MuscleGroup.LEGS, Equipment.BARBELL, UUID.randomUUID());
         
-        when(exerciseRepository.findById(exerciseId)).thenReturn(Optional.of(exercise));
+        when(exerciseRepository.findCatalogRowById(exerciseId)).thenReturn(Optional.of(exercise));
         
-        Exercise result = exerciseService.get(exerciseId);
+        ExerciseCatalogRow result = exerciseService.get(exerciseId);
 
         assertNotNull(result);
-        assertEquals("Squat", result.getName());
+        assertEquals("Squat", result.name());
     }
 
     @Test
     void delete_removesExercise() {
         UUID exerciseId = UUID.randomUUID();
+        UUID bystander = UUID.randomUUID();
+        List<UUID> affectedUsers = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(workoutSessionRepository.findUserIdsByExerciseId(exerciseId)).thenReturn(affectedUsers);
         exerciseService.delete(exerciseId);
 
         verify(templateItemRepository, times(1)).deleteByExerciseId(exerciseId);
+        verify(dailyRollupService, times(1)).reverseExerciseSets(exerciseId);
+        verify(personalRecordService, times(1)).exerciseDeleted(exerciseId);
+        verify(workoutSessionRepository, times(1)).clearSummariesForExercise(exerciseId);
         verify(workoutSetRepository, times(1)).deleteByExerciseId(exerciseId);
         verify(exerciseRepository, times(1)).deleteById(exerciseId);
         verify(analyticsSyncService, times(1)).deleteExercise(exerciseId);
+        verify(analyticsSyncService, times(1)).markWeeklyStatsDirty(affectedUsers);
+        verify(trainingLogCache).evict(affectedUsers.get(0));
+        verify(trainingLogCache).evict(affectedUsers.get(1));
+        verify(trainingLogCache, never()).evict(bystander);
+        verifyNoMoreInteractions(trainingLogCache);
+    }
+
+    @Test
+    void delete_publishesEventInsteadOfEvictingInsideTransaction() {
+        UUID exerciseId = UUID.randomUUID();
+        UUID owner = UUID.randomUUID();
+        UUID templateOwner = UUID.randomUUID();
+        when(exerciseRepository.findById(exerciseId)).thenReturn(Optional.of(
+                Exercise.builder().id(exerciseId).ownerUserId(owner).build()));
+        when(templateItemRepository.findTemplateOwnerIdsByExerciseId(exerciseId)).thenReturn(List.of(templateOwner));
+
+        exerciseService.delete(exerciseId);
+
+        verify(eventPublisher).publishEvent(new ExerciseDeletedEvent(exerciseId, owner, List.of(templateOwner)));
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void onExerciseDeleted_evictsOnlyOwnerAndTemplateOwnerEntries() {
+        UUID exerciseId = UUID.randomUUID();
+        UUID owner = UUID.randomUUID();
+        UUID templateOwner = UUID.randomUUID();
+        UUID bystander = UUID.randomUUID();
+        ConcurrentMapCache exercise = new ConcurrentMapCache("exercise");
+        ConcurrentMapCache exercises = new ConcurrentMapCache("exercises");
+        ConcurrentMapCache available = new ConcurrentMapCache("availableExercises");
+        ConcurrentMapCache templates = new ConcurrentMapCache("templates");
+        for (UUID user : List.of(owner, templateOwner, bystander)) {
+            exercises.put(user, List.of());
+            available.put(user, List.of());
+            templates.put(user, List.of());
+        }
+        exercise.put(exerciseId, "row");
+        when(cacheManager.getCache("exercise")).thenReturn(exercise);
+        when(cacheManager.getCache("exercises")).thenReturn(exercises);
+        when(cacheManager.getCache("availableExercises")).thenReturn(available);
+        when(cacheManager.getCache("templates")).thenReturn(templates);
+
+        exerciseService.onExerciseDeleted(new ExerciseDeletedEvent(exerciseId, owner, List.of(owner, templateOwner)));
+
+        assertNull(exercise.get(exerciseId));
+        assertNull(exercises.get(owner));
+        assertNull(available.get(owner));
+        assertNull(templates.get(owner));
+        assertNull(templates.get(templateOwner));
+        assertNotNull(exercises.get(templateOwner));
+        assertNotNull(exercises.get(bystander));
+        assertNotNull(available.get(bystander));
+        assertNotNull(templates.get(bystander));
     }
 
     @Test
     void byOwner_returnsExercises() {
         UUID ownerId = UUID.randomUUID();
-        List<Exercise> exercises = Arrays.asList(
-                Exercise.builder().name("Exercise 1").build(),
-                Exercise.builder().name("Exercise 2").build()
+        List<ExerciseCatalogRow> exercises = Arrays.asList(
+                new ExerciseCatalogRow(UUID.randomUUID(), "Exercise 1", MuscleGroup.CHEST, Equipment.BARBELL, ownerId),
+                new ExerciseCatalogRow(UUID.randomUUID(), "Exercise 2", MuscleGroup.BACK, Equipment.CABLE, ownerId)
         );
         
-        when(exerciseRepository.findAllByOwnerUserId(ownerId)).thenReturn(exercises);
+        when(exerciseRepository.findCatalogByOwnerUserId(ownerId)).thenReturn(exercises);
 
-        List<Exercise> result = exerciseService.byOwner(ownerId);
+        List<ExerciseCatalogRow> result = exerciseService.byOwner(ownerId);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(exerciseRepository, times(1)).findAllByOwnerUserId(ownerId);
+        assertFalse(result.get(0).builtIn());
+        verify(exerciseRepository, times(1)).findCatalogByOwnerUserId(ownerId);
     }
 }
 
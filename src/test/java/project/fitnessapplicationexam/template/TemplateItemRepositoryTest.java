@@ -0,0 +1,84 @@
+package project.fitnessapplicationexam.template;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import project.fitnessapplicationexam.template.model.TemplateItem;
+import project.fitnessapplicationexam.template.repository.TemplateItemRepository;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("jpa")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TemplateItemRepositoryTest {
+
+	@Autowired
+	private TemplateItemRepository templateItemRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void deleteByTemplateId_issuesSingleStatementRegardlessOfRowCount() {
+		Exercise exercise = newExercise();
+		UUID templateId = UUID.randomUUID();
+		UUID otherTemplate = UUID.randomUUID();
+		saveItems(templateId, exercise, 40);
+		saveItems(otherTemplate, exercise, 1);
+		statistics.clear();
+
+		int deleted = templateItemRepository.deleteByTemplateId(templateId);
+
+		assertEquals(40, deleted);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertTrue(templateItemRepository.findAllByTemplateIdOrderByPositionAsc(templateId).isEmpty());
+		assertEquals(1, templateItemRepository.findAllByTemplateIdOrderByPositionAsc(otherTemplate).size());
+	}
+
+	@Test
+	void deleteByExerciseId_issuesSingleStatementRegardlessOfRowCount() {
+		Exercise exercise = newExercise();
+		saveItems(UUID.randomUUID(), exercise, 20);
+		saveItems(UUID.randomUUID(), exercise, 20);
+		statistics.clear();
+
+		int deleted = templateItemRepository.deleteByExerciseId(exercise.getId());
+
+		assertEquals(40, deleted);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	private Exercise newExercise() {
+		Exercise exercise = Exercise.builder().ownerUserId(UUID.randomUUID()).name("Squat")
+				.primaryMuscle(MuscleGroup.LEGS).build();
+		entityManager.persist(exercise);
+		return exercise;
+	}
+
+	private void saveItems(UUID templateId, Exercise exercise, int count) {
+		for (int i = 0; i < count; i++) {
+			templateItemRepository.save(TemplateItem.builder().templateId(templateId).exercise(exercise)
+					.position(i + 1).build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+}
@@ -0,0 +1,111 @@
+package project.fitnessapplicationexam.template;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
+import project.fitnessapplicationexam.template.dto.TemplateSummary;
+import project.fitnessapplicationexam.template.repository.TemplateItemRepository;
+import project.fitnessapplicationexam.template.repository.WorkoutTemplateRepository;
+import project.fitnessapplicationexam.template.service.TemplateService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(TemplateServiceCachingTest.Config.class)
+class TemplateServiceCachingTest {
+
+	private static final int USERS = 32;
+	private static final int READS_PER_USER = 50;
+
+	@Autowired
+	private TemplateService templateService;
+
+	@Autowired
+	private WorkoutTemplateRepository workoutTemplateRepository;
+
+	@Test
+	void concurrentTemplateChanges_evictOnlyTheChangingUsersEntries() throws Exception {
+		List<UUID> users = Stream.generate(UUID::randomUUID).limit(USERS).toList();
+		List<UUID> writers = users.subList(0, USERS / 2);
+		List<UUID> readers = users.subList(USERS / 2, USERS);
+		for (UUID user : users) {
+			when(workoutTemplateRepository.findSummariesByOwnerUserId(user))
+					.thenReturn(List.of(new TemplateSummary(user, user.toString(), LocalDateTime.now())));
+		}
+		when(workoutTemplateRepository.findByIdAndOwnerUserId(any(), any())).thenReturn(Optional.empty());
+		users.forEach(templateService::list);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (UUID writer : writers) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					templateService.deleteTemplate(UUID.randomUUID(), writer);
+					return null;
+				}));
+			}
+			for (UUID reader : readers) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < READS_PER_USER; i++) {
+						assertEquals(reader, templateService.list(reader).get(0).id());
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		users.forEach(templateService::list);
+		for (UUID reader : readers) {
+			verify(workoutTemplateRepository, times(1)).findSummariesByOwnerUserId(reader);
+		}
+		for (UUID writer : writers) {
+			verify(workoutTemplateRepository, times(2)).findSummariesByOwnerUserId(writer);
+		}
+	}
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		WorkoutTemplateRepository workoutTemplateRepository() {
+			return mock(WorkoutTemplateRepository.class);
+		}
+
+		@Bean
+		TemplateService templateService(WorkoutTemplateRepository workoutTemplateRepository) {
+			return new TemplateService(workoutTemplateRepository, mock(TemplateItemRepository.class),
+					mock(ExerciseRepository.class));
+		}
+
+		@Bean
+		CacheManager cacheManager() {
+			return new CaffeineCacheManager();
+		}
+	}
+}
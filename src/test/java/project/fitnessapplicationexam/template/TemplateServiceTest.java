@@ -7,11 +7,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 import project.fitnessapplicationexam.template.dto.TemplateItemData;
+import project.fitnessapplicationexam.template.dto.TemplateSummary;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import project.fitnessapplicationexam.template.model.WorkoutTemplate;
 import project.fitnessapplicationexam.template.repository.TemplateItemRepository;
 import project.fitnessapplicationexam.template.repository.WorkoutTemplateRepository;
 import project.fitnessapplicationexam.template.service.TemplateService;
+import project.fitnessapplicationexam.exercise.dto.ExerciseCatalogRow;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import java.util.List;
@@ -106,18 +108,18 @@ class TemplateServiceTest {
 	@Test
 	void list_returnsTemplates() {
 		UUID owner = UUID.randomUUID();
-		when(workoutTemplateRepository.findAllByOwnerUserIdOrderByCreatedOnDesc(owner)).thenReturn(List.of());
+		when(workoutTemplateRepository.findSummariesByOwnerUserId(owner)).thenReturn(List.of());
 
-		List<WorkoutTemplate> result = templateService.list(owner);
+		List<TemplateSummary> result = templateService.list(owner);
 		assertNotNull(result);
 	}
 
 	@Test
 	void getAvailableExercises_returnsExercises() {
 		UUID userId = UUID.randomUUID();
-		when(exerciseRepository.findAllByOwnerUserIdInOrderByNameAsc(anyList())).thenReturn(List.of());
+		when(exerciseRepository.findCatalogByOwnerUserIdIn(anyList())).thenReturn(List.of());
 
-		List<Exercise> result = templateService.getAvailableExercises(userId);
+		List<ExerciseCatalogRow> result = templateService.getAvailableExercises(userId);
 		assertNotNull(result);
 	}
 
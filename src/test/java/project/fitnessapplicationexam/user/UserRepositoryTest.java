@@ -0,0 +1,123 @@
+package project.fitnessapplicationexam.user;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import project.fitnessapplicationexam.user.model.SubscriptionTier;
+import project.fitnessapplicationexam.user.model.User;
+import project.fitnessapplicationexam.user.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("jpa")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 6, 10, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 10, 3, 0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int userCount;
+
+    @Test
+    void extendProRenewalsDueBetween_movesOnlyActiveProRenewalsInsideTheWindow() {
+        User startOfDay = save(SubscriptionTier.PRO, true, FROM);
+        User midday = save(SubscriptionTier.PRO, true, FROM.plusHours(12));
+        User dayBefore = save(SubscriptionTier.PRO, true, FROM.minusSeconds(1));
+        User dayAfter = save(SubscriptionTier.PRO, true, TO);
+        User inactive = save(SubscriptionTier.PRO, false, FROM.plusHours(1));
+        User basic = save(SubscriptionTier.BASIC, true, FROM.plusHours(1));
+
+        assertEquals(2, userRepository.extendProRenewalsDueBetween(FROM, TO, 30, NOW, 10));
+        entityManager.clear();
+
+        assertEquals(FROM.plusDays(30), renewalOf(startOfDay));
+        assertEquals(FROM.plusHours(12).plusDays(30), renewalOf(midday));
+        assertEquals(NOW, userRepository.findById(midday.getId()).orElseThrow().getUpdatedAt());
+        assertEquals(FROM.minusSeconds(1), renewalOf(dayBefore));
+        assertEquals(TO, renewalOf(dayAfter));
+        assertEquals(FROM.plusHours(1), renewalOf(inactive));
+        assertEquals(FROM.plusHours(1), renewalOf(basic));
+    }
+
+    @Test
+    void extendProRenewalsDueBetween_touchesAtMostLimitRowsAndTheRenewalLoopEnds() {
+        List<User> due = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            due.add(save(SubscriptionTier.PRO, true, FROM.plusHours(i)));
+        }
+
+        List<Integer> batches = new ArrayList<>();
+        int renewed;
+        do {
+            renewed = userRepository.extendProRenewalsDueBetween(FROM, TO, 30, NOW, 2);
+            batches.add(renewed);
+        } while (renewed == 2 && batches.size() < 10);
+        entityManager.clear();
+
+        assertEquals(List.of(2, 2, 1), batches);
+        for (int i = 0; i < due.size(); i++) {
+            assertEquals(FROM.plusHours(i).plusDays(30), renewalOf(due.get(i)));
+        }
+        assertEquals(0, userRepository.extendProRenewalsDueBetween(FROM, TO, 30, NOW, 2));
+    }
+
+    @Test
+    void findIdsByTierAfter_pagesThroughEveryUserOfTheTierOnce() {
+        List<UUID> pro = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pro.add(save(SubscriptionTier.PRO, true, null).getId());
+            save(SubscriptionTier.BASIC, true, null);
+        }
+
+        List<UUID> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        UUID after = new UUID(0L, 0L);
+        List<UUID> page;
+        do {
+            page = userRepository.findIdsByTierAfter(SubscriptionTier.PRO, after, Limit.of(2));
+            pageSizes.add(page.size());
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == 2 && pageSizes.size() < 10);
+
+        assertEquals(List.of(2, 2, 1), pageSizes);
+        assertEquals(5, seen.size());
+        assertEquals(new HashSet<>(pro), new HashSet<>(seen));
+    }
+
+    private User save(SubscriptionTier tier, boolean subscriptionActive, LocalDateTime nextRenewalAt) {
+        int n = ++userCount;
+        return userRepository.saveAndFlush(User.builder()
+                .username("user" + n)
+                .firstName("First")
+                .lastName("Last")
+                .email("user" + n + "@example.com")
+                .passwordHash("hash")
+                .subscriptionTier(tier)
+                .subscriptionActive(subscriptionActive)
+                .nextRenewalAt(nextRenewalAt)
+                .build());
+    }
+
+    private LocalDateTime renewalOf(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getNextRenewalAt();
+    }
+}
@@ -0,0 +1,88 @@
+package project.fitnessapplicationexam.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
+import project.fitnessapplicationexam.user.model.User;
+import project.fitnessapplicationexam.user.repository.UserRepository;
+import project.fitnessapplicationexam.user.service.UserService;
+import java.util.Optional;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(UserServiceCachingTest.Config.class)
+class UserServiceCachingTest {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Test
+	void userChangedEvent_evictsOnlyThatUsersSnapshot() {
+		User alice = User.builder().id(UUID.randomUUID()).username("alice").profilePicture("old.png").build();
+		User bob = User.builder().id(UUID.randomUUID()).username("bob").build();
+		when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+		when(userRepository.findByUsername("bob")).thenReturn(Optional.of(bob));
+
+		userService.currentUser("alice");
+		userService.currentUser("alice");
+		userService.currentUser("bob");
+
+		alice.setProfilePicture("new.png");
+		eventPublisher.publishEvent(new UserChangedEvent(alice.getId(), "alice"));
+
+		assertEquals("new.png", userService.currentUser("alice").profilePicture());
+		assertEquals(bob.getId(), userService.currentUser("bob").id());
+		verify(userRepository, times(2)).findByUsername("alice");
+		verify(userRepository, times(1)).findByUsername("bob");
+	}
+
+	@Test
+	void userChangedEvent_evictsCachedCredentials() {
+		User carol = User.builder().id(UUID.randomUUID()).username("carol").passwordHash("old").build();
+		when(userRepository.findByUsername("carol")).thenReturn(Optional.of(carol));
+
+		assertEquals("old", userService.credentials("carol").passwordHash());
+		carol.setPasswordHash("new");
+		assertEquals("old", userService.credentials("carol").passwordHash());
+
+		eventPublisher.publishEvent(new UserChangedEvent(carol.getId(), "carol"));
+
+		assertEquals("new", userService.credentials("carol").passwordHash());
+		verify(userRepository, times(2)).findByUsername("carol");
+	}
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		UserRepository userRepository() {
+			return mock(UserRepository.class);
+		}
+
+		@Bean
+		UserService userService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
+			return new UserService(userRepository, mock(PasswordEncoder.class), eventPublisher);
+		}
+
+		@Bean
+		CacheManager cacheManager() {
+			return new CaffeineCacheManager();
+		}
+	}
+}
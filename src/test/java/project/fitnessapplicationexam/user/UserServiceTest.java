@@ -5,7 +5,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
+import project.fitnessapplicationexam.user.dto.UserCredentials;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.repository.UserRepository;
@@ -25,6 +29,9 @@ class UserServiceTest {
 	@Mock
 	private PasswordEncoder passwordEncoder;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private UserService userService;
 
@@ -66,6 +73,7 @@ class UserServiceTest {
 		userService.changeUsername(id, "new");
 		assertEquals("new", user.getUsername());
 		verify(userRepository).save(user);
+		verify(eventPublisher).publishEvent(new UserChangedEvent(id, "old"));
 	}
 
 	@Test
@@ -128,4 +136,48 @@ class UserServiceTest {
 
 		assertThrows(IllegalArgumentException.class, () -> userService.findByUsernameOrThrow("john"));
 	}
+
+	@Test
+	void currentUser_snapshotsUser() {
+		User user = User.builder().id(UUID.randomUUID()).username("john").role(UserRole.ADMIN).profilePicture("a.png").build();
+		when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+
+		CurrentUser result = userService.currentUser("john");
+		assertEquals(user.getId(), result.id());
+		assertEquals("a.png", result.profilePicture());
+		assertTrue(result.isAdmin());
+		assertFalse(result.isPro());
+	}
+
+	@Test
+	void credentials_copiesLoginFields() {
+		User user = User.builder().username("john").passwordHash("hash").role(UserRole.USER).active(false).build();
+		when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+
+		UserCredentials result = userService.credentials("john");
+		assertEquals("hash", result.passwordHash());
+		assertEquals(UserRole.USER, result.role());
+		assertFalse(result.active());
+	}
+
+	@Test
+	void setActive_updatesUserAndPublishesChange() {
+		UUID id = UUID.randomUUID();
+		User user = User.builder().id(id).username("john").active(true).build();
+		when(userRepository.findById(id)).thenReturn(Optional.of(user));
+
+		assertTrue(userService.setActive(id, false));
+		assertFalse(user.isActive());
+		verify(eventPublisher).publishEvent(new UserChangedEvent(id, "john"));
+	}
+
+	@Test
+	void changeRole_missingUser_returnsFalse() {
+		UUID id = UUID.randomUUID();
+		when(userRepository.findById(id)).thenReturn(Optional.empty());
+
+		assertFalse(userService.changeRole(id, UserRole.ADMIN));
+		verify(userRepository, never()).save(any());
+		verifyNoInteractions(eventPublisher);
+	}
 }
@@ -6,7 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.repository.UserRepository;
 import project.fitnessapplicationexam.user.service.UserSettingsService;
@@ -27,6 +29,9 @@ class UserSettingsServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserSettingsService userSettingsService;
 
@@ -69,6 +74,7 @@ class UserSettingsServiceTest {
 
         verify(userRepository).save(user);
         assertEquals(validUrl, user.getProfilePicture());
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -111,6 +117,7 @@ class UserSettingsServiceTest {
         verify(passwordEncoder).encode(newRaw);
         verify(userRepository).save(user);
         assertEquals("newHashedPassword", user.getPasswordHash());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userId, user.getUsername()));
     }
 
     @Test
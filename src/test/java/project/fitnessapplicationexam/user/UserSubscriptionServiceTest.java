@@ -6,10 +6,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
+import project.fitnessapplicationexam.user.event.UserChangedEvent;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.repository.UserRepository;
 import project.fitnessapplicationexam.user.service.UserSubscriptionService;
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +25,9 @@ class UserSubscriptionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserSubscriptionService userSubscriptionService;
 
@@ -39,6 +45,15 @@ class UserSubscriptionServiceTest {
                 .build();
     }
 
+    @Test
+    void renewProSubscriptionsDueOn_extendsRenewalsDueThatDay() {
+        LocalDate day = LocalDate.of(2024, 5, 6);
+        when(userRepository.extendProRenewalsDueBetween(eq(day.atStartOfDay()), eq(day.plusDays(1).atStartOfDay()),
+                eq(30), any(), eq(100))).thenReturn(7);
+
+        assertEquals(7, userSubscriptionService.renewProSubscriptionsDueOn(day, 100));
+    }
+
     @Test
     void getTier_returnsUserTier() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
@@ -79,6 +94,7 @@ class UserSubscriptionServiceTest {
         assertEquals(SubscriptionTier.PRO, user.getSubscriptionTier());
         assertTrue(user.isSubscriptionActive());
         assertNotNull(user.getNextRenewalAt());
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
@@ -51,7 +52,7 @@ class AdminControllerTest {
         user.setRole(UserRole.ADMIN);
         user.setProfilePicture("avatar.jpg");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(userRepository.findAll()).thenReturn(List.of());
 
         mockMvc.perform(get("/admin/users"))
@@ -74,16 +75,15 @@ class AdminControllerTest {
         targetUser.setUsername("target");
         targetUser.setActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(currentUser);
-        when(userRepository.findById(targetUserId)).thenReturn(Optional.of(targetUser));
-        when(userRepository.save(any(User.class))).thenReturn(targetUser);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(currentUser));
+        when(userService.setActive(targetUserId, false)).thenReturn(true);
 
         mockMvc.perform(post("/admin/users/{id}/deactivate-account", targetUserId)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/users"));
 
-        verify(userRepository).save(argThat(u -> !u.isActive()));
+        verify(userService).setActive(targetUserId, false);
     }
 
     @Test
@@ -94,14 +94,14 @@ class AdminControllerTest {
         currentUser.setUsername("admin");
         currentUser.setRole(UserRole.ADMIN);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(currentUser);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(currentUser));
 
         mockMvc.perform(post("/admin/users/{id}/deactivate-account", userId)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/users"));
 
-        verify(userRepository, never()).save(any());
+        verify(userService, never()).setActive(any(), anyBoolean());
     }
 
     @Test
@@ -112,15 +112,14 @@ class AdminControllerTest {
         targetUser.setUsername("target");
         targetUser.setActive(false);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(targetUser));
-        when(userRepository.save(any(User.class))).thenReturn(targetUser);
+        when(userService.setActive(userId, true)).thenReturn(true);
 
         mockMvc.perform(post("/admin/users/{id}/activate-account", userId)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/users"));
 
-        verify(userRepository).save(argThat(u -> u.isActive()));
+        verify(userService).setActive(userId, true);
     }
 
     @Test
@@ -135,7 +134,7 @@ class AdminControllerTest {
         targetUser.setId(targetUserId);
         targetUser.setSubscriptionTier(SubscriptionTier.PRO);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(currentUser);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(currentUser));
         when(userRepository.findById(targetUserId)).thenReturn(Optional.of(targetUser));
 
         mockMvc.perform(post("/admin/users/{id}/toggle-subscription", targetUserId)
@@ -158,7 +157,7 @@ class AdminControllerTest {
         targetUser.setId(targetUserId);
         targetUser.setSubscriptionTier(SubscriptionTier.BASIC);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(currentUser);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(currentUser));
         when(userRepository.findById(targetUserId)).thenReturn(Optional.of(targetUser));
 
         mockMvc.perform(post("/admin/users/{id}/toggle-subscription", targetUserId)
@@ -181,16 +180,15 @@ class AdminControllerTest {
         targetUser.setId(targetUserId);
         targetUser.setRole(UserRole.USER);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(currentUser);
-        when(userRepository.findById(targetUserId)).thenReturn(Optional.of(targetUser));
-        when(userRepository.save(any(User.class))).thenReturn(targetUser);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(currentUser));
+        when(userService.changeRole(targetUserId, UserRole.ADMIN)).thenReturn(true);
 
         mockMvc.perform(post("/admin/users/{id}/make-admin", targetUserId)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/users"));
 
-        verify(userRepository).save(argThat(u -> u.getRole() == UserRole.ADMIN));
+        verify(userService).changeRole(targetUserId, UserRole.ADMIN);
     }
 
     @Test
@@ -205,16 +203,15 @@ class AdminControllerTest {
         targetUser.setId(targetUserId);
         targetUser.setRole(UserRole.ADMIN);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(currentUser);
-        when(userRepository.findById(targetUserId)).thenReturn(Optional.of(targetUser));
-        when(userRepository.save(any(User.class))).thenReturn(targetUser);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(currentUser));
+        when(userService.changeRole(targetUserId, UserRole.USER)).thenReturn(true);
 
         mockMvc.perform(post("/admin/users/{id}/remove-admin", targetUserId)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/users"));
 
-        verify(userRepository).save(argThat(u -> u.getRole() == UserRole.USER));
+        verify(userService).changeRole(targetUserId, UserRole.USER);
     }
 }
 
@@ -0,0 +1,61 @@
+package project.fitnessapplicationexam.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
+import project.fitnessapplicationexam.user.model.SubscriptionTier;
+import project.fitnessapplicationexam.user.model.UserRole;
+import project.fitnessapplicationexam.user.service.UserService;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolveArgument_looksUpUserOncePerRequest() {
+        CurrentUser user = new CurrentUser(UUID.randomUUID(), "alice", UserRole.USER,
+                SubscriptionTier.PRO, true, null, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", "n/a", AuthorityUtils.createAuthorityList("ROLE_USER")));
+        when(userService.currentUser("alice")).thenReturn(user);
+        NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertSame(user, resolver.resolveArgument(null, null, request, null));
+        assertSame(user, resolver.resolveArgument(null, null, request, null));
+        verify(userService, times(1)).currentUser("alice");
+    }
+
+    @Test
+    void resolveArgument_anonymous_returnsNull() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertNull(resolver.resolveArgument(null, null, new ServletWebRequest(new MockHttpServletRequest()), null));
+        verify(userService, never()).currentUser(any());
+    }
+}
@@ -6,13 +6,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
-import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.WeeklyStatsService;
 import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.service.UserService;
 import project.fitnessapplicationexam.workout.service.WorkoutService;
-import org.springframework.http.ResponseEntity;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -34,7 +34,7 @@ class DashboardControllerTest {
 
     @SuppressWarnings("removal")
     @MockBean
-    private AnalyticsClient analyticsClient;
+    private WeeklyStatsService weeklyStatsService;
 
     @SuppressWarnings("removal")
     @MockBean
@@ -49,11 +49,9 @@ class DashboardControllerTest {
         user.setRole(UserRole.USER);
         user.setProfilePicture("avatar.jpg");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         WeeklySummaryResponse response = new WeeklySummaryResponse(LocalDate.now(), LocalDate.now(), List.of());
-        when(analyticsClient.getWeeklyStats(any(), any(), any())).thenReturn(
-                ResponseEntity.ok(response)
-        );
+        when(weeklyStatsService.weeklySummary(any(), any(), any())).thenReturn(response);
         when(workoutService.getRecentSessions(any(), anyInt())).thenReturn(List.of());
 
         mockMvc.perform(get("/dashboard"))
@@ -11,6 +11,7 @@ import org.springframework.security.web.csrf.DefaultCsrfToken;
 import org.springframework.test.web.servlet.MockMvc;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.exercise.service.ExerciseService;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.service.UserService;
@@ -36,7 +37,7 @@ class ExerciseControllerIntegrationTest {
 	@WithMockUser
 	void getExercises_returnsOk() throws Exception {
 		User user = User.builder().id(UUID.randomUUID()).username("testuser").role(UserRole.USER).build();
-		when(userService.findByUsernameOrThrow(any())).thenReturn(user);
+		when(userService.currentUser(any())).thenReturn(CurrentUser.of(user));
 		when(exerciseRepository.findAllByOwnerUserIdInOrderByNameAsc(any())).thenReturn(List.of());
 
 		CsrfToken token = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "test-token");
@@ -12,6 +12,7 @@ import project.fitnessapplicationexam.exercise.model.Equipment;
 import project.fitnessapplicationexam.exercise.model.MuscleGroup;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.exercise.service.ExerciseService;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.service.UserService;
@@ -64,7 +65,7 @@ class ExerciseControllerTest {
         exercise.setId(UUID.randomUUID());
         exercise.setName("Bench Press");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(exerciseRepository.findAllByOwnerUserIdInOrderByNameAsc(anyList())).thenReturn(List.of(exercise));
 
         mockMvc.perform(get("/exercises"))
@@ -84,7 +85,7 @@ class ExerciseControllerTest {
         exercise.setPrimaryMuscle(MuscleGroup.LEGS);
         exercise.setEquipment(Equipment.BARBELL);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(exerciseService.create(any(Exercise.class))).thenReturn(exercise);
 
         mockMvc.perform(post("/exercises/create")
@@ -106,7 +107,7 @@ class ExerciseControllerTest {
         exercise.setId(exerciseId);
         exercise.setOwnerUserId(userId);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(exerciseRepository.findByIdAndOwnerUserId(exerciseId, userId)).thenReturn(Optional.of(exercise));
 
         mockMvc.perform(post("/exercises/{id}/delete", exerciseId)
@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.service.UserService;
@@ -50,7 +51,7 @@ class HomeControllerTest {
                 .role(UserRole.USER)
                 .build();
 
-        when(userService.findByUsernameOrThrow("testuser")).thenReturn(user);
+        when(userService.currentUser("testuser")).thenReturn(CurrentUser.of(user));
         when(sessionRepository.findTop5ByUserIdOrderByStartedAtDesc(userId)).thenReturn(List.of());
 
         mockMvc.perform(get("/")
@@ -76,7 +77,7 @@ class HomeControllerTest {
         session.setId(UUID.randomUUID());
         session.setUserId(userId);
 
-        when(userService.findByUsernameOrThrow("testuser")).thenReturn(user);
+        when(userService.currentUser("testuser")).thenReturn(CurrentUser.of(user));
         when(sessionRepository.findTop5ByUserIdOrderByStartedAtDesc(userId)).thenReturn(List.of(session));
 
         mockMvc.perform(get("/")
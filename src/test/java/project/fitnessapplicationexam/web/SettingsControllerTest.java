@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
@@ -44,7 +45,7 @@ class SettingsControllerTest {
         user.setSubscriptionTier(SubscriptionTier.BASIC);
         user.setSubscriptionActive(true);
 
-        when(userSettingsService.requireByUsername(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
 
         mockMvc.perform(get("/settings"))
                 .andExpect(status().isOk())
@@ -5,13 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import project.fitnessapplicationexam.analytics.AdvancedStatsAggregator;
+import project.fitnessapplicationexam.analytics.WeeklyStatsService;
 import project.fitnessapplicationexam.analytics.client.AnalyticsClient;
+import project.fitnessapplicationexam.analytics.dto.AdvancedStatsReport;
 import project.fitnessapplicationexam.analytics.dto.PersonalRecordsDto;
 import project.fitnessapplicationexam.analytics.dto.TrainingFrequencyResponse;
 import project.fitnessapplicationexam.analytics.dto.WeeklySummaryResponse;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
@@ -36,6 +39,14 @@ class StatsControllerTest {
     @MockBean
     private AnalyticsClient analyticsClient;
 
+    @SuppressWarnings("removal")
+    @MockBean
+    private AdvancedStatsAggregator advancedStatsAggregator;
+
+    @SuppressWarnings("removal")
+    @MockBean
+    private WeeklyStatsService weeklyStatsService;
+
     @SuppressWarnings("removal")
     @MockBean
     private UserService userService;
@@ -50,11 +61,9 @@ class StatsControllerTest {
         user.setSubscriptionTier(SubscriptionTier.BASIC);
         user.setSubscriptionActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         WeeklySummaryResponse response = new WeeklySummaryResponse(LocalDate.now(), LocalDate.now(), List.of());
-        when(analyticsClient.getWeeklyStats(any(), any(), any())).thenReturn(
-                ResponseEntity.ok(response)
-        );
+        when(weeklyStatsService.weeklySummary(any(), any(), any())).thenReturn(response);
 
         mockMvc.perform(get("/stats/weekly"))
                 .andExpect(status().isOk())
@@ -71,15 +80,10 @@ class StatsControllerTest {
         user.setSubscriptionTier(SubscriptionTier.PRO);
         user.setSubscriptionActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
-        when(analyticsClient.getTrainingFrequency(any(), any(), any())).thenReturn(
-                ResponseEntity.ok(new TrainingFrequencyResponse(0, 0.0, null, List.of(), 0, 0.0))
-        );
-        when(analyticsClient.getExerciseVolumeTrends(any(), any(), any())).thenReturn(ResponseEntity.ok(List.of()));
-        when(analyticsClient.getProgressiveOverload(any(), any(), any())).thenReturn(ResponseEntity.ok(List.of()));
-        when(analyticsClient.getPersonalRecords(any())).thenReturn(
-                ResponseEntity.ok(new PersonalRecordsDto(List.of(), List.of()))
-        );
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+        when(advancedStatsAggregator.report(any(), any(), any())).thenReturn(new AdvancedStatsReport(
+                new TrainingFrequencyResponse(0, 0.0, null, List.of(), 0, 0.0),
+                List.of(), List.of(), new PersonalRecordsDto(List.of(), List.of()), List.of(), true));
 
         mockMvc.perform(get("/stats/advanced"))
                 .andExpect(status().isOk())
@@ -96,7 +100,7 @@ class StatsControllerTest {
         user.setSubscriptionTier(SubscriptionTier.BASIC);
         user.setSubscriptionActive(false);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
 
         mockMvc.perform(get("/stats/advanced"))
                 .andExpect(status().is3xxRedirection())
@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
@@ -43,7 +44,7 @@ class SubscriptionControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doNothing().when(userSubscriptionService).activateBasic(any(UUID.class));
 
         mockMvc.perform(post("/subscription/select")
@@ -62,7 +63,7 @@ class SubscriptionControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doNothing().when(userSubscriptionService).activatePro(any(UUID.class));
 
         mockMvc.perform(post("/subscription/select")
@@ -85,7 +86,8 @@ class SubscriptionControllerTest {
         user.setSubscriptionTier(SubscriptionTier.BASIC);
         user.setSubscriptionActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+        when(userService.findByIdOrThrow(userId)).thenReturn(user);
 
         mockMvc.perform(get("/subscription"))
                 .andExpect(status().isOk())
@@ -103,7 +105,8 @@ class SubscriptionControllerTest {
         user.setSubscriptionTier(SubscriptionTier.PRO);
         user.setSubscriptionActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+        when(userService.findByIdOrThrow(userId)).thenReturn(user);
 
         mockMvc.perform(get("/subscription"))
                 .andExpect(status().isOk())
@@ -12,6 +12,7 @@ import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import project.fitnessapplicationexam.template.model.WorkoutTemplate;
 import project.fitnessapplicationexam.template.service.TemplateService;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
@@ -56,7 +57,7 @@ class TemplateControllerTest {
         user.setRole(UserRole.USER);
         user.setProfilePicture("avatar.jpg");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.list(any())).thenReturn(List.of());
         when(templateService.getAvailableExercises(any())).thenReturn(List.of());
 
@@ -75,7 +76,7 @@ class TemplateControllerTest {
         user.setSubscriptionTier(SubscriptionTier.BASIC);
         user.setSubscriptionActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.getAvailableExercises(any())).thenReturn(List.of());
 
         mockMvc.perform(get("/templates/create"))
@@ -99,7 +100,7 @@ class TemplateControllerTest {
         template.setOwnerUserId(userId);
         template.setName("Test Template");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.of(template));
         when(templateService.getTemplateItems(templateId)).thenReturn(List.of());
         when(templateService.getAvailableExercises(userId)).thenReturn(List.of());
@@ -116,7 +117,7 @@ class TemplateControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/templates/{id}/edit", templateId))
@@ -147,7 +148,7 @@ class TemplateControllerTest {
         item.setExerciseId(exerciseId);
         item.setTargetSets(3);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.of(template));
         when(templateService.getTemplateItems(templateId)).thenReturn(List.of(item));
         when(templateService.getExercisesByIds(anyList())).thenReturn(Map.of(exerciseId, exercise));
@@ -166,7 +167,7 @@ class TemplateControllerTest {
         user.setSubscriptionTier(SubscriptionTier.BASIC);
         user.setSubscriptionActive(true);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.getAvailableExercises(any())).thenReturn(List.of());
 
         mockMvc.perform(post("/templates/create")
@@ -187,7 +188,7 @@ class TemplateControllerTest {
         createdTemplate.setId(UUID.randomUUID());
         createdTemplate.setName("Test Template");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.createTemplate(any(), anyString(), anyList())).thenReturn(createdTemplate);
         when(templateService.getAvailableExercises(any())).thenReturn(List.of());
 
@@ -206,7 +207,7 @@ class TemplateControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doNothing().when(templateService).deleteTemplate(any(), any());
 
         mockMvc.perform(post("/templates/{id}/delete", templateId)
@@ -231,7 +232,7 @@ class TemplateControllerTest {
         template.setOwnerUserId(userId);
         template.setName("Test Template");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.of(template));
         when(templateService.getAvailableExercises(any())).thenReturn(List.of());
 
@@ -255,7 +256,7 @@ class TemplateControllerTest {
         template.setOwnerUserId(userId);
         template.setName("Test Template");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.of(template));
         doNothing().when(templateService).updateTemplate(any(), any(), anyString(), anyList());
         when(templateService.getAvailableExercises(any())).thenReturn(List.of());
@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import project.fitnessapplicationexam.user.dto.CurrentUser;
 import project.fitnessapplicationexam.user.model.SubscriptionTier;
 import project.fitnessapplicationexam.user.model.User;
 import project.fitnessapplicationexam.user.model.UserRole;
@@ -17,6 +18,8 @@ import project.fitnessapplicationexam.exercise.model.MuscleGroup;
 import project.fitnessapplicationexam.template.model.TemplateItem;
 import project.fitnessapplicationexam.template.model.WorkoutTemplate;
 import project.fitnessapplicationexam.template.service.TemplateService;
+import project.fitnessapplicationexam.workout.dto.HistoryPage;
+import project.fitnessapplicationexam.workout.dto.WorkoutSessionSummary;
 import project.fitnessapplicationexam.workout.model.SessionStatus;
 import project.fitnessapplicationexam.workout.model.WorkoutSession;
 import project.fitnessapplicationexam.workout.model.WorkoutSet;
@@ -25,6 +28,7 @@ import project.fitnessapplicationexam.workout.service.WorkoutService;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +37,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -70,8 +75,8 @@ class WorkoutControllerTest {
         user.setRole(UserRole.USER);
         user.setProfilePicture("avatar.jpg");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
-        when(workoutService.getRecentSessions(any(), anyInt())).thenReturn(List.of());
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+        when(workoutService.history(any(), any(), anyInt())).thenReturn(new HistoryPage(List.of(), null));
         when(templateService.list(any())).thenReturn(List.of());
 
         mockMvc.perform(get("/workouts"))
@@ -79,6 +84,27 @@ class WorkoutControllerTest {
                 .andExpect(view().name("history"));
     }
 
+    @Test
+    void historyPage_returnsJson() throws Exception {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("testuser");
+
+        WorkoutSessionSummary summary = new WorkoutSessionSummary(UUID.randomUUID(),
+                LocalDateTime.of(2024, 5, 1, 10, 0), null, SessionStatus.IN_PROGRESS,
+                null, null, null, null, null, null);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+        when(workoutService.history(userId, "abc", 10)).thenReturn(new HistoryPage(List.of(summary), "next"));
+
+        mockMvc.perform(get("/workouts/history").param("cursor", "abc").param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions[0].id").value(summary.id().toString()))
+                .andExpect(jsonPath("$.sessions[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
     @Test
     void session_returnsPage() throws Exception {
         UUID userId = UUID.randomUUID();
@@ -94,7 +120,7 @@ class WorkoutControllerTest {
         session.setId(UUID.randomUUID());
         session.setUserId(userId);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.start(any())).thenReturn(session);
         when(workoutService.getAvailableExercises(any())).thenReturn(List.of());
         when(workoutService.getSessionSets(any())).thenReturn(List.of());
@@ -118,7 +144,7 @@ class WorkoutControllerTest {
         session.setUserId(userId);
         session.setStatus(SessionStatus.FINISHED);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.findById(sessionId)).thenReturn(Optional.of(session));
 
         mockMvc.perform(get("/workouts/{id}", sessionId))
@@ -135,7 +161,7 @@ class WorkoutControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
         
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doNothing().when(workoutService).finishSessionWithSets(any(), any(), any());
 
         mockMvc.perform(post("/workouts/{id}/finish", sessionId).with(csrf()))
@@ -152,7 +178,7 @@ class WorkoutControllerTest {
         user.setUsername("testuser");
         user.setProfilePicture("avatar.jpg");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.findById(sessionId)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/workouts/{id}", sessionId))
@@ -175,7 +201,7 @@ class WorkoutControllerTest {
         session.setUserId(otherUserId);
         session.setStatus(SessionStatus.FINISHED);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.findById(sessionId)).thenReturn(Optional.of(session));
 
         mockMvc.perform(get("/workouts/{id}", sessionId))
@@ -191,7 +217,7 @@ class WorkoutControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doNothing().when(workoutService).deleteSession(any(), any());
 
         mockMvc.perform(post("/workouts/{id}/delete", sessionId).with(csrf()))
@@ -214,7 +240,7 @@ class WorkoutControllerTest {
         session.setId(sessionId);
         session.setUserId(userId);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.findById(sessionId)).thenReturn(Optional.of(session));
         when(workoutService.getAvailableExercises(any())).thenReturn(List.of());
         when(workoutService.getSessionSets(any())).thenReturn(List.of());
@@ -238,7 +264,7 @@ class WorkoutControllerTest {
         session.setId(sessionId);
         session.setUserId(otherUserId);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.findById(sessionId)).thenReturn(Optional.of(session));
 
         mockMvc.perform(get("/workouts/session").param("sessionId", sessionId.toString()))
@@ -253,7 +279,7 @@ class WorkoutControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND))
                 .when(workoutService).deleteSession(any(), any());
 
@@ -268,7 +294,7 @@ class WorkoutControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
 
         mockMvc.perform(post("/workouts/finish")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -285,7 +311,7 @@ class WorkoutControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         doNothing().when(workoutService).finishSessionWithSets(any(), any(), any());
 
         String json = "{"
@@ -300,6 +326,71 @@ class WorkoutControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void appendSet_returnsCreatedSet() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        UUID exerciseId = UUID.randomUUID();
+        UUID setId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("testuser");
+
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+        when(workoutService.addSet(eq(sessionId), eq(userId), any())).thenReturn(WorkoutSet.builder()
+                .id(setId)
+                .sessionId(sessionId)
+                .exerciseId(exerciseId)
+                .reps(8)
+                .weight(BigDecimal.valueOf(80))
+                .build());
+
+        String json = "{"
+                + "\"exerciseId\":\"" + exerciseId + "\","
+                + "\"weight\":80,"
+                + "\"reps\":8"
+                + "}";
+
+        mockMvc.perform(post("/workouts/{id}/sets", sessionId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(setId.toString()));
+    }
+
+    @Test
+    void appendSet_invalidReps_returnsBadRequest() throws Exception {
+        String json = "{"
+                + "\"exerciseId\":\"" + UUID.randomUUID() + "\","
+                + "\"weight\":80,"
+                + "\"reps\":0"
+                + "}";
+
+        mockMvc.perform(post("/workouts/{id}/sets", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+        verify(workoutService, never()).addSet(any(), any(), any());
+    }
+
+    @Test
+    void deleteSet_returnsNoContent() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        UUID setId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("testuser");
+
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
+
+        mockMvc.perform(delete("/workouts/{id}/sets/{setId}", sessionId, setId).with(csrf()))
+                .andExpect(status().isNoContent());
+        verify(workoutService).deleteSet(sessionId, setId, userId);
+    }
+
     @Test
     void templateExercises_returnsList() throws Exception {
         UUID userId = UUID.randomUUID();
@@ -324,7 +415,7 @@ class WorkoutControllerTest {
         item.setExerciseId(exerciseId);
         item.setTargetSets(3);
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.of(template));
         when(templateService.getTemplateItems(templateId)).thenReturn(List.of(item));
         when(templateService.getExercisesByIds(anyList())).thenReturn(Map.of(exerciseId, exercise));
@@ -341,7 +432,7 @@ class WorkoutControllerTest {
         user.setId(userId);
         user.setUsername("testuser");
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(templateService.findByIdAndOwner(templateId, userId)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/workouts/templates/{templateId}/exercises", templateId))
@@ -377,7 +468,7 @@ class WorkoutControllerTest {
                 .primaryMuscle(MuscleGroup.CHEST)
                 .build();
 
-        when(userService.findByUsernameOrThrow(anyString())).thenReturn(user);
+        when(userService.currentUser(anyString())).thenReturn(CurrentUser.of(user));
         when(workoutService.findById(sessionId)).thenReturn(Optional.of(session));
         when(workoutService.getSessionSets(sessionId)).thenReturn(List.of(set));
         when(workoutService.getExercisesByIds(anyList())).thenReturn(Map.of(exerciseId, exercise));
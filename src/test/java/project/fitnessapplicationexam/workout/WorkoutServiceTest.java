@@ -3,22 +3,35 @@ package project.fitnessapplicationexam.workout;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import project.fitnessapplicationexam.analytics.AnalyticsSyncService;
+import project.fitnessapplicationexam.analytics.DailyRollupService;
+import project.fitnessapplicationexam.analytics.PersonalRecordService;
+import project.fitnessapplicationexam.analytics.TrainingLogCache;
+import project.fitnessapplicationexam.common.exceptions.WorkoutAlreadyFinishedException;
+import project.fitnessapplicationexam.config.SystemDefault;
 import project.fitnessapplicationexam.exercise.model.Equipment;
 import project.fitnessapplicationexam.exercise.model.Exercise;
 import project.fitnessapplicationexam.exercise.model.MuscleGroup;
 import project.fitnessapplicationexam.exercise.repository.ExerciseRepository;
 import project.fitnessapplicationexam.workout.dto.ExerciseSetData;
+import project.fitnessapplicationexam.workout.dto.HistoryCursor;
+import project.fitnessapplicationexam.workout.dto.HistoryPage;
 import project.fitnessapplicationexam.workout.dto.SetData;
+import project.fitnessapplicationexam.workout.dto.WorkoutSessionSummary;
+import project.fitnessapplicationexam.workout.dto.WorkoutSetRequest;
 import project.fitnessapplicationexam.workout.model.SessionStatus;
 import project.fitnessapplicationexam.workout.model.WorkoutSession;
 import project.fitnessapplicationexam.workout.model.WorkoutSet;
 import project.fitnessapplicationexam.workout.repository.WorkoutSessionRepository;
 import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
 import project.fitnessapplicationexam.workout.service.WorkoutService;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +46,9 @@ class WorkoutServiceTest {
 	@Mock private WorkoutSetRepository workoutSetRepository;
 	@Mock private ExerciseRepository exerciseRepository;
 	@Mock private AnalyticsSyncService analyticsSyncService;
+	@Mock private DailyRollupService dailyRollupService;
+	@Mock private TrainingLogCache trainingLogCache;
+	@Mock private PersonalRecordService personalRecordService;
 	@InjectMocks private WorkoutService workoutService;
 
 	@Test
@@ -56,7 +72,9 @@ class WorkoutServiceTest {
 		workoutService.finishSession(id, user);
 		assertEquals(SessionStatus.FINISHED, s.getStatus());
 		verify(workoutSessionRepository).save(s);
-		verify(analyticsSyncService).syncWorkout(eq(s), anyList());
+		verify(analyticsSyncService).syncWorkout(s);
+		verify(analyticsSyncService).markWeeklyStatsDirty(user);
+		verify(personalRecordService).recordSession(eq(s), anyList());
 	}
 
 	@Test
@@ -71,38 +89,60 @@ class WorkoutServiceTest {
 	}
 
 	@Test
-	void history_returnsSessions() {
+	void history_firstPage_returnsNextCursorWhenMoreRows() {
 		UUID userId = UUID.randomUUID();
-		when(workoutSessionRepository.findAllByUserIdOrderByStartedAtDesc(userId)).thenReturn(List.of());
+		LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+		List<WorkoutSessionSummary> rows = List.of(
+				summary(now), summary(now.minusDays(1)), summary(now.minusDays(2)));
+		when(workoutSessionRepository.findHistoryFirstPage(userId, Limit.of(3))).thenReturn(rows);
 
-		List<WorkoutSession> result = workoutService.history(userId);
-		assertNotNull(result);
+		HistoryPage page = workoutService.history(userId, null, 2);
+
+		assertEquals(2, page.sessions().size());
+		HistoryCursor cursor = HistoryCursor.decode(page.nextCursor());
+		assertEquals(rows.get(1).startedAt(), cursor.startedAt());
+		assertEquals(rows.get(1).id(), cursor.id());
 	}
 
 	@Test
-	void getRecentSessions_limit5_returnsTop5() {
+	void history_withCursor_queriesAfterCursorPosition() {
 		UUID userId = UUID.randomUUID();
-		when(workoutSessionRepository.findTop5ByUserIdOrderByStartedAtDesc(userId)).thenReturn(List.of());
+		HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123_000), UUID.randomUUID());
+		List<WorkoutSessionSummary> rows = List.of(summary(cursor.startedAt().minusHours(1)));
+		when(workoutSessionRepository.findHistoryAfter(userId, cursor.startedAt(), cursor.id(), Limit.of(21)))
+				.thenReturn(rows);
 
-		List<WorkoutSession> result = workoutService.getRecentSessions(userId, 5);
-		assertNotNull(result);
+		HistoryPage page = workoutService.history(userId, cursor.encode(), 20);
+
+		assertEquals(rows, page.sessions());
+		assertNull(page.nextCursor());
+		verify(workoutSessionRepository, never()).findHistoryFirstPage(any(), any());
 	}
 
 	@Test
-	void getRecentSessions_limit50_returnsTop50() {
+	void history_capsPageSize() {
 		UUID userId = UUID.randomUUID();
-		when(workoutSessionRepository.findTop50ByUserIdOrderByStartedAtDesc(userId)).thenReturn(List.of());
+		when(workoutSessionRepository.findHistoryFirstPage(userId, Limit.of(51))).thenReturn(List.of());
 
-		List<WorkoutSession> result = workoutService.getRecentSessions(userId, 50);
-		assertNotNull(result);
+		HistoryPage page = workoutService.history(userId, null, 10_000);
+
+		assertTrue(page.sessions().isEmpty());
+		assertNull(page.nextCursor());
 	}
 
 	@Test
-	void getRecentSessions_otherLimit_returnsAll() {
+	void history_invalidCursor_throwsBadRequest() {
+		ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+				() -> workoutService.history(UUID.randomUUID(), "not-a-cursor", 20));
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+	}
+
+	@Test
+	void getRecentSessions_returnsLimitedFirstPage() {
 		UUID userId = UUID.randomUUID();
-		when(workoutSessionRepository.findAllByUserIdOrderByStartedAtDesc(userId)).thenReturn(List.of());
+		when(workoutSessionRepository.findHistoryFirstPage(userId, Limit.of(5))).thenReturn(List.of());
 
-		List<WorkoutSession> result = workoutService.getRecentSessions(userId, 10);
+		List<WorkoutSessionSummary> result = workoutService.getRecentSessions(userId, 5);
 		assertNotNull(result);
 	}
 
@@ -144,7 +184,7 @@ class WorkoutServiceTest {
 	}
 
     @Test
-    void finishSession_alreadyFinished_throwsBadRequest() {
+    void finishSession_alreadyFinished_throwsAlreadyFinished() {
         UUID user = UUID.randomUUID();
         UUID id = UUID.randomUUID();
         WorkoutSession s = new WorkoutSession();
@@ -153,7 +193,7 @@ class WorkoutServiceTest {
         s.setFinishedAt(LocalDateTime.now());
         when(workoutSessionRepository.findById(id)).thenReturn(Optional.of(s));
 
-        assertThrows(ResponseStatusException.class, () -> workoutService.finishSession(id, user));
+        assertThrows(WorkoutAlreadyFinishedException.class, () -> workoutService.finishSession(id, user));
         verify(workoutSessionRepository, never()).save(any());
     }
 
@@ -168,7 +208,7 @@ class WorkoutServiceTest {
 		session.setUserId(userId);
 		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
 		when(workoutSessionRepository.save(any(WorkoutSession.class))).thenAnswer(inv -> inv.getArgument(0));
-		when(workoutSetRepository.findAllBySessionId(sessionId)).thenReturn(List.of());
+		when(workoutSetRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 		
 		Exercise exercise = Exercise.builder()
 				.id(exerciseId)
@@ -177,7 +217,7 @@ class WorkoutServiceTest {
 				.equipment(Equipment.BARBELL)
 				.primaryMuscle(MuscleGroup.CHEST)
 				.build();
-		when(exerciseRepository.findById(exerciseId)).thenReturn(Optional.of(exercise));
+		when(exerciseRepository.findAllById(List.of(exerciseId))).thenReturn(List.of(exercise));
 		
 		SetData setData = new SetData(100.0, 10, null, null, null, null);
 		ExerciseSetData exData = new ExerciseSetData(exerciseId, List.of(setData));
@@ -186,7 +226,200 @@ class WorkoutServiceTest {
 		
 		verify(workoutSetRepository).saveAll(anyList());
 		assertEquals(SessionStatus.FINISHED, session.getStatus());
-		verify(analyticsSyncService).syncWorkout(eq(session), anyList());
+		verify(analyticsSyncService).syncWorkout(session);
+	}
+
+	@Test
+	void finishSessionWithSets_resolvesExercisesInSingleLookup() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID bench = UUID.randomUUID();
+		UUID squat = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(workoutSessionRepository.save(any(WorkoutSession.class))).thenAnswer(inv -> inv.getArgument(0));
+		when(workoutSetRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+		when(exerciseRepository.findAllById(List.of(bench, squat))).thenReturn(List.of(
+				Exercise.builder().id(bench).ownerUserId(userId).build(),
+				Exercise.builder().id(squat).ownerUserId(SystemDefault.SYSTEM_USER_ID).build()));
+
+		SetData set = new SetData(100.0, 5, null, null, null, null);
+		workoutService.finishSessionWithSets(sessionId, userId, List.of(
+				new ExerciseSetData(bench, List.of(set, set, set)),
+				new ExerciseSetData(squat, List.of(set, set)),
+				new ExerciseSetData(bench, List.of(set))));
+
+		verify(exerciseRepository).findAllById(anyList());
+		verify(exerciseRepository, never()).findById(any());
+		verify(workoutSetRepository, never()).findAllBySessionId(any());
+		verify(workoutSetRepository).saveAll(argThat(sets -> ((List<?>) sets).size() == 6));
+		verify(analyticsSyncService).syncWorkout(session);
+	}
+
+	@Test
+	void finishSessionWithSets_storesSummaryColumns() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID bench = UUID.randomUUID();
+		UUID row = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		session.setStartedAt(LocalDateTime.now().minusMinutes(45));
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(workoutSessionRepository.save(any(WorkoutSession.class))).thenAnswer(inv -> inv.getArgument(0));
+		when(workoutSetRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+		when(exerciseRepository.findAllById(List.of(bench, row))).thenReturn(List.of(
+				Exercise.builder().id(bench).ownerUserId(userId).primaryMuscle(MuscleGroup.CHEST).build(),
+				Exercise.builder().id(row).ownerUserId(userId).primaryMuscle(MuscleGroup.BACK).build()));
+
+		workoutService.finishSessionWithSets(sessionId, userId, List.of(
+				new ExerciseSetData(bench, List.of(new SetData(100.0, 5, null, null, null, null),
+						new SetData(80.0, 8, null, null, null, null))),
+				new ExerciseSetData(row, List.of(new SetData(60.0, 10, null, null, null, null)))));
+
+		assertEquals(3, session.getTotalSets());
+		assertEquals(23, session.getTotalReps());
+		assertEquals(0, new BigDecimal("1740").compareTo(session.getTotalVolume()));
+		assertEquals(2, session.getExerciseCount());
+		assertEquals(EnumSet.of(MuscleGroup.CHEST, MuscleGroup.BACK), MuscleGroup.fromMask(session.getMuscleGroupMask()));
+		assertTrue(session.getDurationSeconds() >= 45 * 60);
+	}
+
+	@Test
+	void finishSessionWithSets_refinishReversesPreviousRollupBeforeRecordingNewOne() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID bench = UUID.randomUUID();
+
+		WorkoutSession session = WorkoutSession.builder().id(sessionId).userId(userId).status(SessionStatus.FINISHED)
+				.startedAt(LocalDateTime.now().minusHours(1)).finishedAt(LocalDateTime.now())
+				.totalSets(4).totalReps(40).totalVolume(new BigDecimal("4000")).build();
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(workoutSessionRepository.save(any(WorkoutSession.class))).thenAnswer(inv -> inv.getArgument(0));
+		when(workoutSetRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+		when(exerciseRepository.findAllById(List.of(bench))).thenReturn(List.of(
+				Exercise.builder().id(bench).ownerUserId(userId).build()));
+		List<Integer> reversedSets = new ArrayList<>();
+		doAnswer(inv -> reversedSets.add(inv.<WorkoutSession>getArgument(0).getTotalSets()))
+				.when(dailyRollupService).reverseFinished(session);
+
+		workoutService.finishSessionWithSets(sessionId, userId, List.of(
+				new ExerciseSetData(bench, List.of(new SetData(100.0, 5, null, null, null, null)))));
+
+		assertEquals(List.of(4), reversedSets);
+		InOrder order = inOrder(dailyRollupService, workoutSetRepository);
+		order.verify(dailyRollupService).reverseFinished(session);
+		order.verify(workoutSetRepository).deleteBySessionId(sessionId);
+		order.verify(dailyRollupService).recordFinished(session);
+		assertEquals(1, session.getTotalSets());
+		InOrder records = inOrder(personalRecordService);
+		records.verify(personalRecordService).repairAfterSessionChange(userId, sessionId);
+		records.verify(personalRecordService).recordSession(eq(session), anyList());
+		verify(trainingLogCache).evict(userId);
+		verify(trainingLogCache, never()).recordFinished(any(), anyList());
+	}
+
+	@Test
+	void deleteSession_finishedWithoutSummary_computesItBeforeReversingRollup() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		WorkoutSession session = WorkoutSession.builder().id(sessionId).userId(userId).status(SessionStatus.FINISHED)
+				.startedAt(LocalDateTime.now().minusHours(1)).finishedAt(LocalDateTime.now()).build();
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(workoutSetRepository.findAllBySessionId(sessionId)).thenReturn(List.of(
+				WorkoutSet.builder().sessionId(sessionId).exerciseId(UUID.randomUUID())
+						.reps(8).weight(new BigDecimal("20")).build()));
+
+		workoutService.deleteSession(sessionId, userId);
+
+		verify(dailyRollupService).reverseFinished(argThat(s -> s.getTotalSets() == 1 && s.getTotalReps() == 8));
+		verify(workoutSessionRepository).deleteById(sessionId);
+		verify(personalRecordService).repairAfterSessionChange(userId, sessionId);
+	}
+
+	@Test
+	void deleteSession_inProgress_leavesRollupUntouched() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		WorkoutSession session = WorkoutSession.builder().id(sessionId).userId(userId)
+				.status(SessionStatus.IN_PROGRESS).startedAt(LocalDateTime.now()).build();
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+
+		workoutService.deleteSession(sessionId, userId);
+
+		verifyNoInteractions(dailyRollupService, personalRecordService);
+	}
+
+	@Test
+	void backfillSessionSummaries_fillsPendingSessionsInOneBatch() {
+		UUID exerciseId = UUID.randomUUID();
+		WorkoutSession withSets = WorkoutSession.builder().id(UUID.randomUUID()).status(SessionStatus.FINISHED)
+				.startedAt(LocalDateTime.now().minusHours(1)).finishedAt(LocalDateTime.now()).build();
+		WorkoutSession empty = WorkoutSession.builder().id(UUID.randomUUID()).status(SessionStatus.FINISHED)
+				.startedAt(LocalDateTime.now().minusHours(2)).finishedAt(LocalDateTime.now().minusHours(1)).build();
+		when(workoutSessionRepository.findByTotalSetsIsNullAndStatusOrderByIdAsc(SessionStatus.FINISHED, Limit.of(100)))
+				.thenReturn(List.of(withSets, empty));
+		when(workoutSetRepository.findAllBySessionIdIn(List.of(withSets.getId(), empty.getId()))).thenReturn(List.of(
+				WorkoutSet.builder().sessionId(withSets.getId()).exerciseId(exerciseId)
+						.reps(10).weight(new BigDecimal("50")).build()));
+		when(exerciseRepository.findAllById(List.of(exerciseId))).thenReturn(List.of(
+				Exercise.builder().id(exerciseId).primaryMuscle(MuscleGroup.LEGS).build()));
+
+		int processed = workoutService.backfillSessionSummaries(100);
+
+		assertEquals(2, processed);
+		assertEquals(1, withSets.getTotalSets());
+		assertEquals(0, new BigDecimal("500").compareTo(withSets.getTotalVolume()));
+		assertEquals(MuscleGroup.LEGS.bit(), withSets.getMuscleGroupMask());
+		assertEquals(3600L, withSets.getDurationSeconds());
+		assertEquals(0, empty.getTotalSets());
+		verify(workoutSessionRepository).saveAll(List.of(withSets, empty));
+	}
+
+	@Test
+	void purgeAbandonedSessions_bulkDeletesSetsThenSessionsOfOneBatch() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
+		List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+		when(workoutSessionRepository.findIdsStartedBefore(SessionStatus.IN_PROGRESS, cutoff, Limit.of(500))).thenReturn(ids);
+		when(workoutSessionRepository.deleteByIdInAndStatus(ids, SessionStatus.IN_PROGRESS)).thenReturn(2);
+
+		assertEquals(2, workoutService.purgeAbandonedSessions(cutoff, 500));
+
+		InOrder order = inOrder(workoutSetRepository, workoutSessionRepository);
+		order.verify(workoutSetRepository).deleteBySessionIdInAndSessionStatus(ids, SessionStatus.IN_PROGRESS);
+		order.verify(workoutSessionRepository).deleteByIdInAndStatus(ids, SessionStatus.IN_PROGRESS);
+	}
+
+	@Test
+	void purgeAbandonedSessions_nothingSelected_deletesNothing() {
+		when(workoutSessionRepository.findIdsStartedBefore(any(), any(), any())).thenReturn(List.of());
+
+		assertEquals(0, workoutService.purgeAbandonedSessions(LocalDateTime.now(), 500));
+
+		verifyNoInteractions(workoutSetRepository);
+	}
+
+	@Test
+	void finishSessionWithSets_unknownExercise_throwsBeforeDeletingSets() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID exerciseId = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(exerciseRepository.findAllById(List.of(exerciseId))).thenReturn(List.of());
+
+		SetData set = new SetData(100.0, 5, null, null, null, null);
+		assertThrows(ResponseStatusException.class, () ->
+				workoutService.finishSessionWithSets(sessionId, userId, List.of(new ExerciseSetData(exerciseId, List.of(set)))));
+		verify(workoutSetRepository, never()).deleteBySessionId(any());
 	}
 
 	@Test
@@ -228,7 +461,7 @@ class WorkoutServiceTest {
 
 		workoutService.finishSessionWithSets(sessionId, userId, List.of());
 		assertEquals(SessionStatus.FINISHED, session.getStatus());
-		verify(analyticsSyncService).syncWorkout(eq(session), anyList());
+		verify(analyticsSyncService).syncWorkout(session);
 	}
 
 	@Test
@@ -245,6 +478,7 @@ class WorkoutServiceTest {
 		verify(workoutSetRepository).deleteBySessionId(sessionId);
 		verify(workoutSessionRepository).deleteById(sessionId);
 		verify(analyticsSyncService).deleteWorkout(sessionId);
+		verify(analyticsSyncService).markWeeklyStatsDirty(userId);
 	}
 
 	@Test
@@ -255,5 +489,114 @@ class WorkoutServiceTest {
 
 		assertThrows(ResponseStatusException.class, () -> workoutService.deleteSession(sessionId, userId));
 	}
-}
 
+	@Test
+	void addSet_persistsSetForOpenSession() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID exerciseId = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(exerciseRepository.findById(exerciseId)).thenReturn(Optional.of(
+				Exercise.builder().id(exerciseId).ownerUserId(userId).build()));
+		when(workoutSetRepository.save(any(WorkoutSet.class))).thenAnswer(inv -> inv.getArgument(0));
+
+		WorkoutSet saved = workoutService.addSet(sessionId, userId, setRequest(exerciseId, 80.0, 8));
+
+		assertEquals(sessionId, saved.getSessionId());
+		assertEquals(exerciseId, saved.getExerciseId());
+		assertEquals(8, saved.getReps());
+		assertEquals(0, BigDecimal.valueOf(80.0).compareTo(saved.getWeight()));
+		verifyNoInteractions(analyticsSyncService);
+	}
+
+	@Test
+	void addSet_finishedSession_throwsAlreadyFinished() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		session.setFinishedAt(LocalDateTime.now());
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+
+		assertThrows(WorkoutAlreadyFinishedException.class, () ->
+				workoutService.addSet(sessionId, userId, setRequest(UUID.randomUUID(), 80.0, 8)));
+		verify(workoutSetRepository, never()).save(any());
+	}
+
+	@Test
+	void addSet_inaccessibleExercise_throwsBadRequest() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID exerciseId = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(exerciseRepository.findById(exerciseId)).thenReturn(Optional.of(
+				Exercise.builder().id(exerciseId).ownerUserId(UUID.randomUUID()).build()));
+
+		assertThrows(ResponseStatusException.class, () ->
+				workoutService.addSet(sessionId, userId, setRequest(exerciseId, 80.0, 8)));
+		verify(workoutSetRepository, never()).save(any());
+	}
+
+	@Test
+	void updateSet_appliesChanges() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID exerciseId = UUID.randomUUID();
+		UUID setId = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		WorkoutSet existing = WorkoutSet.builder().id(setId).sessionId(sessionId).exerciseId(exerciseId).reps(5).build();
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(workoutSetRepository.findByIdAndSessionId(setId, sessionId)).thenReturn(Optional.of(existing));
+		when(workoutSetRepository.save(any(WorkoutSet.class))).thenAnswer(inv -> inv.getArgument(0));
+
+		WorkoutSet updated = workoutService.updateSet(sessionId, setId, userId, setRequest(exerciseId, 90.0, 6));
+
+		assertEquals(6, updated.getReps());
+		verify(exerciseRepository, never()).findById(any());
+	}
+
+	@Test
+	void deleteSet_removesSetOfSession() {
+		UUID sessionId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID setId = UUID.randomUUID();
+
+		WorkoutSession session = new WorkoutSession();
+		session.setId(sessionId);
+		session.setUserId(userId);
+		WorkoutSet existing = WorkoutSet.builder().id(setId).sessionId(sessionId).build();
+		when(workoutSessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+		when(workoutSetRepository.findByIdAndSessionId(setId, sessionId)).thenReturn(Optional.of(existing));
+
+		workoutService.deleteSet(sessionId, setId, userId);
+		verify(workoutSetRepository).delete(existing);
+	}
+
+	private WorkoutSetRequest setRequest(UUID exerciseId, double weight, int reps) {
+		WorkoutSetRequest request = new WorkoutSetRequest();
+		request.setExerciseId(exerciseId);
+		request.setWeight(weight);
+		request.setReps(reps);
+		request.setSetNumber(1);
+		request.setExerciseOrder(0);
+		return request;
+	}
+
+	private static WorkoutSessionSummary summary(LocalDateTime startedAt) {
+		return new WorkoutSessionSummary(UUID.randomUUID(), startedAt, startedAt.plusHours(1), SessionStatus.FINISHED,
+				3, 30, new BigDecimal("1500"), 3600L, 1, MuscleGroup.CHEST.bit());
+	}
+}
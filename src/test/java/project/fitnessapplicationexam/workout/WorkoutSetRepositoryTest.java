@@ -0,0 +1,99 @@
+package project.fitnessapplicationexam.workout;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import project.fitnessapplicationexam.exercise.model.Exercise;
+import project.fitnessapplicationexam.exercise.model.MuscleGroup;
+import project.fitnessapplicationexam.workout.model.SessionStatus;
+import project.fitnessapplicationexam.workout.model.WorkoutSession;
+import project.fitnessapplicationexam.workout.model.WorkoutSet;
+import project.fitnessapplicationexam.workout.repository.WorkoutSetRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("jpa")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WorkoutSetRepositoryTest {
+
+	@Autowired
+	private WorkoutSetRepository workoutSetRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void deleteBySessionId_issuesSingleStatementRegardlessOfRowCount() {
+		UUID exerciseId = newExercise();
+		UUID sessionId = newSession();
+		UUID otherSession = newSession();
+		WorkoutSet loaded = saveSets(sessionId, exerciseId, 50);
+		saveSets(otherSession, exerciseId, 1);
+		WorkoutSet managed = entityManager.find(WorkoutSet.class, loaded.getId());
+		statistics.clear();
+
+		int deleted = workoutSetRepository.deleteBySessionId(sessionId);
+
+		assertEquals(50, deleted);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertFalse(entityManager.contains(managed));
+		assertTrue(workoutSetRepository.findAllBySessionId(sessionId).isEmpty());
+		assertEquals(1, workoutSetRepository.findAllBySessionId(otherSession).size());
+	}
+
+	@Test
+	void deleteByExerciseId_issuesSingleStatementRegardlessOfRowCount() {
+		UUID exerciseId = newExercise();
+		saveSets(newSession(), exerciseId, 30);
+		saveSets(newSession(), exerciseId, 30);
+		statistics.clear();
+
+		int deleted = workoutSetRepository.deleteByExerciseId(exerciseId);
+
+		assertEquals(60, deleted);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	private UUID newExercise() {
+		Exercise exercise = Exercise.builder().ownerUserId(UUID.randomUUID()).name("Bench Press")
+				.primaryMuscle(MuscleGroup.CHEST).build();
+		entityManager.persist(exercise);
+		return exercise.getId();
+	}
+
+	private UUID newSession() {
+		WorkoutSession session = WorkoutSession.builder().userId(UUID.randomUUID())
+				.startedAt(LocalDateTime.now()).status(SessionStatus.FINISHED).build();
+		entityManager.persist(session);
+		return session.getId();
+	}
+
+	private WorkoutSet saveSets(UUID sessionId, UUID exerciseId, int count) {
+		WorkoutSet last = null;
+		for (int i = 0; i < count; i++) {
+			last = workoutSetRepository.save(WorkoutSet.builder().sessionId(sessionId).exerciseId(exerciseId)
+					.reps(5).weight(new BigDecimal("60")).build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return last;
+	}
+}